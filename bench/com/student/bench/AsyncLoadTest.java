@@ -0,0 +1,87 @@
+package com.student.bench;
+
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.AsyncStudentService;
+import com.student.services.StudentService;
+import com.student.util.AsyncExecutor;
+import com.student.util.SessionFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+        * AsyncLoadTest measures AsyncStudentService under load. Each measured call starts a
+        * number of getStudentById lookups at once and waits for all of them, so that many
+        * lookups are in flight on the executor; the results report lookups per second and the
+        * time one round of lookups takes. The blocking StudentService.getStudentById, one
+        * lookup after another on the benchmark thread, is measured for comparison.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.AsyncLoadTest --in-flight 1,16,256
+        * </pre>
+        *
+        * Options: --students registered first (default 1000), --in-flight lookups started at
+        * once (comma separated, default 1,4,16,64), --seconds per measurement (default 5),
+        * --warmup seconds (default 2). The executor is configured as AsyncExecutor.getDefault()
+        * says, so -Dstudent.async.max_concurrency applies.
+        */
+public class AsyncLoadTest
+{
+        private static volatile Object sink;
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int studentCount = Integer.parseInt(options.getOrDefault("students", "1000"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+                List<Integer> levels = new ArrayList<>();
+                for (String level : options.getOrDefault("in-flight", "1,4,16,64").split(",")) {
+                        levels.add(Integer.parseInt(level.trim()));
+                }
+
+                Branch branch = BenchSupport.ensureBranch("bench-async");
+                List<Student> students = new ArrayList<>(studentCount);
+                for (int n = 0; n < studentCount; n++) {
+                        students.add(BenchSupport.newStudent(n, branch, new HashSet<Event>()));
+                }
+                StudentService studentService = new StudentService();
+                List<Integer> ids = studentService.registerStudents(students);
+
+                AsyncStudentService asyncService = new AsyncStudentService(studentService, AsyncExecutor.getDefault());
+                Random random = new Random(42);
+                Map<String, BenchSupport.Call> calls = new LinkedHashMap<>();
+                Map<String, Integer> lookups = new LinkedHashMap<>();
+                calls.put("StudentService.getStudentById", n ->
+                        sink = studentService.getStudentById(ids.get(random.nextInt(ids.size()))));
+                lookups.put("StudentService.getStudentById", 1);
+                for (int level : levels) {
+                        String name = "AsyncStudentService.getStudentById x" + level;
+                        calls.put(name, n -> {
+                                List<CompletableFuture<Student>> futures = new ArrayList<>(level);
+                                for (int i = 0; i < level; i++) {
+                                        futures.add(asyncService.getStudentById(ids.get(random.nextInt(ids.size()))));
+                                }
+                                for (CompletableFuture<Student> future : futures) {
+                                        sink = future.join();
+                                }
+                        });
+                        lookups.put(name, level);
+                }
+                System.out.println("Executor allows " + AsyncExecutor.getDefault().getMaxConcurrency()
+                        + " calls on the database at once.");
+                for (BenchSupport.Result result : BenchSupport.measure(calls, warmup, seconds)) {
+                        int perCall = lookups.get(result.getName());
+                        System.out.printf(Locale.ROOT, "%-42s %10.0f lookups/s %10.1f us/round%n",
+                                result.getName(), result.callsPerSecond() * perCall, result.microsPerCall());
+                }
+                SessionFactoryProvider.shutdown();
+        }
+}
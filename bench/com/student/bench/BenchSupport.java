@@ -0,0 +1,204 @@
+package com.student.bench;
+
+import com.student.exception.StudentException;
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.BranchService;
+import com.student.services.EventService;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+        * BenchSupport holds what the benchmark and check programs in this package share:
+        * "--name value" option parsing, reference rows and students to insert, and a
+        * fixed-time loop that measures calls on the current thread.
+        *
+        * The programs run against the database configured in hibernate.cfg.xml, through the
+        * same services and DAOs as the application.
+        */
+final class BenchSupport
+{
+        /** The mapping files SessionFactoryProvider adds to the configuration. */
+        static final String[] MAPPINGS = {
+                "com/student/models/Student.hbm.xml",
+                "com/student/models/Branch.hbm.xml",
+                "com/student/models/Event.hbm.xml",
+        };
+
+        /**
+         * One measured call. The argument counts the calls made so far, so each call can
+         * work on different rows.
+         */
+        interface Call
+        {
+                void run(int n) throws Exception;
+        }
+
+        /**
+         * What one measured call cost on average.
+         */
+        static final class Result
+        {
+                private final String name;
+                private final long calls;
+                private final double seconds;
+                private final long allocated;
+
+                private Result(String name, long calls, double seconds, long allocated)
+                {
+                        this.name = name;
+                        this.calls = calls;
+                        this.seconds = seconds;
+                        this.allocated = allocated;
+                }
+
+                String getName()
+                {
+                        return name;
+                }
+
+                double callsPerSecond()
+                {
+                        return calls / seconds;
+                }
+
+                double microsPerCall()
+                {
+                        return calls == 0 ? 0 : seconds * 1e6 / calls;
+                }
+
+                /**
+                 * Returns the bytes allocated per call by the measuring thread, or -1 if the JVM
+                 * cannot tell.
+                 */
+                long bytesPerCall()
+                {
+                        return allocated < 0 || calls == 0 ? -1 : allocated / calls;
+                }
+
+                @Override
+                public String toString()
+                {
+                        return String.format(Locale.ROOT, "%-45s %9.1f calls/s %12.1f us/call %12d B/call",
+                                name, callsPerSecond(), microsPerCall(), bytesPerCall());
+                }
+        }
+
+        private BenchSupport()
+        {
+        }
+
+        /**
+         * Parses "--name value" pairs.
+         *
+         * @throws IllegalArgumentException if an argument is not part of such a pair.
+         */
+        static Map<String, String> parseOptions(String[] args)
+        {
+                Map<String, String> options = new LinkedHashMap<>();
+                for (int i = 0; i < args.length; i++) {
+                        if (!args[i].startsWith("--") || i + 1 == args.length) {
+                                throw new IllegalArgumentException("Expected --name value pairs, got: " + args[i]);
+                        }
+                        options.put(args[i].substring(2), args[++i]);
+                }
+                return options;
+        }
+
+        /**
+         * Runs every call for the warm-up time, then measures each one in turn for the given
+         * time. All calls are warmed up before the first is measured, so that the calls measured
+         * first do not pay for compiling code that later calls share.
+         *
+         * @param calls the calls to measure, by name, in the order they run.
+         * @return the results, in the same order.
+         */
+        static List<Result> measure(Map<String, Call> calls, long warmupSeconds, long seconds) throws Exception
+        {
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                for (Map.Entry<String, Call> call : calls.entrySet()) {
+                        counts.put(call.getKey(), run(call.getValue(), 0, warmupSeconds));
+                }
+                List<Result> results = new ArrayList<>();
+                for (Map.Entry<String, Call> call : calls.entrySet()) {
+                        int first = counts.get(call.getKey());
+                        long allocatedBefore = allocatedBytes();
+                        long start = System.nanoTime();
+                        int next = run(call.getValue(), first, seconds);
+                        double elapsed = (System.nanoTime() - start) / 1e9;
+                        long allocatedAfter = allocatedBytes();
+                        results.add(new Result(call.getKey(), next - first, elapsed,
+                                allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore));
+                }
+                return results;
+        }
+
+        /**
+         * Runs the call repeatedly for the given time, numbering the calls from n.
+         *
+         * @return the number the next call would get.
+         */
+        private static int run(Call call, int n, long seconds) throws Exception
+        {
+                long deadline = System.nanoTime() + seconds * 1000000000L;
+                while (System.nanoTime() < deadline) {
+                        call.run(n++);
+                }
+                return n;
+        }
+
+        /**
+         * Returns the bytes allocated so far by the calling thread, or -1 if the JVM cannot tell.
+         */
+        static long allocatedBytes()
+        {
+                if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                                .getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+                return -1;
+        }
+
+        /**
+         * Returns the branch with the given name, adding it first if it does not exist.
+         */
+        static Branch ensureBranch(String name) throws StudentException
+        {
+                BranchService branchService = new BranchService();
+                if (!branchService.isBranchExistsByName(name)) {
+                        branchService.addBranch(name);
+                }
+                return new Branch(branchService.getBranchByName(name), name);
+        }
+
+        /**
+         * Returns the event with the given name, adding it first if it does not exist.
+         */
+        static Event ensureEvent(String name) throws StudentException
+        {
+                EventService eventService = new EventService();
+                if (!eventService.isEventExistsByName(name)) {
+                        eventService.addEvent(name);
+                }
+                return new Event(eventService.getEventByName(name), name);
+        }
+
+        /**
+         * Builds an unsaved student whose name, phone number and email are unique to n.
+         */
+        static Student newStudent(int n, Branch branch, Set<Event> events)
+        {
+                Student student = new Student("First" + n, "Last" + n, String.valueOf(9000000000L + n),
+                        "student" + n + "@bench.example.com", n + " Main Street", Date.valueOf("2000-01-01"), 18 + n % 10);
+                student.setBranch(branch);
+                student.setEvents(events);
+                return student;
+        }
+}
@@ -0,0 +1,457 @@
+package com.student.bench;
+
+import com.student.exception.StudentException;
+import com.student.models.Branch;
+import com.student.models.BranchRef;
+import com.student.models.Event;
+import com.student.models.EventRef;
+import com.student.models.Student;
+import com.student.services.BranchService;
+import com.student.services.EventService;
+import com.student.services.StudentService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+        * DatasetGenerator produces realistic synthetic students for load tests and writes them
+        * either to the configured database, through StudentService.registerStudents in JDBC
+        * batches, or to CSV files.
+        *
+        * The data is deterministic for a given seed: students are generated in fixed-size chunks,
+        * each from its own Random seeded with the seed and the chunk number, so the same rows come
+        * out whatever the number of workers. Branch sizes follow a Zipf distribution, so a few
+        * branches are large and most are small, and event participation (0 to 3 events per student)
+        * is Zipf-distributed over the events. Emails, phone numbers and dates all pass Validator.
+        *
+        * Workers generate and write chunks in parallel; at most two chunks per worker are in
+        * flight at once, so memory stays bounded however many students are generated.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.DatasetGenerator --students 1000000 --csv data/
+        * java -cp bin:bench-bin:lib/* com.student.bench.DatasetGenerator --students 1000000 --workers 8
+        * </pre>
+        *
+        * Options: --students (default 10000), --branches (default 12), --events (default 30),
+        * --seed (default 42), --workers (default: available processors), --chunk students per
+        * chunk (default 1000), --csv output directory (default: write to the database).
+        */
+public class DatasetGenerator
+{
+        /** Column order of students.csv. */
+        public static final String CSV_HEADER = "first_name,last_name,dob,age,email,phone_no,address,branch,events";
+
+        private static final String[] BRANCH_NAMES = {
+                "Computer Science", "Electronics", "Mechanical", "Civil", "Electrical", "Information Technology",
+                "Chemical", "Biotechnology", "Aerospace", "Mathematics", "Physics", "Architecture",
+        };
+        private static final String[] EVENT_NAMES = {
+                "Chess", "Music", "Art", "Football", "Cricket", "Basketball", "Debate", "Drama", "Dance",
+                "Photography", "Robotics", "Coding Contest", "Quiz", "Hackathon", "Athletics", "Swimming",
+                "Tennis", "Badminton", "Volleyball", "Literature", "Film Club", "Astronomy", "Model UN",
+                "Entrepreneurship", "Yoga", "Choir", "Painting", "Poetry", "Gaming", "Volunteering",
+        };
+        private static final String[] FIRST_NAMES = {
+                "Aarav", "Ananya", "Arjun", "Diya", "Ishaan", "Kavya", "Meera", "Nikhil", "Priya", "Rahul",
+                "Riya", "Rohan", "Sanjay", "Sneha", "Tanvi", "Varun", "Aditi", "Karan", "Neha", "Vikram",
+                "Emma", "Liam", "Olivia", "Noah", "Sophia", "James", "Mia", "Lucas", "Amelia", "Ethan",
+        };
+        private static final String[] LAST_NAMES = {
+                "Sharma", "Patel", "Reddy", "Nair", "Iyer", "Gupta", "Rao", "Kumar", "Singh", "Menon",
+                "Das", "Joshi", "Kulkarni", "Shetty", "Pillai", "Smith", "Brown", "Wilson", "Taylor", "Clark",
+        };
+        private static final String[] STREETS = {
+                "MG Road", "Brigade Road", "Park Street", "Church Street", "Lake View Road", "Hill Road",
+                "Station Road", "Temple Street", "Market Road", "Garden Avenue",
+        };
+        private static final String[] CITIES = {
+                "Bengaluru", "Mysuru", "Chennai", "Hyderabad", "Pune", "Mumbai", "Kochi", "Mangaluru",
+        };
+        private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 6, 30);
+        private static final LocalDate EARLIEST_DOB = LocalDate.of(1995, 1, 1);
+        private static final int DOB_RANGE_DAYS = 13 * 365;
+        private static final double[] EVENT_COUNT_WEIGHTS = {0.3, 0.4, 0.2, 0.1};
+
+        private final long seed;
+        private final int chunkSize;
+        private final List<Branch> branches;
+        private final List<Event> events;
+        private final ZipfSampler branchSampler;
+        private final ZipfSampler eventSampler;
+
+        /**
+         * Creates a generator that assigns students to the given branches and events.
+         *
+         * @param seed the seed that determines every generated value.
+         * @param chunkSize the number of students per chunk.
+         * @param branches the branches students are assigned to, most popular first.
+         * @param events the events students take part in, most popular first.
+         */
+        public DatasetGenerator(long seed, int chunkSize, List<Branch> branches, List<Event> events)
+        {
+                if (chunkSize < 1 || branches.isEmpty()) {
+                        throw new IllegalArgumentException("A chunk size of at least 1 and at least one branch are required.");
+                }
+                this.seed = seed;
+                this.chunkSize = chunkSize;
+                this.branches = new ArrayList<>(branches);
+                this.events = new ArrayList<>(events);
+                this.branchSampler = new ZipfSampler(branches.size(), 1.1);
+                this.eventSampler = events.isEmpty() ? null : new ZipfSampler(events.size(), 1.2);
+        }
+
+        /**
+         * Returns the names of the first count branches, using generic names past the built-in list.
+         *
+         * @param count the number of branch names.
+         * @return the branch names.
+         */
+        public static List<String> branchNames(int count)
+        {
+                return names(BRANCH_NAMES, "Branch", count);
+        }
+
+        /**
+         * Returns the names of the first count events, using generic names past the built-in list.
+         *
+         * @param count the number of event names.
+         * @return the event names.
+         */
+        public static List<String> eventNames(int count)
+        {
+                return names(EVENT_NAMES, "Event", count);
+        }
+
+        /**
+         * Generates one chunk of students. Student numbers run from chunk * chunkSize + 1, and
+         * a chunk's contents depend only on the seed and the chunk number.
+         *
+         * @param chunk the chunk number, starting at 0.
+         * @param total the total number of students; the last chunk stops there.
+         * @return the generated students.
+         */
+        public List<Student> generateChunk(int chunk, int total)
+        {
+                Random random = new Random(seed * 31 + chunk);
+                int first = chunk * chunkSize + 1;
+                int last = Math.min(total, first + chunkSize - 1);
+                List<Student> students = new ArrayList<>(Math.max(0, last - first + 1));
+                for (int n = first; n <= last; n++) {
+                        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                        LocalDate dob = EARLIEST_DOB.plusDays(random.nextInt(DOB_RANGE_DAYS));
+                        String email = (firstName + "." + lastName + "." + n + "@example.com").toLowerCase(Locale.ROOT);
+                        String phone = String.valueOf((6 + random.nextInt(4)) * 1000000000L + random.nextInt(1000000000));
+                        String address = (1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)]
+                                + " " + CITIES[random.nextInt(CITIES.length)];
+                        Student student = new Student(firstName, lastName, phone, email, address, Date.valueOf(dob),
+                                Period.between(dob, REFERENCE_DATE).getYears());
+                        student.setBranch(branches.get(branchSampler.sample(random)));
+                        Set<Event> chosen = new LinkedHashSet<>();
+                        if (eventSampler != null) {
+                                for (int i = eventCount(random); i > 0; i--) {
+                                        chosen.add(events.get(eventSampler.sample(random)));
+                                }
+                        }
+                        student.setEvents(chosen);
+                        students.add(student);
+                }
+                return students;
+        }
+
+        /**
+         * Generates the students and registers them in the database, chunk by chunk in parallel.
+         *
+         * @param total the number of students to generate.
+         * @param workers the number of parallel workers.
+         * @return the largest ID assigned, or 0 if no students were generated.
+         * @throws StudentException if a chunk fails to register.
+         * @throws InterruptedException if interrupted while waiting for the workers.
+         */
+        public int writeToDatabase(int total, int workers) throws StudentException, InterruptedException
+        {
+                StudentService studentService = new StudentService();
+                AtomicInteger maxId = new AtomicInteger();
+                run(total, workers, chunk -> {
+                        for (int id : studentService.registerStudents(generateChunk(chunk, total))) {
+                                maxId.accumulateAndGet(id, Math::max);
+                        }
+                        return "";
+                }, null);
+                return maxId.get();
+        }
+
+        /**
+         * Generates the students and writes them to a CSV file with the CSV_HEADER columns.
+         * Chunks are formatted in parallel and written in order.
+         *
+         * @param total the number of students to generate.
+         * @param workers the number of parallel workers.
+         * @param file the file to write.
+         * @throws IOException if the file cannot be created or its header cannot be written.
+         * @throws StudentException if a chunk cannot be generated, or cannot be appended to the
+         *         file once the header is written; the message then carries the IOException's.
+         * @throws InterruptedException if interrupted while waiting for the workers.
+         */
+        public void writeCsv(int total, int workers, Path file) throws IOException, StudentException, InterruptedException
+        {
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        writer.write(CSV_HEADER);
+                        writer.write('\n');
+                        run(total, workers, chunk -> toCsv(generateChunk(chunk, total)), writer);
+                }
+        }
+
+        /**
+         * Work done for one chunk; returns text to append to the output, if any.
+         */
+        private interface ChunkTask
+        {
+                String run(int chunk) throws StudentException;
+        }
+
+        /**
+         * Runs a task for every chunk on a fixed pool, keeping at most two chunks per worker in
+         * flight and appending the results to the writer in chunk order.
+         */
+        private void run(int total, int workers, ChunkTask task, Writer writer)
+                throws StudentException, InterruptedException
+        {
+                int chunks = (total + chunkSize - 1) / chunkSize;
+                ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workers));
+                Deque<Future<String>> inFlight = new ArrayDeque<>();
+                try {
+                        for (int chunk = 0; chunk < chunks; chunk++) {
+                                final int current = chunk;
+                                inFlight.addLast(executor.submit(() -> task.run(current)));
+                                if (inFlight.size() >= 2 * workers) {
+                                        complete(inFlight.removeFirst(), writer);
+                                }
+                        }
+                        while (!inFlight.isEmpty()) {
+                                complete(inFlight.removeFirst(), writer);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        private static void complete(Future<String> future, Writer writer) throws StudentException, InterruptedException
+        {
+                try {
+                        String text = future.get();
+                        if (writer != null) {
+                                writer.write(text);
+                        }
+                } catch (ExecutionException ex) {
+                        if (ex.getCause() instanceof StudentException) {
+                                throw (StudentException) ex.getCause();
+                        }
+                        throw new StudentException("Dataset generation failed: " + ex.getCause());
+                } catch (IOException ex) {
+                        throw new StudentException("Unable to write dataset: " + ex.getMessage());
+                }
+        }
+
+        private static String toCsv(List<Student> students)
+        {
+                StringBuilder out = new StringBuilder(students.size() * 160);
+                for (Student student : students) {
+                        StringBuilder eventNames = new StringBuilder();
+                        for (Event event : student.getEvents()) {
+                                if (eventNames.length() > 0) {
+                                        eventNames.append(';');
+                                }
+                                eventNames.append(event.getEventName());
+                        }
+                        out.append(csv(student.getFirstName())).append(',')
+                                .append(csv(student.getLastName())).append(',')
+                                .append(student.getDob()).append(',')
+                                .append(student.getAge()).append(',')
+                                .append(csv(student.getEmail())).append(',')
+                                .append(csv(student.getPhoneNo())).append(',')
+                                .append(csv(student.getAddress())).append(',')
+                                .append(csv(student.getBranch().getBranchName())).append(',')
+                                .append(csv(eventNames.toString())).append('\n');
+                }
+                return out.toString();
+        }
+
+        private static String csv(String value)
+        {
+                if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                        return value;
+                }
+                return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static int eventCount(Random random)
+        {
+                double roll = random.nextDouble();
+                for (int count = 0; count < EVENT_COUNT_WEIGHTS.length; count++) {
+                        roll -= EVENT_COUNT_WEIGHTS[count];
+                        if (roll < 0) {
+                                return count;
+                        }
+                }
+                return EVENT_COUNT_WEIGHTS.length - 1;
+        }
+
+        private static List<String> names(String[] known, String prefix, int count)
+        {
+                List<String> names = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                        names.add(i < known.length ? known[i] : prefix + " " + (i + 1));
+                }
+                return names;
+        }
+
+        /**
+         * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent.
+         */
+        private static class ZipfSampler
+        {
+                private final double[] cumulative;
+
+                ZipfSampler(int n, double exponent)
+                {
+                        cumulative = new double[n];
+                        double sum = 0;
+                        for (int rank = 0; rank < n; rank++) {
+                                sum += 1 / Math.pow(rank + 1, exponent);
+                                cumulative[rank] = sum;
+                        }
+                        for (int rank = 0; rank < n; rank++) {
+                                cumulative[rank] /= sum;
+                        }
+                }
+
+                int sample(Random random)
+                {
+                        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+                        int rank = index >= 0 ? index : -index - 1;
+                        return Math.min(rank, cumulative.length - 1);
+                }
+        }
+
+        /**
+         * Adds any of the named branches that do not exist yet.
+         *
+         * @param names the branch names, most popular first.
+         * @return the branches with their IDs, in the given order.
+         * @throws StudentException if a branch cannot be added or read.
+         */
+        static List<Branch> ensureBranches(List<String> names) throws StudentException
+        {
+                BranchService branchService = new BranchService();
+                for (String name : names) {
+                        if (!branchService.isBranchExistsByName(name)) {
+                                branchService.addBranch(name);
+                        }
+                }
+                Map<String, Integer> ids = new HashMap<>();
+                for (BranchRef ref : branchService.getBranchRefs()) {
+                        ids.put(ref.getBranchName(), ref.getBranchId());
+                }
+                List<Branch> branches = new ArrayList<>();
+                for (String name : names) {
+                        branches.add(new Branch(ids.get(name), name));
+                }
+                return branches;
+        }
+
+        /**
+         * Adds any of the named events that do not exist yet.
+         *
+         * @param names the event names, most popular first.
+         * @return the events with their IDs, in the given order.
+         * @throws StudentException if an event cannot be added or read.
+         */
+        static List<Event> ensureEvents(List<String> names) throws StudentException
+        {
+                EventService eventService = new EventService();
+                for (String name : names) {
+                        if (!eventService.isEventExistsByName(name)) {
+                                eventService.addEvent(name);
+                        }
+                }
+                Map<String, Integer> ids = new HashMap<>();
+                for (EventRef ref : eventService.getEventRefs()) {
+                        ids.put(ref.getEventName(), ref.getEventId());
+                }
+                List<Event> events = new ArrayList<>();
+                for (String name : names) {
+                        events.add(new Event(ids.get(name), name));
+                }
+                return events;
+        }
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = new LinkedHashMap<>();
+                for (int i = 0; i + 1 < args.length; i += 2) {
+                        options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+                }
+                int total = Integer.parseInt(options.getOrDefault("students", "10000"));
+                int branchCount = Integer.parseInt(options.getOrDefault("branches", "12"));
+                int eventCount = Integer.parseInt(options.getOrDefault("events", "30"));
+                long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+                int workers = Integer.parseInt(options.getOrDefault("workers",
+                        String.valueOf(Runtime.getRuntime().availableProcessors())));
+                int chunk = Integer.parseInt(options.getOrDefault("chunk", "1000"));
+                String csvDir = options.get("csv");
+
+                long start = System.nanoTime();
+                if (csvDir != null) {
+                        Path dir = Paths.get(csvDir);
+                        Files.createDirectories(dir);
+                        List<String> branchNames = branchNames(branchCount);
+                        List<String> eventNames = eventNames(eventCount);
+                        Files.write(dir.resolve("branches.csv"), branchNames, StandardCharsets.UTF_8);
+                        Files.write(dir.resolve("events.csv"), eventNames, StandardCharsets.UTF_8);
+                        List<Branch> branches = new ArrayList<>();
+                        for (String name : branchNames) {
+                                branches.add(new Branch(name));
+                        }
+                        List<Event> events = new ArrayList<>();
+                        for (String name : eventNames) {
+                                events.add(new Event(name));
+                        }
+                        new DatasetGenerator(seed, chunk, branches, events).writeCsv(total, workers, dir.resolve("students.csv"));
+                } else {
+                        List<Branch> branches = ensureBranches(branchNames(branchCount));
+                        List<Event> events = ensureEvents(eventNames(eventCount));
+                        new DatasetGenerator(seed, chunk, branches, events).writeToDatabase(total, workers);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf(Locale.ROOT, "Generated %d students in %.1f s (%.0f rows/min)%n",
+                        total, seconds, total / seconds * 60);
+                if (csvDir == null) {
+                        com.student.util.SessionFactoryProvider.shutdown();
+                }
+        }
+}
@@ -0,0 +1,87 @@
+package com.student.bench;
+
+import com.student.dao.StudentDao;
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.StudentService;
+import com.student.util.SessionFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+        * ExistenceBenchmark compares the projection-based existence checks in StudentDao with
+        * the entity loads they replace. It measures isStudentExists against getStudentById
+        * followed by a null test, and one existingStudentIds call for a group of IDs against one
+        * isStudentExists call per ID. Every result is reported per checked ID: time and bytes
+        * allocated on the benchmark thread.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.ExistenceBenchmark --students 10000
+        * </pre>
+        *
+        * Options: --students registered first (default 1000), --group IDs per bulk check
+        * (default 100), --seconds per measurement (default 5), --warmup seconds (default 2).
+        */
+public class ExistenceBenchmark
+{
+        private static volatile Object sink;
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int studentCount = Integer.parseInt(options.getOrDefault("students", "1000"));
+                int group = Integer.parseInt(options.getOrDefault("group", "100"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+
+                Branch branch = BenchSupport.ensureBranch("bench-existence");
+                List<Student> students = new ArrayList<>(studentCount);
+                for (int n = 0; n < studentCount; n++) {
+                        students.add(BenchSupport.newStudent(n, branch, new HashSet<Event>()));
+                }
+                List<Integer> ids = new StudentService().registerStudents(students);
+
+                StudentDao studentDao = new StudentDao();
+                Random random = new Random(42);
+                Map<String, BenchSupport.Call> calls = new LinkedHashMap<>();
+                calls.put("StudentDao.isStudentExists", n ->
+                        sink = studentDao.isStudentExists(ids.get(random.nextInt(ids.size()))));
+                calls.put("StudentDao.getStudentById != null", n ->
+                        sink = studentDao.getStudentById(ids.get(random.nextInt(ids.size()))) != null);
+                calls.put("StudentDao.existingStudentIds x" + group, n ->
+                        sink = studentDao.existingStudentIds(randomIds(random, ids, group)));
+                calls.put("StudentDao.isStudentExists x" + group, n -> {
+                        for (int id : randomIds(random, ids, group)) {
+                                sink = studentDao.isStudentExists(id);
+                        }
+                });
+                List<BenchSupport.Result> results = BenchSupport.measure(calls, warmup, seconds);
+                // The results come in pairs: the new check first, then what it replaces.
+                for (int i = 0; i < results.size(); i += 2) {
+                        int idsPerCall = i == 0 ? 1 : group;
+                        for (BenchSupport.Result result : results.subList(i, i + 2)) {
+                                System.out.printf(Locale.ROOT, "%-36s %10.2f us/ID %8d B/ID%n", result.getName(),
+                                        result.microsPerCall() / idsPerCall,
+                                        result.bytesPerCall() < 0 ? -1 : result.bytesPerCall() / idsPerCall);
+                        }
+                        System.out.printf(Locale.ROOT, "%s is %.1fx as fast as %s.%n", results.get(i).getName(),
+                                results.get(i + 1).microsPerCall() / results.get(i).microsPerCall(), results.get(i + 1).getName());
+                }
+                SessionFactoryProvider.shutdown();
+        }
+
+        private static List<Integer> randomIds(Random random, List<Integer> ids, int count)
+        {
+                List<Integer> chosen = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                        chosen.add(ids.get(random.nextInt(ids.size())));
+                }
+                return chosen;
+        }
+}
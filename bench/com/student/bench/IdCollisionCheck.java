@@ -0,0 +1,185 @@
+package com.student.bench;
+
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.util.PooledIdGenerator;
+import com.student.util.SchemaMigrator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+
+/**
+        * IdCollisionCheck stresses PooledIdGenerator the way several application processes
+        * would: it builds more than one SessionFactory over the same database, each with its own
+        * generator state, and inserts branches and students from many threads on all of them at
+        * once, one row per transaction. Every generated ID is collected, and the run fails with
+        * exit status 1 if any ID was handed out twice, if an insert failed, or if the tables do
+        * not hold exactly the rows inserted.
+        *
+        * A small block size is used by default so that blocks run out, and are reserved
+        * concurrently, many times during the run. Pending migrations are applied by
+        * SchemaMigrator before the first SessionFactory is built, as SessionFactoryProvider
+        * does, and existing rows are kept. Pass -Dhibernate.connection.url=...
+        * (and the matching driver, user and password) to check another database.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.IdCollisionCheck --factories 3 --threads 8
+        * </pre>
+        *
+        * Options: --factories (default 2), --threads per factory (default 4), --inserts per
+        * thread (default 500), --block-size (default 5).
+        */
+public class IdCollisionCheck
+{
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int factoryCount = Integer.parseInt(options.getOrDefault("factories", "2"));
+                int threadsPerFactory = Integer.parseInt(options.getOrDefault("threads", "4"));
+                int inserts = Integer.parseInt(options.getOrDefault("inserts", "500"));
+                String blockSize = options.getOrDefault("block-size", "5");
+                if (factoryCount < 2) {
+                        throw new IllegalArgumentException("At least two SessionFactories are needed, got " + factoryCount);
+                }
+
+                List<SessionFactory> factories = new ArrayList<>();
+                for (int i = 0; i < factoryCount; i++) {
+                        Configuration configuration = configuration(blockSize);
+                        if (i == 0) {
+                                new SchemaMigrator(configuration.getProperties()).migrate();
+                        }
+                        factories.add(configuration.buildSessionFactory());
+                }
+
+                int branchId;
+                try (Session session = factories.get(0).openSession()) {
+                        Transaction tx = session.beginTransaction();
+                        branchId = (Integer) session.save(new Branch("id-check"));
+                        tx.commit();
+                }
+                Branch branch = new Branch(branchId, "id-check");
+                long existingStudents = count(factories.get(0), "Student");
+                long existingBranches = count(factories.get(0), "Branch");
+
+                ConcurrentLinkedQueue<Integer> studentIds = new ConcurrentLinkedQueue<>();
+                ConcurrentLinkedQueue<Integer> branchIds = new ConcurrentLinkedQueue<>();
+                ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+                AtomicInteger sequence = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Thread> threads = new ArrayList<>();
+                for (SessionFactory factory : factories) {
+                        for (int t = 0; t < threadsPerFactory; t++) {
+                                Thread thread = new Thread(() -> {
+                                        try {
+                                                start.await();
+                                        } catch (InterruptedException ex) {
+                                                return;
+                                        }
+                                        for (int i = 0; i < inserts; i++) {
+                                                int n = sequence.incrementAndGet();
+                                                try (Session session = factory.openSession()) {
+                                                        Transaction tx = session.beginTransaction();
+                                                        if (n % 4 == 0) {
+                                                                branchIds.add((Integer) session.save(new Branch("id-check-" + n)));
+                                                        } else {
+                                                                studentIds.add((Integer) session.save(
+                                                                        BenchSupport.newStudent(n, branch, new HashSet<Event>())));
+                                                        }
+                                                        tx.commit();
+                                                } catch (RuntimeException ex) {
+                                                        failures.add(ex + (ex.getCause() == null ? "" : " caused by " + ex.getCause()));
+                                                }
+                                        }
+                                }, "id-check-" + threads.size());
+                                threads.add(thread);
+                                thread.start();
+                        }
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Thread thread : threads) {
+                        thread.join();
+                }
+                double elapsed = (System.nanoTime() - begin) / 1e9;
+
+                int problems = failures.size();
+                for (String failure : new ArrayList<>(failures).subList(0, Math.min(10, failures.size()))) {
+                        System.out.println("Insert failed: " + failure);
+                }
+                problems += duplicates("Student", studentIds);
+                problems += duplicates("Branch", branchIds);
+                problems += checkCount(factories.get(0), "Student", existingStudents + studentIds.size());
+                problems += checkCount(factories.get(0), "Branch", existingBranches + branchIds.size());
+                for (SessionFactory factory : factories) {
+                        factory.close();
+                }
+
+                System.out.printf("%d inserts on %d threads across %d SessionFactories (block size %s) in %.1f s%n",
+                        studentIds.size() + branchIds.size(), threads.size(), factoryCount, blockSize, elapsed);
+                if (problems > 0) {
+                        System.out.println(problems + " problems found.");
+                        System.exit(1);
+                }
+                System.out.println("All generated IDs are distinct.");
+        }
+
+        /**
+         * Reads hibernate.cfg.xml and the mapping files as SessionFactoryProvider does, with any
+         * "hibernate.*" system property applied on top.
+         */
+        private static Configuration configuration(String blockSize)
+        {
+                Configuration configuration = new Configuration();
+                configuration.configure("com/student/hibernate.cfg.xml");
+                for (String mapping : BenchSupport.MAPPINGS) {
+                        configuration.addResource(mapping);
+                }
+                for (String name : System.getProperties().stringPropertyNames()) {
+                        if (name.startsWith("hibernate.")) {
+                                configuration.setProperty(name, System.getProperty(name));
+                        }
+                }
+                configuration.setProperty(PooledIdGenerator.BLOCK_SIZE_SETTING, blockSize);
+                configuration.setProperty("show_sql", "false");
+                return configuration;
+        }
+
+        private static int duplicates(String entity, ConcurrentLinkedQueue<Integer> ids)
+        {
+                Set<Integer> seen = new HashSet<>();
+                int duplicates = 0;
+                for (Integer id : ids) {
+                        if (!seen.add(id) && duplicates++ < 10) {
+                                System.out.println(entity + " ID " + id + " was generated more than once.");
+                        }
+                }
+                return duplicates;
+        }
+
+        private static long count(SessionFactory factory, String entity)
+        {
+                try (Session session = factory.openSession()) {
+                        return session.createQuery("select count(*) from " + entity, Long.class).uniqueResult();
+                }
+        }
+
+        private static int checkCount(SessionFactory factory, String entity, long expected)
+        {
+                long actual = count(factory, entity);
+                if (actual != expected) {
+                        System.out.println(entity + " table holds " + actual + " rows, expected " + expected + ".");
+                        return 1;
+                }
+                return 0;
+        }
+}
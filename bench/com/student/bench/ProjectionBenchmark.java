@@ -0,0 +1,67 @@
+package com.student.bench;
+
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.StudentService;
+import com.student.util.SessionFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+        * ProjectionBenchmark compares reading a page of students as StudentSummary projections
+        * (getStudentSummariesAfter) against reading the same page as managed Student entities
+        * (getStudentsAfter). Each call starts the page at a random student, and the results
+        * report the time and the bytes allocated on the benchmark thread per page.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.ProjectionBenchmark --students 10000 --page 100
+        * </pre>
+        *
+        * Options: --students registered first (default 1000), --page rows per page (default 100),
+        * --seconds per measurement (default 5), --warmup seconds (default 2).
+        */
+public class ProjectionBenchmark
+{
+        private static volatile Object sink;
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int studentCount = Integer.parseInt(options.getOrDefault("students", "1000"));
+                int page = Integer.parseInt(options.getOrDefault("page", "100"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+
+                Branch branch = BenchSupport.ensureBranch("bench-projection");
+                List<Student> students = new ArrayList<>(studentCount);
+                for (int n = 0; n < studentCount; n++) {
+                        students.add(BenchSupport.newStudent(n, branch, new HashSet<Event>()));
+                }
+                StudentService studentService = new StudentService();
+                List<Integer> ids = studentService.registerStudents(students);
+                // Start pages early enough that every page is full.
+                List<Integer> starts = ids.subList(0, Math.max(1, ids.size() - page));
+
+                Random random = new Random(42);
+                Map<String, BenchSupport.Call> calls = new LinkedHashMap<>();
+                calls.put("StudentService.getStudentSummariesAfter", n ->
+                        sink = studentService.getStudentSummariesAfter(starts.get(random.nextInt(starts.size())), page));
+                calls.put("StudentService.getStudentsAfter", n ->
+                        sink = studentService.getStudentsAfter(starts.get(random.nextInt(starts.size())), page));
+                List<BenchSupport.Result> results = BenchSupport.measure(calls, warmup, seconds);
+                for (BenchSupport.Result result : results) {
+                        System.out.printf(Locale.ROOT, "%-42s %10.1f us/page %10d B/page%n",
+                                result.getName(), result.microsPerCall(), result.bytesPerCall());
+                }
+                System.out.printf(Locale.ROOT, "Projections take %.2fx the time and %.2fx the allocation of entities.%n",
+                        results.get(0).microsPerCall() / results.get(1).microsPerCall(),
+                        (double) results.get(0).bytesPerCall() / results.get(1).bytesPerCall());
+                SessionFactoryProvider.shutdown();
+        }
+}
@@ -0,0 +1,74 @@
+package com.student.bench;
+
+import com.student.dao.StudentDao;
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.StudentService;
+import com.student.util.SessionFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+        * RegistrationBenchmark compares StudentService.registerStudents, which inserts a group of
+        * students in one transaction with JDBC batching, against registering the same number of
+        * students one registerStudent call at a time. Every student is linked to two events, so
+        * the student_event inserts are batched too. Both paths register the same group size per
+        * call, so their rows per second compare directly.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.RegistrationBenchmark --group 100 --seconds 10
+        * </pre>
+        *
+        * Options: --group students per call (default 100), --batch-size for registerStudents
+        * (default StudentDao.DEFAULT_BATCH_SIZE), --seconds per measurement (default 5),
+        * --warmup seconds (default 2).
+        */
+public class RegistrationBenchmark
+{
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int group = Integer.parseInt(options.getOrDefault("group", "100"));
+                int batchSize = Integer.parseInt(options.getOrDefault("batch-size", String.valueOf(StudentDao.DEFAULT_BATCH_SIZE)));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+
+                Branch branch = BenchSupport.ensureBranch("bench-registration");
+                Set<Event> events = new HashSet<>();
+                events.add(BenchSupport.ensureEvent("bench-registration-1"));
+                events.add(BenchSupport.ensureEvent("bench-registration-2"));
+                StudentService studentService = new StudentService();
+
+                // Every call registers a fresh group; the two paths take alternate group numbers.
+                Map<String, BenchSupport.Call> calls = new LinkedHashMap<>();
+                calls.put("StudentService.registerStudents", n -> {
+                        List<Student> students = new ArrayList<>(group);
+                        for (int i = 0; i < group; i++) {
+                                students.add(BenchSupport.newStudent(2 * n * group + i, branch, events));
+                        }
+                        studentService.registerStudents(students, batchSize);
+                });
+                calls.put("StudentService.registerStudent", n -> {
+                        for (int i = 0; i < group; i++) {
+                                studentService.registerStudent(BenchSupport.newStudent((2 * n + 1) * group + i, branch, events));
+                        }
+                });
+                List<BenchSupport.Result> results = BenchSupport.measure(calls, warmup, seconds);
+                BenchSupport.Result batched = results.get(0);
+                BenchSupport.Result single = results.get(1);
+                for (BenchSupport.Result result : results) {
+                        System.out.printf(Locale.ROOT, "%-36s %8.0f students/s %10.1f us/student %10d B/student%n",
+                                result.getName() + " x" + group, result.callsPerSecond() * group, result.microsPerCall() / group,
+                                result.bytesPerCall() < 0 ? -1 : result.bytesPerCall() / group);
+                }
+                System.out.printf(Locale.ROOT, "registerStudents is %.1fx the throughput of registerStudent.%n",
+                        batched.callsPerSecond() / single.callsPerSecond());
+                SessionFactoryProvider.shutdown();
+        }
+}
@@ -0,0 +1,64 @@
+package com.student.bench;
+
+import com.student.services.StudentSearchIndex;
+import com.student.util.SessionFactoryProvider;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+        * SearchBenchmark measures StudentSearchIndex on a data set from DatasetGenerator. Its
+        * names come from short lists, so common names match a large share of the students,
+        * which is the hard case for intersecting several query words. It reports the one-off
+        * build of the index and then the time and bytes allocated per search for exact,
+        * prefix, fuzzy and multi-word queries.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.SearchBenchmark --students 100000
+        * </pre>
+        *
+        * Options: --students generated first (default 100000), --limit IDs per search
+        * (default 20), --seconds per measurement (default 5), --warmup seconds (default 2).
+        */
+public class SearchBenchmark
+{
+        private static volatile Object sink;
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int students = Integer.parseInt(options.getOrDefault("students", "100000"));
+                int limit = Integer.parseInt(options.getOrDefault("limit", "20"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+
+                new DatasetGenerator(42, 1000, DatasetGenerator.ensureBranches(DatasetGenerator.branchNames(12)),
+                        DatasetGenerator.ensureEvents(DatasetGenerator.eventNames(30)))
+                        .writeToDatabase(students, Runtime.getRuntime().availableProcessors());
+                StudentSearchIndex index = StudentSearchIndex.getInstance();
+                long start = System.nanoTime();
+                index.search("warm", 1);
+                System.out.printf(Locale.ROOT, "Indexed %d students in %.1f s%n", index.size(), (System.nanoTime() - start) / 1e9);
+
+                String[] queries = {
+                        "sharma",               // exact name
+                        "sha",                  // prefix of several names
+                        "kulkarny",             // one typo
+                        "priya sharma",         // two common names
+                        "kavya kulkarni 98",    // names and a phone prefix
+                        "nikhil.patel",         // email prefix
+                };
+                Map<String, BenchSupport.Call> calls = new LinkedHashMap<>();
+                for (String query : queries) {
+                        calls.put("search \"" + query + "\"", n -> sink = index.search(query, limit));
+                }
+                List<BenchSupport.Result> results = BenchSupport.measure(calls, warmup, seconds);
+                for (int i = 0; i < queries.length; i++) {
+                        BenchSupport.Result result = results.get(i);
+                        System.out.printf(Locale.ROOT, "%-32s %9.1f us/search %10d B/search %3d hits%n", result.getName(),
+                                result.microsPerCall(), result.bytesPerCall(), index.search(queries[i], limit).size());
+                }
+                SessionFactoryProvider.shutdown();
+        }
+}
@@ -0,0 +1,154 @@
+package com.student.bench;
+
+import com.student.util.SessionFactoryProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+        * StartupBenchmark measures how long SessionFactoryProvider takes to build the
+        * SessionFactory, phase by phase. The SessionFactory is built once per JVM, so every run
+        * starts a fresh JVM with the same classpath, -X options and "hibernate.*"/"student.*"
+        * system properties, which only builds the SessionFactory and prints
+        * getBootstrapTimings(). Three modes are measured:
+        *
+        * <ul>
+        * <li>mapping cache off ("student.bootstrap.cache_mappings" = false),</li>
+        * <li>empty mapping cache (the .bin files are deleted before each JVM starts),</li>
+        * <li>warm mapping cache (the .bin files left by the previous run are reused).</li>
+        * </ul>
+        *
+        * Each mode reports the median of every phase over its runs, in milliseconds.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.StartupBenchmark --runs 5
+        * </pre>
+        *
+        * Options: --runs JVMs started per mode (default 3).
+        */
+public class StartupBenchmark
+{
+        /** Prefix of the line a started JVM prints its bootstrap timings on. */
+        private static final String TIMINGS_LINE = "bootstrap-timings";
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                if (options.containsKey("bootstrap-only")) {
+                        // A JVM started by measure: build, report and stop.
+                        SessionFactoryProvider.getSessionFactory();
+                        StringBuilder line = new StringBuilder(TIMINGS_LINE);
+                        for (Map.Entry<String, Long> timing : SessionFactoryProvider.getBootstrapTimings().entrySet()) {
+                                line.append(' ').append(timing.getKey()).append('=').append(timing.getValue());
+                        }
+                        System.out.println(line);
+                        SessionFactoryProvider.shutdown();
+                        return;
+                }
+                int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+
+                Map<String, Map<String, Long>> results = new LinkedHashMap<>();
+                results.put("cache off", measure(false, false, runs));
+                results.put("empty cache", measure(true, true, runs));
+                results.put("warm cache", measure(true, false, runs));
+                System.out.printf(Locale.ROOT, "Median of %d JVMs per mode, in ms:%n%-12s", runs, "");
+                for (String phase : results.values().iterator().next().keySet()) {
+                        System.out.printf(Locale.ROOT, " %9s", phase);
+                }
+                System.out.println();
+                for (Map.Entry<String, Map<String, Long>> result : results.entrySet()) {
+                        System.out.printf(Locale.ROOT, "%-12s", result.getKey());
+                        for (long millis : result.getValue().values()) {
+                                System.out.printf(Locale.ROOT, " %9d", millis);
+                        }
+                        System.out.println();
+                }
+        }
+
+        /**
+         * Starts the given number of JVMs that only build the SessionFactory, one after another.
+         *
+         * @param cacheMappings the mapping cache setting passed to the started JVMs.
+         * @param clearCache whether to delete the cached mappings before each JVM starts.
+         * @return the median time of each bootstrap phase, in milliseconds, in the order they ran.
+         */
+        static Map<String, Long> measure(boolean cacheMappings, boolean clearCache, int runs) throws Exception
+        {
+                List<String> command = new ArrayList<>();
+                command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+                        if (argument.startsWith("-X")) {
+                                command.add(argument);
+                        }
+                }
+                for (String property : System.getProperties().stringPropertyNames()) {
+                        if (property.startsWith("hibernate.") || property.startsWith("student.")) {
+                                command.add("-D" + property + "=" + System.getProperty(property));
+                        }
+                }
+                command.add("-D" + SessionFactoryProvider.CACHE_MAPPINGS + "=" + cacheMappings);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(StartupBenchmark.class.getName());
+                command.add("--bootstrap-only");
+                command.add("true");
+
+                Map<String, List<Long>> phases = new LinkedHashMap<>();
+                for (int run = 0; run < runs; run++) {
+                        if (clearCache) {
+                                clearMappingCache();
+                        }
+                        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                        String timings = null;
+                        StringBuilder output = new StringBuilder();
+                        try (BufferedReader reader = new BufferedReader(
+                                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                                        if (line.startsWith(TIMINGS_LINE)) {
+                                                timings = line;
+                                        }
+                                        output.append(line).append(System.lineSeparator());
+                                }
+                        }
+                        if (process.waitFor() != 0 || timings == null) {
+                                System.err.print(output);
+                                throw new IllegalStateException("Startup JVM failed with exit status " + process.exitValue());
+                        }
+                        for (String timing : timings.substring(TIMINGS_LINE.length()).trim().split(" ")) {
+                                String[] pair = timing.split("=");
+                                phases.computeIfAbsent(pair[0], key -> new ArrayList<>()).add(Long.parseLong(pair[1]));
+                        }
+                }
+
+                Map<String, Long> medians = new LinkedHashMap<>();
+                for (Map.Entry<String, List<Long>> phase : phases.entrySet()) {
+                        List<Long> values = phase.getValue();
+                        Collections.sort(values);
+                        medians.put(phase.getKey(), values.get(values.size() / 2));
+                }
+                return medians;
+        }
+
+        /**
+         * Deletes the serialized mappings SessionFactoryProvider caches next to the mapping files.
+         */
+        private static void clearMappingCache() throws Exception
+        {
+                for (String resource : BenchSupport.MAPPINGS) {
+                        URL url = StartupBenchmark.class.getClassLoader().getResource(resource);
+                        if (url != null && "file".equals(url.getProtocol())) {
+                                new File(new File(url.toURI()).getPath() + ".bin").delete();
+                        }
+                }
+        }
+}
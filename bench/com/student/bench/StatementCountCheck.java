@@ -0,0 +1,97 @@
+package com.student.bench;
+
+import com.student.models.Branch;
+import com.student.models.Event;
+import com.student.models.Student;
+import com.student.services.StudentService;
+import com.student.util.SessionFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.stat.Statistics;
+
+/**
+        * StatementCountCheck guards the student detail listing against N+1 queries. It loads a
+        * page of students through StudentService.getStudentDetailsAfter at several page sizes,
+        * reads every student's branch and events as the controller does, and counts the JDBC
+        * statements prepared for each page through Hibernate's statistics. The run fails with
+        * exit status 1 unless every page size costs the same number of statements.
+        *
+        * It first registers as many students as the largest page, spread over five branches
+        * and linked to up to two of ten events each.
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/* com.student.bench.StatementCountCheck --sizes 10,1000
+        * </pre>
+        *
+        * Options: --sizes page sizes to compare (comma separated, default 10,100,1000).
+        */
+public class StatementCountCheck
+{
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                List<Integer> sizes = new ArrayList<>();
+                int largest = 0;
+                for (String size : options.getOrDefault("sizes", "10,100,1000").split(",")) {
+                        sizes.add(Integer.parseInt(size.trim()));
+                        largest = Math.max(largest, sizes.get(sizes.size() - 1));
+                }
+
+                StudentService studentService = new StudentService();
+                List<Branch> branches = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                        branches.add(BenchSupport.ensureBranch("statements-branch-" + i));
+                }
+                List<Event> events = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                        events.add(BenchSupport.ensureEvent("statements-event-" + i));
+                }
+                List<Student> students = new ArrayList<>();
+                for (int n = 0; n < largest; n++) {
+                        Set<Event> chosen = new HashSet<>();
+                        for (int i = 0; i < n % 3; i++) {
+                                chosen.add(events.get((n + i) % events.size()));
+                        }
+                        students.add(BenchSupport.newStudent(n, branches.get(n % branches.size()), chosen));
+                }
+                studentService.registerStudents(students);
+
+                Statistics statistics = SessionFactoryProvider.getSessionFactory().getStatistics();
+                statistics.setStatisticsEnabled(true);
+                long expected = -1;
+                boolean constant = true;
+                for (int size : sizes) {
+                        statistics.clear();
+                        List<Student> page = studentService.getStudentDetailsAfter(0, size);
+                        int eventCount = 0;
+                        for (Student student : page) {
+                                student.getBranch().getBranchName();
+                                for (Event event : student.getEvents()) {
+                                        event.getEventName();
+                                        eventCount++;
+                                }
+                        }
+                        long statements = statistics.getPrepareStatementCount();
+                        System.out.printf("page size %5d: %5d students, %5d event links, %d statements%n",
+                                size, page.size(), eventCount, statements);
+                        if (page.size() != size) {
+                                System.out.println("Expected " + size + " students in the page.");
+                                constant = false;
+                        }
+                        if (expected < 0) {
+                                expected = statements;
+                        } else if (statements != expected) {
+                                constant = false;
+                        }
+                }
+                SessionFactoryProvider.shutdown();
+                if (!constant) {
+                        System.out.println("The statement count depends on the page size.");
+                        System.exit(1);
+                }
+                System.out.println("Every page size costs " + expected + " statements.");
+        }
+}
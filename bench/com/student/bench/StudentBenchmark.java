@@ -0,0 +1,304 @@
+package com.student.bench;
+
+import com.student.dao.BranchDao;
+import com.student.dao.EventDao;
+import com.student.dao.StudentDao;
+import com.student.exception.StudentException;
+import com.student.models.Branch;
+import com.student.models.BranchRef;
+import com.student.models.Event;
+import com.student.models.EventRef;
+import com.student.models.Student;
+import com.student.models.StudentPatch;
+import com.student.services.BranchService;
+import com.student.services.EventService;
+import com.student.services.StudentService;
+import com.student.util.LatencyHistogram;
+import com.student.util.SessionFactoryProvider;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+        * StudentBenchmark measures the DAO and service layers against a database loaded with
+        * a chosen number of students. Each operation runs for a fixed time after a warm-up, on
+        * one or more threads, and its throughput, latency percentiles and bytes allocated per call
+        * are appended to a JSON Lines file (one object per operation and thread count) so runs
+        * can be compared. Allocation is summed over the benchmark threads and reported as -1 when
+        * the JVM cannot measure it.
+        *
+        * By default it runs against an in-memory H2 database in MySQL mode; put the H2 jar on
+        * the classpath next to lib/*. Pass -Dhibernate.connection.url=... (and the matching
+        * driver, user and password) to benchmark a real database instead. Each run loads one
+        * data size, because the SessionFactory is built once per JVM:
+        *
+        * <pre>
+        * java -cp bin:bench-bin:lib/*:h2.jar com.student.bench.StudentBenchmark \
+        *         --students 100000 --threads 1,8 --seconds 10 --out results.jsonl
+        * </pre>
+        *
+        * Comparisons of one call against the call it replaces are left to the dedicated programs
+        * in this package (RegistrationBenchmark, ExistenceBenchmark, ProjectionBenchmark,
+        * AsyncLoadTest). With --startup N, startup is recorded first: StartupBenchmark starts N
+        * fresh JVMs per mapping cache mode, with the same database settings, and the median of
+        * each bootstrap phase is written as one "SessionFactoryProvider.bootstrap" record per mode.
+        *
+        * Options: --students (default 1000), --threads (comma separated, default 1,4),
+        * --seconds per measurement (default 5), --warmup seconds (default 2),
+        * --startup JVMs per startup record (default 0, which skips startup),
+        * --out results file (default bench-results.jsonl), --only to run just the operations
+        * whose name contains the given text.
+        */
+public class StudentBenchmark
+{
+        private static final String H2_URL = "jdbc:h2:mem:student_bench;MODE=MySQL;DB_CLOSE_DELAY=-1;"
+                + "DATABASE_TO_LOWER=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE";
+        private static final int BRANCHES = 10;
+        private static final int EVENTS = 20;
+        private static final int LOAD_BATCH = 1000;
+
+        /**
+         * One benchmarked call. The random source belongs to the calling thread. An operation
+         * that has run out of input throws NoSuchElementException, which ends its measurement.
+         */
+        private interface Operation
+        {
+                void run(ThreadLocalRandom random) throws StudentException;
+        }
+
+        private final StudentService studentService = new StudentService();
+        private final BranchService branchService = new BranchService();
+        private final EventService eventService = new EventService();
+        private final StudentDao studentDao = new StudentDao();
+        private final BranchDao branchDao = new BranchDao();
+        private final EventDao eventDao = new EventDao();
+
+        private final int students;
+        private final List<BranchRef> branches = new ArrayList<>();
+        private final List<EventRef> events = new ArrayList<>();
+        private final AtomicInteger registered = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Integer> deletable = new ConcurrentLinkedQueue<>();
+        private volatile int maxId;
+        private static volatile Object sink;
+
+        private StudentBenchmark(int students)
+        {
+                this.students = students;
+        }
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = BenchSupport.parseOptions(args);
+                int students = Integer.parseInt(options.getOrDefault("students", "1000"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "2"));
+                String out = options.getOrDefault("out", "bench-results.jsonl");
+                String only = options.get("only");
+                int startupRuns = Integer.parseInt(options.getOrDefault("startup", "0"));
+                List<Integer> threadCounts = new ArrayList<>();
+                for (String count : options.getOrDefault("threads", "1,4").split(",")) {
+                        threadCounts.add(Integer.parseInt(count.trim()));
+                }
+
+                if (System.getProperty("hibernate.connection.url") == null) {
+                        System.setProperty("hibernate.connection.url", H2_URL);
+                        System.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+                        System.setProperty("hibernate.connection.username", "sa");
+                        System.setProperty("hibernate.connection.password", "");
+                }
+
+                try (PrintWriter writer = new PrintWriter(new FileWriter(out, true))) {
+                        if (startupRuns > 0) {
+                                String[][] modes = {
+                                        {"mapping cache off", "false", "false"},
+                                        {"empty mapping cache", "true", "true"},
+                                        {"warm mapping cache", "true", "false"},
+                                };
+                                for (String[] mode : modes) {
+                                        String name = "SessionFactoryProvider.bootstrap (" + mode[0] + ")";
+                                        if (only != null && !name.contains(only)) {
+                                                continue;
+                                        }
+                                        StringBuilder result = new StringBuilder();
+                                        result.append(String.format(Locale.ROOT, "{\"benchmark\":\"%s\",\"runs\":%d", name, startupRuns));
+                                        Map<String, Long> phases = StartupBenchmark.measure(
+                                                Boolean.parseBoolean(mode[1]), Boolean.parseBoolean(mode[2]), startupRuns);
+                                        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+                                                result.append(",\"").append(phase.getKey()).append("Ms\":").append(phase.getValue());
+                                        }
+                                        result.append('}');
+                                        System.out.println(result);
+                                        writer.println(result);
+                                        writer.flush();
+                                }
+                        }
+
+                        StudentBenchmark benchmark = new StudentBenchmark(students);
+                        long start = System.nanoTime();
+                        SessionFactoryProvider.getSessionFactory();
+                        System.out.println("Bootstrap: " + SessionFactoryProvider.getBootstrapTimings());
+                        benchmark.load();
+                        System.out.printf(Locale.ROOT, "Loaded %d students in %.1f s%n", students, (System.nanoTime() - start) / 1e9);
+
+                        for (Map.Entry<String, Operation> entry : benchmark.operations().entrySet()) {
+                                if (only != null && !entry.getKey().contains(only)) {
+                                        continue;
+                                }
+                                for (int threads : threadCounts) {
+                                        benchmark.measure(entry.getKey(), entry.getValue(), threads, warmup);
+                                        String result = benchmark.measure(entry.getKey(), entry.getValue(), threads, seconds);
+                                        System.out.println(result);
+                                        writer.println(result);
+                                        writer.flush();
+                                }
+                        }
+                }
+                SessionFactoryProvider.shutdown();
+        }
+
+        /**
+         * Lists the benchmarked operations in the order they run. Deletes run last and
+         * consume the students registered by the register benchmarks, so the loaded data
+         * set keeps its size for the read benchmarks.
+         */
+        private Map<String, Operation> operations()
+        {
+                Map<String, Operation> operations = new LinkedHashMap<>();
+                operations.put("StudentService.getStudentById", random -> sink = studentService.getStudentById(randomId(random)));
+                operations.put("StudentDao.getStudentById", random -> sink = studentDao.getStudentById(randomId(random)));
+                operations.put("StudentService.getStudentSummariesAfter", random ->
+                        sink = studentService.getStudentSummariesAfter(randomId(random), 100));
+                operations.put("StudentService.getStudentDetailsAfter", random ->
+                        sink = studentService.getStudentDetailsAfter(randomId(random), 100));
+                operations.put("StudentService.streamStudents", random ->
+                        sink = studentService.streamStudents(student -> sink = student));
+                operations.put("BranchService.getAllBranches", random -> sink = branchService.getAllBranches());
+                operations.put("EventService.getAllEvents", random -> sink = eventService.getAllEvents());
+                operations.put("EventDao.getEventRefs", random -> sink = eventDao.getEventRefs());
+                operations.put("BranchService.getBranchByName", random ->
+                        sink = branchService.getBranchByName(branches.get(random.nextInt(branches.size())).getBranchName()));
+                operations.put("BranchDao.getBranchByName", random ->
+                        sink = branchDao.getBranchByName(branches.get(random.nextInt(branches.size())).getBranchName()));
+                operations.put("EventService.getEventByName", random ->
+                        sink = eventService.getEventByName(events.get(random.nextInt(events.size())).getEventName()));
+                operations.put("EventDao.getEventByName", random ->
+                        sink = eventDao.getEventByName(events.get(random.nextInt(events.size())).getEventName()));
+                operations.put("StudentService.patchStudent", random -> {
+                        StudentPatch patch = new StudentPatch();
+                        patch.setAge(18 + random.nextInt(10));
+                        studentService.patchStudent(randomId(random), patch);
+                });
+                operations.put("StudentService.registerStudent", random -> {
+                        int id = studentService.registerStudent(newStudent(random, students + registered.incrementAndGet()));
+                        deletable.add(id);
+                });
+                operations.put("StudentService.deleteStudent", random -> {
+                        Integer id = deletable.poll();
+                        if (id == null) {
+                                throw new NoSuchElementException("No registered students left to delete.");
+                        }
+                        studentService.deleteStudent(id);
+                });
+                return operations;
+        }
+
+        /**
+         * Runs one operation on the given number of threads for the given time.
+         *
+         * @return the result as one line of JSON.
+         */
+        private String measure(String name, Operation operation, int threads, long seconds) throws InterruptedException
+        {
+                LatencyHistogram latency = new LatencyHistogram();
+                LongAdder errors = new LongAdder();
+                LongAdder allocated = new LongAdder();
+                CountDownLatch done = new CountDownLatch(threads);
+                long deadline = System.nanoTime() + seconds * 1000000000L;
+                long start = System.nanoTime();
+                for (int i = 0; i < threads; i++) {
+                        Thread thread = new Thread(() -> {
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
+                                long allocatedBefore = BenchSupport.allocatedBytes();
+                                try {
+                                        while (System.nanoTime() < deadline) {
+                                                long begin = System.nanoTime();
+                                                try {
+                                                        operation.run(random);
+                                                } catch (NoSuchElementException ex) {
+                                                        break;
+                                                } catch (StudentException | RuntimeException ex) {
+                                                        errors.increment();
+                                                }
+                                                latency.record((System.nanoTime() - begin) / 1000);
+                                        }
+                                } finally {
+                                        allocated.add(BenchSupport.allocatedBytes() - allocatedBefore);
+                                        done.countDown();
+                                }
+                        }, "bench-" + i);
+                        thread.start();
+                }
+                done.await();
+                double elapsed = (System.nanoTime() - start) / 1e9;
+                long ops = latency.getCount();
+                return String.format(Locale.ROOT, "{\"benchmark\":\"%s\",\"students\":%d,\"threads\":%d,\"ops\":%d,"
+                                + "\"errors\":%d,\"seconds\":%.3f,\"opsPerSec\":%.1f,\"p50Micros\":%d,\"p99Micros\":%d,\"maxMicros\":%d,"
+                                + "\"bytesPerOp\":%d}",
+                        name, students, threads, ops, errors.sum(), elapsed, ops / elapsed,
+                        latency.getPercentile(50), latency.getPercentile(99), latency.getMax(),
+                        BenchSupport.allocatedBytes() < 0 || ops == 0 ? -1 : allocated.sum() / ops);
+        }
+
+        /**
+         * Loads the branches, events and students the benchmarks read from, using the
+         * same skewed synthetic data as DatasetGenerator.
+         */
+        private void load() throws StudentException, InterruptedException
+        {
+                List<Branch> branchList = DatasetGenerator.ensureBranches(DatasetGenerator.branchNames(BRANCHES));
+                List<Event> eventList = DatasetGenerator.ensureEvents(DatasetGenerator.eventNames(EVENTS));
+                for (Branch branch : branchList) {
+                        branches.add(new BranchRef(branch.getBranchId(), branch.getBranchName()));
+                }
+                for (Event event : eventList) {
+                        events.add(new EventRef(event.getEventId(), event.getEventName()));
+                }
+                DatasetGenerator generator = new DatasetGenerator(42, LOAD_BATCH, branchList, eventList);
+                maxId = generator.writeToDatabase(students, Runtime.getRuntime().availableProcessors());
+        }
+
+        private Student newStudent(Random random, int n)
+        {
+                Student student = new Student("First" + n, "Last" + n, String.valueOf(9000000000L + n),
+                        "student" + n + "@bench.example.com", n + " Main Street",
+                        Date.valueOf("2000-01-01"), 18 + random.nextInt(10));
+                BranchRef branch = branches.get(random.nextInt(branches.size()));
+                student.setBranch(new Branch(branch.getBranchId(), branch.getBranchName()));
+                Set<Event> chosen = new HashSet<>();
+                for (int i = random.nextInt(3); i > 0; i--) {
+                        EventRef event = events.get(random.nextInt(events.size()));
+                        chosen.add(new Event(event.getEventId(), event.getEventName()));
+                }
+                student.setEvents(chosen);
+                return student;
+        }
+
+        private int randomId(ThreadLocalRandom random)
+        {
+                return 1 + random.nextInt(maxId);
+        }
+}
@@ -0,0 +1,300 @@
+package com.student.bench;
+
+import com.student.util.Validator;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+        * ValidatorBenchmark checks that Validator accepts exactly what the original regex-based
+        * Validator accepted, then compares the throughput and allocation of the two. The original
+        * methods are kept below as LegacyValidator for this purpose.
+        *
+        * The inputs are generated from a fixed seed: well-formed values like the ones
+        * DatasetGenerator writes, the same values with random edits, and hand-picked edge cases.
+        * Any difference in results is printed and makes the run exit with status 1. Allocation is
+        * measured per thread through com.sun.management.ThreadMXBean when the JVM provides it.
+        *
+        * <pre>
+        * java -cp bin:bench-bin com.student.bench.ValidatorBenchmark --inputs 100000 --seconds 2
+        * </pre>
+        *
+        * Options: --inputs per check (default 100000), --seconds per measurement (default 2),
+        * --warmup seconds (default 1), --seed (default 42).
+        */
+public class ValidatorBenchmark
+{
+        private static final String EDIT_CHARS = "0123456789azAZ_-.@+ \t\n/:\u00e9\u0663";
+        private static final String[] EDGE_CASES = {
+                "", " ", "+", "-", "0", "-0", "+0", "2147483647", "2147483648", "-2147483648", "-2147483649",
+                "99999999999", "\u0663\u0664", "1 ", " 1", "+-1", "a@b.co", "a@b.c", "a@b.abcde", "a@.co", "a@b..co",
+                "@b.co", "a@b.co.", "a.b-c_d@x-y.z_w.io", "a@b@c.co", "a@b.co\n", "a@b.c-", "+9876543210", "++987654321",
+                "987654321", "98765432100", "9876543210\n", "2024-02-29", "2023-02-29", "1900-02-29", "2000-02-29",
+                "2024-13-01", "2024-00-10", "2024-04-31", "0000-01-01", "0001-01-01", "1582-10-10", "1582-10-15",
+                "1582-10-04", "1500-02-29", "1600-02-29", "9999-12-31", "2024-1-01", "2024/01/01", "2024-01-01 ",
+                "\u0662\u0660\u0662\u0664-01-01"
+        };
+
+        private static final Map<String, Function<String, Object>> LEGACY = new LinkedHashMap<>();
+        private static final Map<String, Function<String, Object>> CURRENT = new LinkedHashMap<>();
+
+        static {
+                LEGACY.put("isValidInteger", LegacyValidator::isValidInteger);
+                LEGACY.put("isValidString", LegacyValidator::isValidString);
+                LEGACY.put("isValidPhone", LegacyValidator::isValidPhone);
+                LEGACY.put("isValidEmail", LegacyValidator::isValidEmail);
+                LEGACY.put("parseDate", LegacyValidator::parseDate);
+                CURRENT.put("isValidInteger", Validator::isValidInteger);
+                CURRENT.put("isValidString", Validator::isValidString);
+                CURRENT.put("isValidPhone", Validator::isValidPhone);
+                CURRENT.put("isValidEmail", Validator::isValidEmail);
+                CURRENT.put("parseDate", Validator::parseDate);
+        }
+
+        private static volatile Object sink;
+
+        public static void main(String[] args) throws Exception
+        {
+                Map<String, String> options = new LinkedHashMap<>();
+                for (int i = 0; i + 1 < args.length; i += 2) {
+                        options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+                }
+                int count = Integer.parseInt(options.getOrDefault("inputs", "100000"));
+                long seconds = Long.parseLong(options.getOrDefault("seconds", "2"));
+                long warmup = Long.parseLong(options.getOrDefault("warmup", "1"));
+                long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+                Map<String, String[]> inputs = new LinkedHashMap<>();
+                Random random = new Random(seed);
+                inputs.put("isValidInteger", generate(random, count, r -> String.valueOf(r.nextInt(100) < 90 ? r.nextInt(60) : r.nextInt())));
+                inputs.put("isValidString", generate(random, count, r -> r.nextInt(10) == 0 ? "   " : "Name" + r.nextInt(1000)));
+                inputs.put("isValidPhone", generate(random, count, r -> (r.nextBoolean() ? "+" : "") + (6000000000L + (long) (r.nextDouble() * 3999999999L))));
+                inputs.put("isValidEmail", generate(random, count, r -> "first.last" + r.nextInt(100000) + "@example." + (r.nextBoolean() ? "com" : "co.in")));
+                inputs.put("parseDate", generate(random, count, r -> String.format(Locale.ROOT, "%04d-%02d-%02d",
+                        1950 + r.nextInt(70), 1 + r.nextInt(12), 1 + r.nextInt(31))));
+
+                int mismatches = 0;
+                for (Map.Entry<String, String[]> entry : inputs.entrySet()) {
+                        mismatches += compare(entry.getKey(), entry.getValue());
+                }
+                if (mismatches > 0) {
+                        System.out.println(mismatches + " results differ from the original Validator.");
+                        System.exit(1);
+                }
+                System.out.println("All results match the original Validator.");
+
+                System.out.printf(Locale.ROOT, "%-16s %14s %14s %8s %12s %12s%n",
+                        "method", "legacy ops/s", "current ops/s", "speedup", "legacy B/op", "current B/op");
+                for (Map.Entry<String, String[]> entry : inputs.entrySet()) {
+                        String name = entry.getKey();
+                        String[] values = entry.getValue();
+                        measure(LEGACY.get(name), values, warmup);
+                        measure(CURRENT.get(name), values, warmup);
+                        double[] legacy = measure(LEGACY.get(name), values, seconds);
+                        double[] current = measure(CURRENT.get(name), values, seconds);
+                        System.out.printf(Locale.ROOT, "%-16s %14.0f %14.0f %7.1fx %12.1f %12.1f%n",
+                                name, legacy[0], current[0], current[0] / legacy[0], legacy[1], current[1]);
+                }
+
+                String[] emails = inputs.get("isValidEmail");
+                boolean[] valid = new boolean[emails.length];
+                measureColumn(emails, valid, warmup);
+                double[] column = measureColumn(emails, valid, seconds);
+                System.out.printf(Locale.ROOT, "%-16s %14s %14.0f %8s %12s %12.1f%n",
+                        "validateColumn", "", column[0], "", "", column[1]);
+        }
+
+        /**
+         * Generates well-formed values, roughly a third of them randomly edited, followed by the edge cases.
+         */
+        private static String[] generate(Random random, int count, Function<Random, String> wellFormed)
+        {
+                List<String> values = new ArrayList<>(count + EDGE_CASES.length);
+                for (int i = 0; i < count; i++) {
+                        String value = wellFormed.apply(random);
+                        if (random.nextInt(3) == 0) {
+                                value = edit(random, value);
+                        }
+                        values.add(value);
+                }
+                for (String edge : EDGE_CASES) {
+                        values.add(edge);
+                }
+                return values.toArray(new String[0]);
+        }
+
+        private static String edit(Random random, String value)
+        {
+                StringBuilder edited = new StringBuilder(value);
+                int edits = 1 + random.nextInt(2);
+                for (int i = 0; i < edits; i++) {
+                        int at = edited.length() == 0 ? 0 : random.nextInt(edited.length());
+                        char c = EDIT_CHARS.charAt(random.nextInt(EDIT_CHARS.length()));
+                        switch (random.nextInt(3)) {
+                                case 0:
+                                        edited.insert(at, c);
+                                        break;
+                                case 1:
+                                        if (edited.length() > 0) {
+                                                edited.deleteCharAt(at);
+                                        }
+                                        break;
+                                default:
+                                        if (edited.length() > 0) {
+                                                edited.setCharAt(at, c);
+                                        }
+                        }
+                }
+                return edited.toString();
+        }
+
+        private static int compare(String name, String[] values)
+        {
+                int mismatches = 0;
+                for (String value : values) {
+                        Object expected = normalize(LEGACY.get(name).apply(value));
+                        Object actual = normalize(CURRENT.get(name).apply(value));
+                        if (!Objects.equals(expected, actual)) {
+                                if (mismatches++ < 10) {
+                                        System.out.println(name + "(\"" + value + "\"): expected " + expected + ", got " + actual);
+                                }
+                        }
+                }
+                return mismatches;
+        }
+
+        /** Dates compare by their instant, since java.sql.Date.equals also does. */
+        private static Object normalize(Object result)
+        {
+                return result instanceof Date ? ((Date) result).getTime() : result;
+        }
+
+        /**
+         * Calls the function over the values repeatedly for the given time.
+         *
+         * @return the calls per second and the bytes allocated per call, or NaN if allocation cannot be measured.
+         */
+        private static double[] measure(Function<String, Object> function, String[] values, long seconds)
+        {
+                long calls = 0;
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                long end = start + seconds * 1_000_000_000L;
+                do {
+                        for (String value : values) {
+                                sink = function.apply(value);
+                        }
+                        calls += values.length;
+                } while (System.nanoTime() < end);
+                double elapsed = (System.nanoTime() - start) / 1e9;
+                long allocated = allocatedBytes() - allocatedBefore;
+                return new double[] {calls / elapsed, allocatedBefore < 0 ? Double.NaN : (double) allocated / calls};
+        }
+
+        private static double[] measureColumn(String[] values, boolean[] valid, long seconds)
+        {
+                long calls = 0;
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                long end = start + seconds * 1_000_000_000L;
+                do {
+                        sink = Validator.validateColumn(Validator.Rule.EMAIL, values, values.length, valid);
+                        calls += values.length;
+                } while (System.nanoTime() < end);
+                double elapsed = (System.nanoTime() - start) / 1e9;
+                long allocated = allocatedBytes() - allocatedBefore;
+                return new double[] {calls / elapsed, allocatedBefore < 0 ? Double.NaN : (double) allocated / calls};
+        }
+
+        private static long allocatedBytes()
+        {
+                if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                                .getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+                return -1;
+        }
+
+        /**
+         * The regex-based Validator as it was before the hand-written checks, kept as the reference.
+         */
+        private static class LegacyValidator
+        {
+                static boolean isValidInteger(String input)
+                {
+                        try {
+                                Integer.parseInt(input);
+                                return true;
+                        } catch (NumberFormatException se) {
+                                return false;
+                        }
+                }
+
+                static boolean isValidString(String input)
+                {
+                        return input != null && !input.trim().isEmpty();
+                }
+
+                static boolean isValidPhone(String phone)
+                {
+                        String normalizedPhone = phone.startsWith("+") ? phone.substring(1) : phone;
+                        return normalizedPhone.matches("^[0-9]{10}$");
+                }
+
+                static boolean isValidEmail(String email)
+                {
+                        return email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+                }
+
+                static Date parseDate(String dateStr)
+                {
+                        if (dateStr == null || !dateStr.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
+                                return null;
+                        }
+                        String[] field = dateStr.split("-");
+                        int year, month, day;
+                        try {
+                                year = Integer.parseInt(field[0]);
+                                month = Integer.parseInt(field[1]);
+                                day = Integer.parseInt(field[2]);
+                        } catch (NumberFormatException se) {
+                                return null;
+                        }
+                        if (month < 1 || month > 12) {
+                                return null;
+                        }
+                        int maxDay;
+                        switch (month) {
+                                case 2:
+                                        maxDay = (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0) ? 29 : 28;
+                                        break;
+                                case 4:
+                                case 6:
+                                case 9:
+                                case 11:
+                                        maxDay = 30;
+                                        break;
+                                default:
+                                        maxDay = 31;
+                        }
+                        if (day < 1 || day > maxDay) {
+                                return null;
+                        }
+                        try {
+                                java.text.SimpleDateFormat format = new java.text.SimpleDateFormat("yyyy-MM-dd");
+                                format.setLenient(false);
+                                java.util.Date utilDate = format.parse(dateStr);
+                                return new java.sql.Date(utilDate.getTime());
+                        } catch (java.text.ParseException se) {
+                                return null;
+                        }
+                }
+        }
+}
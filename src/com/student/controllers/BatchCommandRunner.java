@@ -0,0 +1,633 @@
+package com.student.controllers;
+
+import com.student.exception.StudentException;
+import com.student.models.BranchRef;
+import com.student.models.Event;
+import com.student.models.EventRef;
+import com.student.models.ExportResult;
+import com.student.models.ImportResult;
+import com.student.models.Student;
+import com.student.models.StudentPatch;
+import com.student.services.BatchWriter;
+import com.student.services.BranchService;
+import com.student.services.EventService;
+import com.student.services.ReferenceResolver;
+import com.student.services.StudentExporter;
+import com.student.services.StudentImporter;
+import com.student.services.StudentService;
+import com.student.util.CsvReader;
+import com.student.util.SessionFactoryProvider;
+import com.student.util.Validator;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+        * BatchCommandRunner executes a script of commands without prompts, for scripted bulk
+        * changes. Each line is one command written as a CSV record, so fields containing
+        * commas can be quoted; blank lines and lines starting with '#' are skipped:
+        *
+        * <pre>
+        * add-branch,CSE,ECE
+        * add-event,Chess,Music
+        * register,Ann,Lee,2001-02-03,22,ann@x.com,9876543210,"12 Main St, Apt 4",CSE,Chess;Music
+        * update,1,email=ann.lee@x.com,branch=ECE,events=Music
+        * delete,1,2,3
+        * get,1
+        * search,ann lee
+        * count
+        * import,students.csv
+        * export,students.jsonl
+        * </pre>
+        *
+        * An update sets only the fields it names; "events" adds the listed events to the student.
+        *
+        * Consecutive commands of the same write kind (register, update or delete) are held back
+        * and run together in one transaction of up to "student.batch.size" commands (500 by
+        * default, read like every other SessionFactoryProvider setting). Any other command first
+        * runs the held-back group. Groups are written through BatchWriter: if a group's
+        * transaction fails because a command's data is at fault, its commands are retried one by
+        * one so that only the bad ones fail; any other database failure fails the whole group.
+        *
+        * Every command prints one result line, in script order, to a buffered writer, and the
+        * run ends with a summary of command counts, failures, transactions and timing.
+        */
+public class BatchCommandRunner
+{
+        public static final String BATCH_SIZE = "student.batch.size";
+
+        private static final Set<String> UPDATE_FIELDS = new LinkedHashSet<>(Arrays.asList(
+                "first_name", "last_name", "dob", "age", "email", "phone_no", "address", "branch", "events"));
+
+        private final PrintWriter out;
+        private final int batchSize;
+        private StudentService studentService = new StudentService();
+        private BranchService branchService = new BranchService();
+        private EventService eventService = new EventService();
+        private ReferenceResolver referenceResolver = new ReferenceResolver();
+
+        private final List<Pending> pending = new ArrayList<>();
+        private String pendingCommand;
+        private final Map<String, int[]> results = new LinkedHashMap<>();
+        private int transactions;
+
+        /**
+         * One held-back write command: its line, its arguments, and a validation error if it has one.
+         */
+        private static final class Pending {
+                final long line;
+                final String[] args;
+                String error;
+                Date dob;
+                BranchRef branch;
+                List<EventRef> events = new ArrayList<>();
+                StudentPatch patch;
+                int studentId;
+
+                Pending(long line, String[] args) {
+                        this.line = line;
+                        this.args = args;
+                }
+        }
+
+        /**
+         * Creates a runner with the configured batch size.
+         *
+         * @param out receives the result lines and the summary.
+         */
+        public BatchCommandRunner(PrintWriter out) {
+                this(out, SessionFactoryProvider.getIntSetting(BATCH_SIZE, 500));
+        }
+
+        /**
+         * Creates a runner.
+         *
+         * @param out receives the result lines and the summary.
+         * @param batchSize the most write commands run in one transaction.
+         */
+        public BatchCommandRunner(PrintWriter out, int batchSize) {
+                if (batchSize < 1) {
+                        throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+                }
+                this.out = out;
+                this.batchSize = batchSize;
+        }
+
+        /**
+         * Runs every command in the script and prints the summary.
+         *
+         * @param input the script; closed when the run ends.
+         * @return true if every command succeeded.
+         */
+        public boolean run(Reader input) {
+                long start = System.nanoTime();
+                try (CsvReader script = new CsvReader(input)) {
+                        String[] record;
+                        while ((record = script.readRecord()) != null) {
+                                String command = record[0].trim().toLowerCase(Locale.ROOT);
+                                if (command.isEmpty() || command.startsWith("#")) {
+                                        continue;
+                                }
+                                execute(script.getRecordLine(), command, Arrays.copyOfRange(record, 1, record.length));
+                        }
+                } catch (IOException se) {
+                        out.println("Error reading commands: " + se.getMessage());
+                        record("read", false);
+                }
+                flush();
+                return printSummary(System.nanoTime() - start);
+        }
+
+        private void execute(long line, String command, String[] args) {
+                switch (command) {
+                        case "register":
+                        case "update":
+                                hold(line, command, args);
+                                return;
+                        case "delete":
+                                if (args.length == 0) {
+                                        hold(line, command, args);
+                                }
+                                for (String studentId : args) {
+                                        hold(line, command, new String[] {studentId});
+                                }
+                                return;
+                        default:
+                                flush();
+                }
+                try {
+                        switch (command) {
+                                case "add-branch":
+                                        addBranches(line, args);
+                                        break;
+                                case "add-event":
+                                        addEvents(line, args);
+                                        break;
+                                case "get":
+                                        getStudent(line, args);
+                                        break;
+                                case "search":
+                                        searchStudents(line, args);
+                                        break;
+                                case "count":
+                                        succeed(line, command, "students=" + studentService.countStudents()
+                                                + ", branches=" + branchService.countBranches() + ", events=" + eventService.countEvents());
+                                        break;
+                                case "import":
+                                        importStudents(line, args);
+                                        break;
+                                case "export":
+                                        exportStudents(line, args);
+                                        break;
+                                default:
+                                        fail(line, command, "Unknown command '" + command + "'.");
+                        }
+                } catch (StudentException se) {
+                        fail(line, command, se.getMessage());
+                }
+        }
+
+        /**
+         * Queues a write command, first running the queued group if it is of another kind, full,
+         * or would touch the same student twice.
+         */
+        private void hold(long line, String command, String[] args) {
+                Pending next = new Pending(line, args);
+                if (command.equals("register")) {
+                        prepareRegistration(next);
+                } else if (command.equals("update")) {
+                        prepareUpdate(next);
+                } else {
+                        next.error = args.length == 1 && Validator.isValidInteger(args[0].trim()) ? null
+                                : "Usage: delete,<student id>[,<student id>...]";
+                        if (next.error == null) {
+                                next.studentId = Integer.parseInt(args[0].trim());
+                        }
+                }
+                boolean repeated = false;
+                if (next.error == null && !command.equals("register")) {
+                        for (Pending held : pending) {
+                                repeated |= held.error == null && held.studentId == next.studentId;
+                        }
+                }
+                if (!command.equals(pendingCommand) || pending.size() == batchSize || repeated) {
+                        flush();
+                }
+                pendingCommand = command;
+                pending.add(next);
+        }
+
+        /**
+         * Runs the queued write commands and prints their results in script order.
+         */
+        private void flush() {
+                if (pending.isEmpty()) {
+                        return;
+                }
+                try {
+                        if (pendingCommand.equals("register")) {
+                                flushRegistrations();
+                        } else if (pendingCommand.equals("update")) {
+                                flushUpdates();
+                        } else {
+                                flushDeletions();
+                        }
+                } catch (StudentException se) {
+                        for (Pending held : pending) {
+                                if (held.error == null) {
+                                        held.error = se.getMessage();
+                                }
+                                report(held, pendingCommand, null);
+                        }
+                }
+                pending.clear();
+        }
+
+        private void prepareRegistration(Pending held) {
+                String[] args = held.args;
+                if (args.length < 8) {
+                        held.error = "Usage: register,first name,last name,dob,age,email,phone,address,branch[,events]";
+                        return;
+                }
+                for (int i = 0; i < args.length; i++) {
+                        args[i] = args[i].trim();
+                }
+                List<String> problems = new ArrayList<>();
+                held.dob = Validator.parseDate(args[2]);
+                if (!Validator.isValidString(args[0]) || !Validator.isValidString(args[1])) {
+                        problems.add("names must not be blank");
+                }
+                if (held.dob == null) {
+                        problems.add("invalid date of birth '" + args[2] + "'");
+                }
+                if (!Validator.isValidInteger(args[3])) {
+                        problems.add("invalid age '" + args[3] + "'");
+                }
+                if (!Validator.isValidEmail(args[4])) {
+                        problems.add("invalid email '" + args[4] + "'");
+                }
+                if (!Validator.isValidPhone(args[5])) {
+                        problems.add("invalid phone number '" + args[5] + "'");
+                }
+                if (!Validator.isValidString(args[6]) || !Validator.isValidString(args[7])) {
+                        problems.add("address and branch must not be blank");
+                }
+                if (!problems.isEmpty()) {
+                        held.error = "Invalid student: " + String.join("; ", problems) + ".";
+                }
+        }
+
+        private void flushRegistrations() throws StudentException {
+                Set<String> branchTokens = new LinkedHashSet<>();
+                Set<String> eventTokens = new LinkedHashSet<>();
+                for (Pending held : pending) {
+                        if (held.error == null) {
+                                branchTokens.add(held.args[7]);
+                                eventTokens.addAll(eventTokens(held.args));
+                        }
+                }
+                Map<String, BranchRef> branches = referenceResolver.resolveBranches(new ArrayList<>(branchTokens));
+                Map<String, EventRef> events = referenceResolver.resolveEvents(new ArrayList<>(eventTokens));
+                List<Pending> ready = new ArrayList<>();
+                for (Pending held : pending) {
+                        if (held.error != null) {
+                                continue;
+                        }
+                        held.branch = branches.get(held.args[7]);
+                        if (held.branch == null) {
+                                held.error = "Branch '" + held.args[7] + "' does not exist.";
+                                continue;
+                        }
+                        for (String token : eventTokens(held.args)) {
+                                EventRef event = events.get(token);
+                                if (event == null) {
+                                        held.error = "Event '" + token + "' does not exist.";
+                                        break;
+                                }
+                                held.events.add(event);
+                        }
+                        if (held.error == null) {
+                                ready.add(held);
+                        }
+                }
+                BatchWriter.write(ready,
+                        group -> {
+                                transactions++;
+                                List<Student> students = new ArrayList<>(group.size());
+                                for (Pending held : group) {
+                                        students.add(toStudent(held));
+                                }
+                                List<Integer> ids = studentService.registerStudents(students);
+                                for (int i = 0; i < group.size(); i++) {
+                                        group.get(i).studentId = ids.get(i);
+                                }
+                        },
+                        held -> {
+                                transactions++;
+                                held.studentId = studentService.registerStudent(toStudent(held));
+                        },
+                        (held, error) -> held.error = error.getMessage());
+                for (Pending held : pending) {
+                        report(held, "register", "registered student ID " + held.studentId);
+                }
+        }
+
+        private void prepareUpdate(Pending held) {
+                String[] args = held.args;
+                if (args.length < 2 || !Validator.isValidInteger(args[0].trim())) {
+                        held.error = "Usage: update,<student id>,<field>=<value>[,...] with fields " + UPDATE_FIELDS;
+                        return;
+                }
+                held.studentId = Integer.parseInt(args[0].trim());
+                StudentPatch patch = new StudentPatch();
+                try {
+                        for (int i = 1; i < args.length; i++) {
+                                int equals = args[i].indexOf('=');
+                                String field = equals < 0 ? args[i].trim() : args[i].substring(0, equals).trim().toLowerCase(Locale.ROOT);
+                                String value = equals < 0 ? "" : args[i].substring(equals + 1).trim();
+                                applyField(patch, field, value);
+                        }
+                } catch (StudentException se) {
+                        held.error = se.getMessage();
+                        return;
+                }
+                held.patch = patch;
+        }
+
+        private void applyField(StudentPatch patch, String field, String value) throws StudentException {
+                if (!UPDATE_FIELDS.contains(field)) {
+                        throw new StudentException("Unknown field '" + field + "', expected one of " + UPDATE_FIELDS + ".");
+                }
+                switch (field) {
+                        case "dob":
+                                patch.setDob(Validator.parseDate(value));
+                                if (patch.getDob() == null) {
+                                        throw new StudentException("Invalid date of birth '" + value + "'.");
+                                }
+                                return;
+                        case "age":
+                                if (!Validator.isValidInteger(value)) {
+                                        throw new StudentException("Invalid age '" + value + "'.");
+                                }
+                                patch.setAge(Integer.parseInt(value));
+                                return;
+                        case "email":
+                                if (!Validator.isValidEmail(value)) {
+                                        throw new StudentException("Invalid email '" + value + "'.");
+                                }
+                                patch.setEmail(value);
+                                return;
+                        case "phone_no":
+                                if (!Validator.isValidPhone(value)) {
+                                        throw new StudentException("Invalid phone number '" + value + "'.");
+                                }
+                                patch.setPhoneNo(value);
+                                return;
+                        case "branch":
+                                BranchRef branch = referenceResolver.resolveBranch(value);
+                                if (branch == null) {
+                                        throw new StudentException("Branch '" + value + "' does not exist.");
+                                }
+                                patch.setBranchId(branch.getBranchId());
+                                return;
+                        case "events":
+                                List<String> tokens = BatchWriter.splitEvents(value);
+                                Map<String, EventRef> events = referenceResolver.resolveEvents(tokens);
+                                for (String token : tokens) {
+                                        EventRef event = events.get(token);
+                                        if (event == null) {
+                                                throw new StudentException("Event '" + token + "' does not exist.");
+                                        }
+                                        patch.addEventId(event.getEventId());
+                                }
+                                return;
+                        default:
+                                if (!Validator.isValidString(value)) {
+                                        throw new StudentException("Field '" + field + "' must not be blank.");
+                                }
+                                if (field.equals("first_name")) {
+                                        patch.setFirstName(value);
+                                } else if (field.equals("last_name")) {
+                                        patch.setLastName(value);
+                                } else {
+                                        patch.setAddress(value);
+                                }
+                }
+        }
+
+        private void flushUpdates() throws StudentException {
+                List<Pending> ready = new ArrayList<>();
+                for (Pending held : pending) {
+                        if (held.error == null) {
+                                ready.add(held);
+                        }
+                }
+                BatchWriter.write(ready,
+                        group -> {
+                                transactions++;
+                                Map<Integer, StudentPatch> patches = new LinkedHashMap<>();
+                                for (Pending held : group) {
+                                        patches.put(held.studentId, held.patch);
+                                }
+                                studentService.patchStudents(patches);
+                        },
+                        held -> {
+                                transactions++;
+                                studentService.patchStudent(held.studentId, held.patch);
+                        },
+                        (held, error) -> held.error = error.getMessage());
+                for (Pending held : pending) {
+                        report(held, "update", "updated student ID " + held.studentId);
+                }
+        }
+
+        private void flushDeletions() throws StudentException {
+                List<Integer> ids = new ArrayList<>();
+                for (Pending held : pending) {
+                        if (held.error == null) {
+                                ids.add(held.studentId);
+                        }
+                }
+                if (!ids.isEmpty()) {
+                        Set<Integer> existing = studentService.existingStudentIds(ids);
+                        List<Pending> ready = new ArrayList<>();
+                        for (Pending held : pending) {
+                                if (held.error == null && !existing.contains(held.studentId)) {
+                                        held.error = "Student not found with ID: " + held.studentId;
+                                } else if (held.error == null) {
+                                        ready.add(held);
+                                }
+                        }
+                        BatchWriter.write(ready,
+                                group -> {
+                                        transactions++;
+                                        List<Integer> groupIds = new ArrayList<>(group.size());
+                                        for (Pending held : group) {
+                                                groupIds.add(held.studentId);
+                                        }
+                                        studentService.deleteStudents(groupIds);
+                                },
+                                held -> {
+                                        transactions++;
+                                        studentService.deleteStudent(held.studentId);
+                                },
+                                (held, error) -> held.error = error.getMessage());
+                }
+                for (Pending held : pending) {
+                        report(held, "delete", "deleted student ID " + held.studentId);
+                }
+        }
+
+        private void addBranches(long line, String[] args) throws StudentException {
+                if (args.length == 0) {
+                        fail(line, "add-branch", "Usage: add-branch,<name>[,<name>...]");
+                }
+                for (String name : args) {
+                        name = name.trim();
+                        if (!Validator.isValidString(name) || branchService.isBranchExistsByName(name)) {
+                                fail(line, "add-branch", "Branch '" + name + "' is blank or already present.");
+                        } else {
+                                transactions++;
+                                branchService.addBranch(name);
+                                succeed(line, "add-branch", "added branch " + name);
+                        }
+                }
+        }
+
+        private void addEvents(long line, String[] args) throws StudentException {
+                if (args.length == 0) {
+                        fail(line, "add-event", "Usage: add-event,<name>[,<name>...]");
+                }
+                for (String name : args) {
+                        name = name.trim();
+                        if (!Validator.isValidString(name) || eventService.isEventExistsByName(name)) {
+                                fail(line, "add-event", "Event '" + name + "' is blank or already present.");
+                        } else {
+                                transactions++;
+                                eventService.addEvent(name);
+                                succeed(line, "add-event", "added event " + name);
+                        }
+                }
+        }
+
+        private void getStudent(long line, String[] args) throws StudentException {
+                if (args.length != 1 || !Validator.isValidInteger(args[0].trim())) {
+                        fail(line, "get", "Usage: get,<student id>");
+                        return;
+                }
+                int studentId = Integer.parseInt(args[0].trim());
+                Student student = studentService.getStudentById(studentId);
+                if (student == null) {
+                        fail(line, "get", "Student not found with ID: " + studentId);
+                        return;
+                }
+                List<String> events = new ArrayList<>();
+                for (Event event : student.getEvents()) {
+                        events.add(event.getEventName());
+                }
+                succeed(line, "get", student + ", branch=" + student.getBranch().getBranchName() + ", events=" + events);
+        }
+
+        private void searchStudents(long line, String[] args) throws StudentException {
+                if (args.length == 0 || !Validator.isValidString(args[0])) {
+                        fail(line, "search", "Usage: search,<words>[,<limit>]");
+                        return;
+                }
+                int limit = args.length > 1 && Validator.isValidInteger(args[1].trim()) ? Integer.parseInt(args[1].trim()) : 10;
+                succeed(line, "search", "student IDs " + studentService.searchStudents(args[0], limit));
+        }
+
+        private void importStudents(long line, String[] args) throws StudentException {
+                if (args.length != 1) {
+                        fail(line, "import", "Usage: import,<csv file>");
+                        return;
+                }
+                ImportResult result = new StudentImporter().importCsv(Paths.get(args[0].trim()),
+                        error -> out.println("line " + line + ": import: rejected line " + error.getLine() + ": " + error.getMessage()));
+                transactions += result.getChunks();
+                String message = "imported " + result.getRowsImported() + " of " + result.getRowsRead() + " students";
+                if (result.getRowsRejected() > 0) {
+                        fail(line, "import", message + ", " + result.getRowsRejected() + " rejected");
+                } else {
+                        succeed(line, "import", message);
+                }
+        }
+
+        private void exportStudents(long line, String[] args) throws StudentException {
+                if (args.length != 1) {
+                        fail(line, "export", "Usage: export,<.csv or .jsonl file>");
+                        return;
+                }
+                String file = args[0].trim();
+                String lower = file.toLowerCase(Locale.ROOT);
+                StudentExporter.Format format = lower.endsWith(".jsonl") || lower.endsWith(".json")
+                        ? StudentExporter.Format.JSON_LINES : StudentExporter.Format.CSV;
+                ExportResult result = new StudentExporter().export(Paths.get(file), format);
+                succeed(line, "export", "exported " + result.getRows() + " students to " + file);
+        }
+
+        /**
+         * Retrieves the event names or IDs of a register command, from its optional ninth field.
+         */
+        private static List<String> eventTokens(String[] args) {
+                return args.length > 8 ? BatchWriter.splitEvents(args[8]) : List.of();
+        }
+
+        private static Student toStudent(Pending held) {
+                String[] args = held.args;
+                return BatchWriter.newStudent(args[0], args[1], args[5], args[4], args[6], held.dob, Integer.parseInt(args[3]),
+                        held.branch, held.events);
+        }
+
+        private void report(Pending held, String command, String message) {
+                if (held.error == null) {
+                        succeed(held.line, command, message);
+                } else {
+                        fail(held.line, command, held.error);
+                }
+        }
+
+        private void succeed(long line, String command, String message) {
+                out.println("line " + line + ": " + command + ": " + message);
+                record(command, true);
+        }
+
+        private void fail(long line, String command, String message) {
+                out.println("line " + line + ": " + command + ": ERROR " + message);
+                record(command, false);
+        }
+
+        private void record(String command, boolean succeeded) {
+                results.computeIfAbsent(command, key -> new int[2])[succeeded ? 0 : 1]++;
+        }
+
+        private boolean printSummary(long elapsedNanos) {
+                int succeeded = 0;
+                int failed = 0;
+                out.println("\n---- Batch Summary ----");
+                for (Map.Entry<String, int[]> entry : results.entrySet()) {
+                        int[] counts = entry.getValue();
+                        succeeded += counts[0];
+                        failed += counts[1];
+                        out.println(entry.getKey() + ": " + counts[0] + " succeeded, " + counts[1] + " failed");
+                }
+                long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+                out.println("Total: " + (succeeded + failed) + " results, " + succeeded + " succeeded, " + failed + " failed");
+                out.println("Write transactions: " + transactions);
+                out.println("Elapsed: " + millis + " ms (" + Math.round((succeeded + failed) * 1e9 / Math.max(elapsedNanos, 1))
+                        + " results/s)");
+                out.flush();
+                return failed == 0;
+        }
+}
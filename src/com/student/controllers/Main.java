@@ -1,15 +1,52 @@
 package com.student.controllers;
 
 import com.student.controllers.*;
+import com.student.util.SessionFactoryProvider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Main class to start the Student Registration application.
+ *
+ * With "--batch &lt;file&gt;" (or "--batch -" for standard input) the commands in the file are
+ * run by BatchCommandRunner instead of the interactive menu, and the exit status is 1 if any
+ * command failed.
  */
 public class Main
 {
         public static void main(String[] args)
         {
+                // Build the SessionFactory in the background while the menu is shown.
+                SessionFactoryProvider.startAsync();
+                if (args.length > 0 && args[0].equals("--batch")) {
+                        System.exit(runBatch(args.length > 1 ? args[1] : "-") ? 0 : 1);
+                }
                 StudentController controller = new StudentController();
                 controller.start();
         }
+
+        private static boolean runBatch(String source)
+        {
+                PrintWriter out = new PrintWriter(new BufferedWriter(
+                        new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 64 * 1024));
+                try {
+                        Reader input = source.equals("-")
+                                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+                        return new BatchCommandRunner(out).run(input);
+                } catch (IOException se) {
+                        System.err.println("Error opening batch file " + source + ": " + se.getMessage());
+                        return false;
+                } finally {
+                        out.flush();
+                        SessionFactoryProvider.shutdown();
+                }
+        }
 }
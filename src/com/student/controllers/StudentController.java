@@ -1,25 +1,56 @@
 package com.student.controllers;
 
 import com.student.exception.StudentException;
+import com.student.models.AgeCount;
 import com.student.models.Branch;
+import com.student.models.BranchCount;
+import com.student.models.BranchEventCount;
+import com.student.models.BranchRef;
 import com.student.models.Event;
+import com.student.models.EventCount;
+import com.student.models.EventRef;
+import com.student.models.ExportResult;
+import com.student.models.ImportResult;
 import com.student.models.Student;
+import com.student.models.StudentPatch;
 import com.student.services.BranchService;
 import com.student.services.EventService;
+import com.student.services.ReferenceResolver;
+import com.student.services.ReportService;
+import com.student.services.StudentExporter;
+import com.student.services.StudentImporter;
 import com.student.services.StudentService;
 import com.student.util.Validator;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
 
 public class StudentController
 {
+        /** Number of student records loaded per page when listing students. */
+        private static final int PAGE_SIZE = 100;
+
+        /** Number of rejected rows printed when an import has no error report file. */
+        private static final int MAX_PRINTED_ERRORS = 20;
+
         private StudentService studentService = new StudentService();
         private BranchService branchService = new BranchService();
         private EventService eventService = new EventService();
+        private ReferenceResolver referenceResolver = new ReferenceResolver();
+        private ReportService reportService = new ReportService(true);
+        private StudentImporter studentImporter = new StudentImporter();
+        private StudentExporter studentExporter = new StudentExporter();
         private Scanner scanner = new Scanner(System.in);
         
         /**
@@ -69,6 +100,15 @@ public class StudentController
                                         deleteEvent();
                                         break;
                                 case 13:
+                                        viewReports();
+                                        break;
+                                case 14:
+                                        importStudents();
+                                        break;
+                                case 15:
+                                        exportStudents();
+                                        break;
+                                case 16:
                                         System.out.println("Exiting registration. Thank you.");
                                         scanner.close();
                                         System.exit(0);
@@ -98,7 +138,10 @@ public class StudentController
                 System.out.println("10. View Events of Student");
                 System.out.println("11. Update Events");
                 System.out.println("12. Delete Events");
-                System.out.println("13. Exit Registration");
+                System.out.println("13. View Reports");
+                System.out.println("14. Import Students from CSV");
+                System.out.println("15. Export Students");
+                System.out.println("16. Exit Registration");
         }
         
         /**
@@ -289,42 +332,24 @@ public class StudentController
                         String address = getString();
                         
                         // Retrieve available branches.
-                        List<Branch> branches = branchService.getAllBranches();
+                        List<BranchRef> branches = branchService.getBranchRefs();
                         System.out.println("\n---- Available Branches ----");
-                        for (Branch branch : branches) {
+                        for (BranchRef branch : branches) {
                                 System.out.println("ID: " + branch.getBranchId() + ", Name: " + branch.getBranchName());
                         }
                         
-                        Branch selectedBranch = null;
+                        BranchRef selectedBranch = null;
                         while (true) {
                                 System.out.print("Please select a branch (enter branch id or branch name): ");
                                 String branchInput = getInput("").trim();
                                 if (!branchInput.isEmpty()) {
-                                        if (Validator.isValidInteger(branchInput)) {
-                                                int branchId = Integer.parseInt(branchInput);
-                                                for (Branch branch : branches) {
-                                                        if (branch.getBranchId() == branchId) {
-                                                                selectedBranch = branch;
-                                                                break;
-                                                        }
-                                                }
-                                                if (selectedBranch != null) {
-                                                        break;
-                                                } else {
-                                                        System.out.println("No branch found with ID: " + branchId);
-                                                }
+                                        selectedBranch = referenceResolver.resolveBranch(branchInput);
+                                        if (selectedBranch != null) {
+                                                break;
+                                        } else if (Validator.isValidInteger(branchInput)) {
+                                                System.out.println("No branch found with ID: " + Integer.parseInt(branchInput));
                                         } else {
-                                                for (Branch branch : branches) {
-                                                        if (branch.getBranchName().equalsIgnoreCase(branchInput)) {
-                                                                selectedBranch = branch;
-                                                                break;
-                                                        }
-                                                }
-                                                if (selectedBranch != null) {
-                                                        break;
-                                                } else {
-                                                        System.out.println("Branch '" + branchInput + "' does not exist.");
-                                                }
+                                                System.out.println("Branch '" + branchInput + "' does not exist.");
                                         }
                                 } else {
                                         System.out.println("Branch selection is mandatory. Please select a branch.");
@@ -332,10 +357,10 @@ public class StudentController
                         }
                         
                         // Retrieve available events.
-                        List<Event> allevents = eventService.getAllEvents();
-                        List<Event> selectedEvents = new ArrayList<>();
+                        List<EventRef> allevents = eventService.getEventRefs();
+                        List<EventRef> selectedEvents = new ArrayList<>();
                         System.out.println("\n---- Available Events ----");
-                        for (Event event : allevents) {
+                        for (EventRef event : allevents) {
                                 System.out.println("ID: " + event.getEventId() + ", Name: " + event.getEventName());
                         }
                         
@@ -349,33 +374,18 @@ public class StudentController
                         } while (eventInput.isEmpty());
                         
                         if (!"none".equalsIgnoreCase(eventInput)) {
-                                String[] events = eventInput.split(",");
+                                List<String> events = Arrays.asList(eventInput.split(","));
+                                Map<String, EventRef> resolved = referenceResolver.resolveEvents(events);
                                 for (String event : events) {
                                         event = event.trim();
-                                        Event selectedEvent = null;
-                                        if (Validator.isValidInteger(event)) {
-                                                int eventId = Integer.parseInt(event);
-                                                for (Event selectEvent : allevents) {
-                                                        if (selectEvent.getEventId() == eventId) {
-                                                                selectedEvent = selectEvent;
-                                                                break;
-                                                        }
-                                                }
-                                                if (selectedEvent == null) {
-                                                        System.out.println("No event found with ID: " + eventId);
-                                                        continue;
-                                                }
-                                        } else {
-                                                for (Event selectEvent : allevents) {
-                                                        if (selectEvent.getEventName().equalsIgnoreCase(event)) {
-                                                                selectedEvent = selectEvent;
-                                                                break;
-                                                        }
-                                                }
-                                                if (selectedEvent == null) {
+                                        EventRef selectedEvent = resolved.get(event);
+                                        if (selectedEvent == null) {
+                                                if (Validator.isValidInteger(event)) {
+                                                        System.out.println("No event found with ID: " + Integer.parseInt(event));
+                                                } else {
                                                         System.out.println("Event '" + event + "' does not exist.");
-                                                        continue;
                                                 }
+                                                continue;
                                         }
                                         selectedEvents.add(selectedEvent);
                                         System.out.println("Event with ID " + selectedEvent.getEventId() + " selected.");
@@ -385,8 +395,12 @@ public class StudentController
                         }
                         
                         Student student = new Student(firstName, lastName, phone, email, address, dob, age);
-                        student.setBranch(selectedBranch);
-                        student.setEvents(new HashSet<>(selectedEvents));
+                        student.setBranch(new Branch(selectedBranch.getBranchId(), selectedBranch.getBranchName()));
+                        Set<Event> events = new HashSet<>();
+                        for (EventRef selectedEvent : selectedEvents) {
+                                events.add(new Event(selectedEvent.getEventId(), selectedEvent.getEventName()));
+                        }
+                        student.setEvents(events);
                         
                         int studentId = studentService.registerStudent(student);
                         System.out.println("Student registered successfully with ID: " + studentId);
@@ -403,29 +417,17 @@ public class StudentController
          */
         private void viewStudentRecords() {
                 try {
-                        List<Student> students = studentService.getAllStudents();
-                        if (students.isEmpty()) {
+                        List<Student> page = studentService.getStudentDetailsAfter(0, PAGE_SIZE);
+                        if (page.isEmpty()) {
                                 System.out.println("Student records are empty. Please complete registration of students.");
                         } else {
                                 System.out.println("\n---- Student Records ----");
-                                for (Student student : students) {
-                                        System.out.println(student);
-                                        if (student.getBranch() != null) {
-                                                System.out.println("  Branch: " + student.getBranch().getBranchName() +
-                                                                                        " (ID: " + student.getBranch().getBranchId() + ")");
-                                        } else {
-                                                System.out.println("  Branch: Not assigned");
+                                while (!page.isEmpty()) {
+                                        for (Student student : page) {
+                                                printStudentRecord(student);
                                         }
-                                        if (student.getEvents() != null && !student.getEvents().isEmpty()) {
-                                                System.out.println("  Events:");
-                                                for (Event event : student.getEvents()) {
-                                                        System.out.println("     - " + event.getEventName() +
-                                                                                                " (ID: " + event.getEventId() + ")");
-                                                }
-                                        } else {
-                                                System.out.println("  Events: None assigned");
-                                        }
-                                        System.out.println("---------------------------------------------------");
+                                        int lastId = page.get(page.size() - 1).getId();
+                                        page = studentService.getStudentDetailsAfter(lastId, PAGE_SIZE);
                                 }
                         }
                 } catch (StudentException se) {
@@ -433,6 +435,31 @@ public class StudentController
                 }
         }
         
+        /**
+         * Prints a single student record along with its branch and events.
+         *
+         * @param student the student to print.
+         */
+        private void printStudentRecord(Student student) {
+                System.out.println(student);
+                if (student.getBranch() != null) {
+                        System.out.println("  Branch: " + student.getBranch().getBranchName() +
+                                                                " (ID: " + student.getBranch().getBranchId() + ")");
+                } else {
+                        System.out.println("  Branch: Not assigned");
+                }
+                if (student.getEvents() != null && !student.getEvents().isEmpty()) {
+                        System.out.println("  Events:");
+                        for (Event event : student.getEvents()) {
+                                System.out.println("     - " + event.getEventName() +
+                                                                        " (ID: " + event.getEventId() + ")");
+                        }
+                } else {
+                        System.out.println("  Events: None assigned");
+                }
+                System.out.println("---------------------------------------------------");
+        }
+        
         /**
          * Prompts the user to update a student's details.
          * 
@@ -442,36 +469,37 @@ public class StudentController
                 try {
                         System.out.print("Enter student ID to update: ");
                         int studentId = getInteger();
-                        if (!studentService.isStudentExists(studentId)) {
+                        Student student = studentService.getStudentById(studentId);
+                        if (student == null) {
                                 System.out.println("No student found with ID: " + studentId);
                                 return;
                         }
-                        Student student = studentService.getStudentById(studentId);
                         System.out.println("Current details: " + student);
+                        StudentPatch patch = new StudentPatch();
                         
                         System.out.print("Enter new first name (or press Enter to keep [" + student.getFirstName() + "]): ");
                         String firstName = getInput("");
                         if (!firstName.isEmpty()) {
-                                student.setFirstName(firstName);
+                                patch.setFirstName(firstName);
                         }
                         
                         System.out.print("Enter new last name (or press Enter to keep [" + student.getLastName() + "]): ");
                         String lastName = getInput("");
                         if (!lastName.isEmpty()) {
-                                student.setLastName(lastName);
+                                patch.setLastName(lastName);
                         }
 
                         System.out.print("Enter new address (or press Enter to keep [" + student.getAddress() + "]): ");
                         String address = getInput("");
                         if (!address.isEmpty()) {
-                                student.setAddress(address);
+                                patch.setAddress(address);
                         }                        
 
                         System.out.print("Enter new phone number (or press Enter to keep [" + student.getPhoneNo() + "]): ");
                         String phoneInput = getInput("");
                         if (!phoneInput.isEmpty()) {
                                 if (Validator.isValidPhone(phoneInput)) {
-                                        student.setPhoneNo(phoneInput);
+                                        patch.setPhoneNo(phoneInput);
                                 } else {
                                         System.out.println("Keeping old phone number.");
                                 }
@@ -482,7 +510,7 @@ public class StudentController
                         if (!dobInput.isEmpty()) {
                                 java.sql.Date newDob = Validator.parseDate(dobInput);
                                 if (newDob != null) {
-                                        student.setDob(newDob);
+                                        patch.setDob(newDob);
                                 } else {
                                         System.out.println("Keeping old date of birth.");
                                 }
@@ -492,14 +520,17 @@ public class StudentController
                         String ageInput = getInput("");
                         if (!ageInput.isEmpty()) {
                                 if (Validator.isValidInteger(ageInput)) {
-                                        student.setAge(Integer.parseInt(ageInput));
+                                        patch.setAge(Integer.parseInt(ageInput));
                                 } else {
                                         System.out.println("Keeping previous age.");
                                 }
                         }
 
-                        studentService.updateStudent(student);
-                        System.out.println("Student updated successfully.");
+                        if (studentService.patchStudent(studentId, patch)) {
+                                System.out.println("Student updated successfully.");
+                        } else {
+                                System.out.println("No changes made.");
+                        }
                 } catch (StudentException se) {
                         System.out.println("Error updating student: " + se.getMessage());
                 }
@@ -542,45 +573,30 @@ public class StudentController
                         }
                         System.out.print("Enter student ID to view branch: ");
                         int studentId = getInteger();
-                        if (!studentService.isStudentExists(studentId)) {
+                        Student student = studentService.getStudentById(studentId);
+                        if (student == null) {
                                 System.out.println("No student registered with ID: " + studentId + ". Please register the student first.");
                                 return;
                         }
-                        Student student = studentService.getStudentById(studentId);
                         if (student.getBranch() == null) {
                                 System.out.println("No branch assigned for student with ID: " + studentId);
                                 String assignBranch = getInput("Would you like to assign a branch now? (Y/N): ");
                                 if ("Y".equalsIgnoreCase(assignBranch)) {
-                                        List<Branch> branches = branchService.getAllBranches();
+                                        List<BranchRef> branches = branchService.getBranchRefs();
                                         System.out.println("\n---- Available Branches ----");
-                                        for (Branch b : branches) {
+                                        for (BranchRef b : branches) {
                                                 System.out.println("ID: " + b.getBranchId() + ", Name: " + b.getBranchName());
                                         }
                                         System.out.print("Select a branch (enter branch id or branch name): ");
                                         String selectedBranch = getInput("").trim();
-                                        Branch branch = null;
-                                        if (Validator.isValidInteger(selectedBranch)) {
-                                                int branchId = Integer.parseInt(selectedBranch);
-                                                for (Branch b : branches) {
-                                                        if (b.getBranchId() == branchId) {
-                                                                branch = b;
-                                                                break;
-                                                        }
-                                                }
-                                        } else {
-                                                for (Branch b : branches) {
-                                                        if (b.getBranchName().equalsIgnoreCase(selectedBranch)) {
-                                                                branch = b;
-                                                                break;
-                                                        }
-                                                }
-                                        }
+                                        BranchRef branch = referenceResolver.resolveBranch(selectedBranch);
                                         if (branch == null) {
                                                 System.out.println("No valid branch selected.");
                                                 return;
                                         }
-                                        student.setBranch(branch);
-                                        studentService.updateStudent(student);
+                                        StudentPatch patch = new StudentPatch();
+                                        patch.setBranchId(branch.getBranchId());
+                                        studentService.patchStudent(studentId, patch);
                                         System.out.println("Branch assigned successfully.");
                                 }
                         } else {
@@ -597,31 +613,16 @@ public class StudentController
          */
         private void updateBranch() {
                 try {
-                        List<Branch> branches = branchService.getAllBranches();
+                        List<BranchRef> branches = branchService.getBranchRefs();
                         System.out.println("\n---- Available Branches ----");
-                        for (Branch branch : branches) {
+                        for (BranchRef branch : branches) {
                                 System.out.println("ID: " + branch.getBranchId() + ", Name: " + branch.getBranchName());
                         }
                         System.out.print("Enter branch ID or branch name to update: ");
                         String input = getInput("").trim();
-                        Branch branch = null;
+                        BranchRef branch = null;
                         if (!input.isEmpty()) {
-                                if (Validator.isValidInteger(input)) {
-                                        int branchId = Integer.parseInt(input);
-                                        for (Branch b : branches) {
-                                                if (b.getBranchId() == branchId) {
-                                                        branch = b;
-                                                        break;
-                                                }
-                                        }
-                                } else {
-                                        for (Branch b : branches) {
-                                                if (b.getBranchName().equalsIgnoreCase(input)) {
-                                                        branch = b;
-                                                        break;
-                                                }
-                                        }
-                                }
+                                branch = referenceResolver.resolveBranch(input);
                                 if (branch == null) {
                                         System.out.println("No branch found for the given input.");
                                         return;
@@ -634,8 +635,7 @@ public class StudentController
                         System.out.print("Enter new branch name: ");
                         String newName = getInput("");
                         if (!newName.isEmpty()) {
-                                branch.setBranchName(newName);
-                                branchService.updateBranch(branch);
+                                branchService.renameBranch(branch.getBranchId(), newName);
                                 System.out.println("Branch updated successfully.");
                         } else {
                                 System.out.println("No new name entered. Update aborted.");
@@ -650,31 +650,16 @@ public class StudentController
          */
         private void deleteBranch() {
                 try {
-                        List<Branch> branches = branchService.getAllBranches();
+                        List<BranchRef> branches = branchService.getBranchRefs();
                         System.out.println("\n---- Available Branches ----");
-                        for (Branch b : branches) {
+                        for (BranchRef b : branches) {
                                 System.out.println("ID: " + b.getBranchId() + ", Name: " + b.getBranchName());
                         }
                         System.out.print("Enter branch ID or branch name to delete: ");
                         String input = getInput("").trim();
-                        Branch branch = null;
+                        BranchRef branch = null;
                         if (!input.isEmpty()) {
-                                if (Validator.isValidInteger(input)) {
-                                        int branchId = Integer.parseInt(input);
-                                        for (Branch b : branches) {
-                                                if (b.getBranchId() == branchId) {
-                                                        branch = b;
-                                                        break;
-                                                }
-                                        }
-                                } else {
-                                        for (Branch b : branches) {
-                                                if (b.getBranchName().equalsIgnoreCase(input)) {
-                                                        branch = b;
-                                                        break;
-                                                }
-                                        }
-                                }
+                                branch = referenceResolver.resolveBranch(input);
                                 if (branch == null) {
                                         System.out.println("No branch found for the given input.");
                                         return;
@@ -699,11 +684,11 @@ public class StudentController
                 try {
                         System.out.print("Enter student ID to view events: ");
                         int studentId = getInteger();
-                        if (!studentService.isStudentExists(studentId)) {
+                        Student student = studentService.getStudentById(studentId);
+                        if (student == null) {
                                 System.out.println("No student registered with ID: " + studentId + ". Please register the student first.");
                                 return;
                         }
-                        Student student = studentService.getStudentById(studentId);
                         Set<Event> studentEvents = student.getEvents();
                         if (studentEvents == null || studentEvents.isEmpty()) {
                                 System.out.println("No events registered for student with ID: " + studentId);
@@ -716,42 +701,28 @@ public class StudentController
                         
                         String moreEvents = getInput("Would you like to add more events? (Y/N): ");
                         if ("Y".equalsIgnoreCase(moreEvents)) {
-                                List<Event> availableEvents = eventService.getAllEvents();
+                                List<EventRef> availableEvents = eventService.getEventRefs();
                                 System.out.println("\n---- Available Events ----");
-                                for (Event e : availableEvents) {
+                                for (EventRef e : availableEvents) {
                                         System.out.println("ID: " + e.getEventId() + ", Name: " + e.getEventName());
                                 }
                                 System.out.print("Enter event ID or event name to add (for multiple, use comma separated values): ");
                                 String selectedEvents = getInput("").trim();
                                 if (!"none".equalsIgnoreCase(selectedEvents)) {
-                                        String[] parts = selectedEvents.split(",");
+                                        List<String> parts = Arrays.asList(selectedEvents.split(","));
+                                        Map<String, EventRef> resolved = referenceResolver.resolveEvents(parts);
+                                        StudentPatch patch = new StudentPatch();
                                         boolean eventAdded = false;
                                         for (String part : parts) {
                                                 part = part.trim();
-                                                Event selectedEvent = null;
-                                                if (Validator.isValidInteger(part)) {
-                                                        int eventId = Integer.parseInt(part);
-                                                        for (Event event : availableEvents) {
-                                                                if (event.getEventId() == eventId) {
-                                                                        selectedEvent = event;
-                                                                        break;
-                                                                }
-                                                        }
-                                                } else {
-                                                        for (Event event : availableEvents) {
-                                                                if (event.getEventName().equalsIgnoreCase(part)) {
-                                                                        selectedEvent = event;
-                                                                        break;
-                                                                }
-                                                        }
-                                                }
+                                                EventRef selectedEvent = resolved.get(part);
                                                 if (selectedEvent == null) {
                                                         System.out.println("No event found for input: " + part);
                                                         continue;
                                                 }
                                                 // Check if the event is already assigned.
-                                                boolean alreadyAssigned = false;
-                                                if (studentEvents != null) {
+                                                boolean alreadyAssigned = patch.getAddEventIds().contains(selectedEvent.getEventId());
+                                                if (!alreadyAssigned && studentEvents != null) {
                                                         for (Event event : studentEvents) {
                                                                 if (event.getEventId() == selectedEvent.getEventId()) {
                                                                         alreadyAssigned = true;
@@ -763,18 +734,14 @@ public class StudentController
                                                         System.out.println("Event " + selectedEvent.getEventName() +
                                                                                                 " (ID: " + selectedEvent.getEventId() + ") is already assigned.");
                                                 } else {
-                                                        if (studentEvents == null) {
-                                                                studentEvents = new HashSet<>();
-                                                        }
-                                                        studentEvents.add(selectedEvent);
+                                                        patch.addEventId(selectedEvent.getEventId());
                                                         eventAdded = true;
                                                         System.out.println("Event " + selectedEvent.getEventName() +
                                                                                                 " (ID: " + selectedEvent.getEventId() + ") assigned successfully.");
                                                 }
                                         }
                                         if (eventAdded) {
-                                                student.setEvents(studentEvents);
-                                                studentService.updateStudent(student);
+                                                studentService.patchStudent(studentId, patch);
                                         }
                                 } else {
                                         System.out.println("No new events selected.");
@@ -793,31 +760,16 @@ public class StudentController
          */
         private void updateEvent() {
                 try {
-                        List<Event> events = eventService.getAllEvents();
+                        List<EventRef> events = eventService.getEventRefs();
                         System.out.println("\n---- Available Events ----");
-                        for (Event event : events) {
+                        for (EventRef event : events) {
                                 System.out.println("ID: " + event.getEventId() + ", Name: " + event.getEventName());
                         }
                         System.out.print("Enter event ID or event name to update: ");
                         String input = getInput("").trim();
-                        Event eventChoice = null;
+                        EventRef eventChoice = null;
                         if (!input.isEmpty()) {
-                                if (Validator.isValidInteger(input)) {
-                                        int eventId = Integer.parseInt(input);
-                                        for (Event event : events) {
-                                                if (event.getEventId() == eventId) {
-                                                        eventChoice = event;
-                                                        break;
-                                                }
-                                        }
-                                } else {
-                                        for (Event event : events) {
-                                                if (event.getEventName().equalsIgnoreCase(input)) {
-                                                        eventChoice = event;
-                                                        break;
-                                                }
-                                        }
-                                }
+                                eventChoice = referenceResolver.resolveEvent(input);
                                 if (eventChoice == null) {
                                         System.out.println("No event found for the given input.");
                                         return;
@@ -830,8 +782,7 @@ public class StudentController
                         System.out.print("Enter new event name: ");
                         String newName = getInput("");
                         if (!newName.isEmpty()) {
-                                eventChoice.setEventName(newName);
-                                eventService.updateEvent(eventChoice);
+                                eventService.renameEvent(eventChoice.getEventId(), newName);
                                 System.out.println("Event updated successfully.");
                         } else {
                                 System.out.println("No new name entered. Update aborted.");
@@ -846,31 +797,16 @@ public class StudentController
          */
         private void deleteEvent() {
                 try {
-                        List<Event> events = eventService.getAllEvents();
+                        List<EventRef> events = eventService.getEventRefs();
                         System.out.println("\n---- Available Events ----");
-                        for (Event e : events) {
+                        for (EventRef e : events) {
                                 System.out.println("ID: " + e.getEventId() + ", Name: " + e.getEventName());
                         }
                         System.out.print("Enter event ID or event name to delete: ");
                         String input = getInput("").trim();
-                        Event event = null;
+                        EventRef event = null;
                         if (!input.isEmpty()) {
-                                if (Validator.isValidInteger(input)) {
-                                        int eventId = Integer.parseInt(input);
-                                        for (Event e : events) {
-                                                if (e.getEventId() == eventId) {
-                                                        event = e;
-                                                        break;
-                                                }
-                                        }
-                                } else {
-                                        for (Event e : events) {
-                                                if (e.getEventName().equalsIgnoreCase(input)) {
-                                                        event = e;
-                                                        break;
-                                                }
-                                        }
-                                }
+                                event = referenceResolver.resolveEvent(input);
                                 if (event == null) {
                                         System.out.println("No event found for the given input.");
                                         return;
@@ -885,4 +821,88 @@ public class StudentController
                         System.out.println("Error deleting event: " + se.getMessage());
                 }
         }
+        
+        /**
+         * Prints the aggregate reports: students per branch, event participation,
+         * the age distribution and the students of each branch in each event.
+         */
+        private void viewReports() {
+                try {
+                        System.out.println("\n---- Students per Branch ----");
+                        for (BranchCount row : reportService.getStudentsPerBranch()) {
+                                System.out.println(row.getBranchName() + " (ID: " + row.getBranchId() + "): " + row.getStudentCount());
+                        }
+                        System.out.println("\n---- Event Participation ----");
+                        for (EventCount row : reportService.getEventParticipation()) {
+                                System.out.println(row.getEventName() + " (ID: " + row.getEventId() + "): " + row.getStudentCount());
+                        }
+                        System.out.println("\n---- Age Distribution ----");
+                        for (AgeCount row : reportService.getAgeDistribution()) {
+                                System.out.println("Age " + row.getAge() + ": " + row.getStudentCount());
+                        }
+                        System.out.println("\n---- Students per Branch and Event ----");
+                        for (BranchEventCount row : reportService.getBranchEventCrossTab()) {
+                                System.out.println(row.getBranchName() + " / " + row.getEventName() + ": " + row.getStudentCount());
+                        }
+                } catch (StudentException se) {
+                        System.out.println("Error viewing reports: " + se.getMessage());
+                }
+        }
+        
+        /**
+         * Imports students from a CSV file with the columns first_name, last_name, dob, age, email,
+         * phone_no, address, branch and optionally events. Rejected rows are written to an error
+         * report file if one is given, and otherwise the first few are printed.
+         */
+        private void importStudents() {
+                Path file = Paths.get(getInput("Enter the CSV file to import: ").trim());
+                if (!Files.isReadable(file)) {
+                        System.out.println("Cannot read file: " + file);
+                        return;
+                }
+                String report = getInput("Enter a file for the error report (leave blank to print errors here): ").trim();
+                try (PrintWriter errors = report.isEmpty() ? null
+                                : new PrintWriter(Files.newBufferedWriter(Paths.get(report), StandardCharsets.UTF_8))) {
+                        int[] printed = {0};
+                        ImportResult result = studentImporter.importCsv(file, error -> {
+                                if (errors != null) {
+                                        errors.println("Line " + error.getLine() + ": " + error.getMessage());
+                                } else if (printed[0]++ < MAX_PRINTED_ERRORS) {
+                                        System.out.println("Line " + error.getLine() + ": " + error.getMessage());
+                                }
+                        });
+                        System.out.println("Imported " + result.getRowsImported() + " of " + result.getRowsRead()
+                                + " students in " + result.getElapsedMillis() + " ms (" + Math.round(result.getRowsPerSecond())
+                                + " rows/s); " + result.getRowsRejected() + " rejected.");
+                        if (errors == null && printed[0] > MAX_PRINTED_ERRORS) {
+                                System.out.println("... " + (printed[0] - MAX_PRINTED_ERRORS) + " more errors not shown.");
+                        }
+                } catch (IOException se) {
+                        System.out.println("Error writing error report: " + se.getMessage());
+                } catch (StudentException se) {
+                        System.out.println("Error importing students: " + se.getMessage());
+                }
+        }
+        
+        /**
+         * Exports every student with its branch and events to a file. A file name ending in
+         * ".jsonl" or ".json" is written as JSON Lines, any other as CSV.
+         */
+        private void exportStudents() {
+                String name = getInput("Enter the export file (.csv or .jsonl): ").trim();
+                if (name.isEmpty()) {
+                        System.out.println("Export file name is mandatory.");
+                        return;
+                }
+                String lower = name.toLowerCase();
+                StudentExporter.Format format = lower.endsWith(".jsonl") || lower.endsWith(".json")
+                        ? StudentExporter.Format.JSON_LINES : StudentExporter.Format.CSV;
+                try {
+                        ExportResult result = studentExporter.export(Paths.get(name), format);
+                        System.out.println("Exported " + result.getRows() + " students (" + result.getBytes() + " bytes) in "
+                                + result.getElapsedMillis() + " ms (" + Math.round(result.getRowsPerSecond()) + " rows/s).");
+                } catch (StudentException se) {
+                        System.out.println("Error exporting students: " + se.getMessage());
+                }
+        }
 }
@@ -2,9 +2,14 @@ package com.student.dao;
 
 import com.student.exception.StudentException;
 import com.student.models.Branch;
-import com.student.util.SessionFactoryProvider;
+import com.student.models.BranchRef;
+import com.student.util.MetricsRegistry;
+import com.student.util.ReferenceCache;
+import com.student.util.UnitOfWork;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,6 +17,11 @@ import java.util.List;
         */
 public class BranchDao
 {
+        /** Shared caches of branch lookups, one region per value type, cleared on every branch write. */
+        private static final ReferenceCache<String, List<BranchRef>> listCache = new ReferenceCache<>("branch.list", 1);
+        private static final ReferenceCache<String, BranchRef> refCache = new ReferenceCache<>("branch.ref", 1000);
+        private static final ReferenceCache<String, Boolean> existsCache = new ReferenceCache<>("branch.exists", 1000);
+
         /**
                 * Saves a new branch record.
                 *
@@ -20,65 +30,274 @@ public class BranchDao
                 */
         public void saveBranch(Branch branch) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-
-                        tx = session.beginTransaction();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.saveBranch");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
                         session.save(branch);
-                        tx.commit();
+                        work.commit();
+                        timer.done();
                 } catch (Exception se) {
-                        if (tx != null) tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error saving branch: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
 
         /**
-                * Retrieves all branch records.
+                * Retrieves all branch records, ordered by ID. Each call returns new Branch objects
+                * built from the cached references, so callers may modify them freely; their
+                * students collection is not loaded and is null.
                 *
                 * @return a list of Branch objects.
                 * @throws StudentException if an error occurs.
                 */
-        //@SuppressWarnings("unchecked")
         public List<Branch> getAllBranches() throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.createQuery("from Branch").list();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.getAllBranches")) {
+                        List<Branch> branches = new ArrayList<>();
+                        for (BranchRef ref : getBranchRefs()) {
+                                branches.add(toBranch(ref));
+                        }
+                        return timer.done(branches);
+                }
+        }
+        
+        /**
+                * Retrieves the ID and name of every branch, ordered by ID. The rows are read
+                * into immutable BranchRef objects, so no entities are managed or snapshotted.
+                *
+                * @return a list of BranchRef objects.
+                * @throws StudentException if an error occurs.
+                */
+        public List<BranchRef> getBranchRefs() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.getBranchRefs")) {
+                        List<BranchRef> refs = listCache.get("all", () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.BranchRef(x.branchId, x.branchName) "
+                                                        + "from Branch x order by x.branchId", BranchRef.class)
+                                                .list();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving branches: " + se.getMessage());
+                                }
+                        });
+                        return timer.done(new ArrayList<>(refs));
+                }
+        }
+        
+        /**
+                * Retrieves the branches matching any of the given IDs or, ignoring case, any of the
+                * given names with a single IN query. The result is not cached.
+                *
+                * @param ids the branch IDs to look up.
+                * @param names the lower-case branch names to look up.
+                * @return the matching BranchRef objects, ordered by ID.
+                * @throws StudentException if an error occurs.
+                */
+        public List<BranchRef> getBranchRefs(Collection<Integer> ids, Collection<String> names) throws StudentException
+        {
+                if (ids.isEmpty() && names.isEmpty()) {
+                        return new ArrayList<>();
+                }
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.getBranchRefsIn");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        String where = ids.isEmpty() ? "lower(x.branchName) in :names"
+                                : names.isEmpty() ? "x.branchId in :ids"
+                                : "x.branchId in :ids or lower(x.branchName) in :names";
+                        Query<BranchRef> query = session.createQuery("select new com.student.models.BranchRef(x.branchId, x.branchName) "
+                                        + "from Branch x where " + where + " order by x.branchId", BranchRef.class);
+                        if (!ids.isEmpty()) {
+                                query.setParameterList("ids", ids);
+                        }
+                        if (!names.isEmpty()) {
+                                query.setParameterList("names", names);
+                        }
+                        return timer.done(query.list());
                 } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error retrieving branches: " + se.getMessage());
                 }
         }
         
         /**
-                * Retrieves a branch by ID.
+                * Retrieves a branch by ID, as a new Branch object built from the cached reference.
                 *
                 * @param id the branch ID.
-                * @return the Branch object.
+                * @return the Branch object, or null if there is none.
                 * @throws StudentException if an error occurs.
                 */
         public Branch getBranchById(int id) throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.get(Branch.class, id);
-                } catch (Exception se) {
-                        throw new StudentException("Error retrieving branch with ID " + id + ": " + se.getMessage());
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.getBranchById")) {
+                        return timer.done(toBranch(refCache.get("id:" + id, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.BranchRef(x.branchId, x.branchName) "
+                                                        + "from Branch x where x.branchId = :id", BranchRef.class)
+                                                .setParameter("id", id)
+                                                .uniqueResult();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving branch with ID " + id + ": " + se.getMessage());
+                                }
+                        })));
                 }
         }
         
         /**
-                * Retrieves a branch by name.
+                * Retrieves a branch by name, as a new Branch object built from the cached reference.
                 *
                 * @param branchName the branch name.
-                * @return the Branch object.
+                * @return the Branch object, or null if there is none.
                 * @throws StudentException if an error occurs.
                 */
         public Branch getBranchByName(String branchName) throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return (Branch) session.createQuery("from Branch where branchName = :name")
-                                .setParameter("name", branchName)
-                                .uniqueResult();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.getBranchByName")) {
+                        return timer.done(toBranch(refCache.get("name:" + branchName, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.BranchRef(x.branchId, x.branchName) "
+                                                        + "from Branch x where x.branchName = :name", BranchRef.class)
+                                                .setParameter("name", branchName)
+                                                .uniqueResult();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving branch with name " + branchName + ": " + se.getMessage());
+                                }
+                        })));
+                }
+        }
+        
+        /**
+                * Builds a detached Branch from a cached reference. The cache holds only immutable
+                * references, so no two callers ever share a Branch instance.
+                */
+        private static Branch toBranch(BranchRef ref)
+        {
+                return ref == null ? null : new Branch(ref.getBranchId(), ref.getBranchName());
+        }
+        
+        /**
+                * Checks whether at least one branch record exists, reading a single constant
+                * column of at most one row.
+                *
+                * @return true if any branch exists; false otherwise.
+                * @throws StudentException if an error occurs.
+                */
+        public boolean hasBranches() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.hasBranches")) {
+                        return timer.done(existsCache.get("any", () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select 1 from Branch")
+                                                .setMaxResults(1)
+                                                .uniqueResult() != null;
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error checking for branch records: " + se.getMessage());
+                                }
+                        }));
+                }
+        }
+        
+        /**
+                * Counts the branch records. The count is not cached here; see RowCounter.
+                *
+                * @return the number of branches.
+                * @throws StudentException if an error occurs.
+                */
+        public long countBranches() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.countBranches");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        Long count = session.createQuery("select count(x) from Branch x", Long.class).uniqueResult();
+                        timer.done();
+                        return count;
                 } catch (Exception se) {
-                        throw new StudentException("Error retrieving branch with name " + branchName + ": " + se.getMessage());
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error counting branch records: " + se.getMessage());
+                }
+        }
+        
+        /**
+                * Checks whether a branch with the given name exists without loading it.
+                *
+                * @param branchName the branch name.
+                * @return true if the branch exists; false otherwise.
+                * @throws StudentException if an error occurs.
+                */
+        public boolean isBranchNameExists(String branchName) throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.isBranchNameExists")) {
+                        return timer.done(existsCache.get("name:" + branchName, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select 1 from Branch where branchName = :name")
+                                                .setParameter("name", branchName)
+                                                .setMaxResults(1)
+                                                .uniqueResult() != null;
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error checking branch with name " + branchName + ": " + se.getMessage());
+                                }
+                        }));
+                }
+        }
+        
+        /**
+                * Returns the cache region holding the list of every branch. Its generation changes
+                * whenever the branch caches are cleared.
+                *
+                * @return the branch list cache region.
+                */
+        public static ReferenceCache<String, List<BranchRef>> getCache()
+        {
+                return listCache;
+        }
+
+        /**
+                * Clears every branch cache region, e.g. after a branch was written by another process.
+                */
+        public static void invalidateCache()
+        {
+                listCache.invalidateAll();
+                refCache.invalidateAll();
+                existsCache.invalidateAll();
+        }
+        
+        /**
+                * Renames a branch with a single UPDATE statement, without loading the entity.
+                *
+                * @param branchId the branch ID.
+                * @param newName the new branch name.
+                * @throws StudentException if the branch does not exist or an error occurs.
+                */
+        public void renameBranch(int branchId, String newName) throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.renameBranch");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        int updated = session.createQuery("update Branch x set x.branchName = :name where x.branchId = :id")
+                                .setParameter("name", newName)
+                                .setParameter("id", branchId)
+                                .executeUpdate();
+                        if (updated == 0) {
+                                throw new StudentException("No branch found with ID: " + branchId);
+                        }
+                        work.commit();
+                        timer.done();
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error renaming branch: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
         
@@ -90,34 +309,73 @@ public class BranchDao
                 */
         public void updateBranch(Branch branch) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
-                        session.update(branch);
-                        tx.commit();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.updateBranch");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        if (!session.contains(branch)) {
+                                session.update(branch);
+                        }
+                        work.commit();
+                        timer.done();
                 } catch (Exception se) {
-                        if (tx != null) tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error updating branch: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
         
         /**
-                * Deletes a branch record.
+                * Deletes a branch record together with its students. The students' event links,
+                * the students and the branch are removed with three set-based DML statements
+                * in one transaction, instead of loading and deleting each student in turn.
+                * The bulk delete of the students clears their student_event rows first.
                 *
                 * @param branchId the Branch ID used to delete.
+                * @return the number of branch and student rows deleted.
                 * @throws StudentException if an error occurs.
                 */
-        public int  deleteBranch(int branchId) throws StudentException
+        public DeleteCounts deleteBranch(int branchId) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
-                        session.delete(branchId);
-                        tx.commit();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("BranchDao.deleteBranch");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        int students = session.createQuery("delete from Student s where s.branch.branchId = :id")
+                                .setParameter("id", branchId)
+                                .executeUpdate();
+                        int branches = session.createQuery("delete from Branch b where b.branchId = :id")
+                                .setParameter("id", branchId)
+                                .executeUpdate();
+                        work.commit();
+                        timer.count(branches + students);
+                        return new DeleteCounts(branches, students);
                 } catch (Exception se) {
-                        if (tx != null) tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error deleting branch: " + se.getMessage());
+                } finally {
+                        invalidateCache();
+                }
+        }
+
+        /**
+         * Number of rows removed by deleteBranch.
+         */
+        public static class DeleteCounts
+        {
+                private final int branches;
+                private final int students;
+
+                public DeleteCounts(int branches, int students) {
+                        this.branches = branches;
+                        this.students = students;
+                }
+
+                public int getBranches() {
+                        return branches;
+                }
+
+                public int getStudents() {
+                        return students;
                 }
-            return 0;
         }
 }
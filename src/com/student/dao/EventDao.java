@@ -2,9 +2,14 @@ package com.student.dao;
 
 import com.student.exception.StudentException;
 import com.student.models.Event;
-import com.student.util.SessionFactoryProvider;
+import com.student.models.EventRef;
+import com.student.util.MetricsRegistry;
+import com.student.util.ReferenceCache;
+import com.student.util.UnitOfWork;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,6 +17,11 @@ import java.util.List;
  */
 public class EventDao
 {
+        /** Shared caches of event lookups, one region per value type, cleared on every event write. */
+        private static final ReferenceCache<String, List<EventRef>> listCache = new ReferenceCache<>("event.list", 1);
+        private static final ReferenceCache<String, EventRef> refCache = new ReferenceCache<>("event.ref", 1000);
+        private static final ReferenceCache<String, Boolean> existsCache = new ReferenceCache<>("event.exists", 1000);
+
         /**
                 * Saves a new event record.
                 *
@@ -20,64 +30,274 @@ public class EventDao
                 */
         public void saveEvent(Event event) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.saveEvent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
                         session.save(event);
-                        tx.commit();
+                        work.commit();
+                        timer.done();
                 } catch (Exception se) {
-                        if (tx != null) tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error saving event: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
 
         /**
-                * Retrieves all event records.
+                * Retrieves all event records, ordered by ID. Each call returns new Event objects
+                * built from the cached references, so callers may modify them freely; their
+                * students collection is not loaded and is null.
                 *
                 * @return a list of Event objects.
                 * @throws StudentException if an error occurs.
                 */
-        //@SuppressWarnings("unchecked")
         public List<Event> getAllEvents() throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.createQuery("from Event").list();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.getAllEvents")) {
+                        List<Event> events = new ArrayList<>();
+                        for (EventRef ref : getEventRefs()) {
+                                events.add(toEvent(ref));
+                        }
+                        return timer.done(events);
+                }
+        }
+        
+        /**
+                * Retrieves the ID and name of every event, ordered by ID. The rows are read
+                * into immutable EventRef objects, so no entities are managed or snapshotted.
+                *
+                * @return a list of EventRef objects.
+                * @throws StudentException if an error occurs.
+                */
+        public List<EventRef> getEventRefs() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.getEventRefs")) {
+                        List<EventRef> refs = listCache.get("all", () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.EventRef(x.eventId, x.eventName) "
+                                                        + "from Event x order by x.eventId", EventRef.class)
+                                                .list();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving events: " + se.getMessage());
+                                }
+                        });
+                        return timer.done(new ArrayList<>(refs));
+                }
+        }
+        
+        /**
+                * Retrieves the events matching any of the given IDs or, ignoring case, any of the
+                * given names with a single IN query. The result is not cached.
+                *
+                * @param ids the event IDs to look up.
+                * @param names the lower-case event names to look up.
+                * @return the matching EventRef objects, ordered by ID.
+                * @throws StudentException if an error occurs.
+                */
+        public List<EventRef> getEventRefs(Collection<Integer> ids, Collection<String> names) throws StudentException
+        {
+                if (ids.isEmpty() && names.isEmpty()) {
+                        return new ArrayList<>();
+                }
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.getEventRefsIn");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        String where = ids.isEmpty() ? "lower(x.eventName) in :names"
+                                : names.isEmpty() ? "x.eventId in :ids"
+                                : "x.eventId in :ids or lower(x.eventName) in :names";
+                        Query<EventRef> query = session.createQuery("select new com.student.models.EventRef(x.eventId, x.eventName) "
+                                        + "from Event x where " + where + " order by x.eventId", EventRef.class);
+                        if (!ids.isEmpty()) {
+                                query.setParameterList("ids", ids);
+                        }
+                        if (!names.isEmpty()) {
+                                query.setParameterList("names", names);
+                        }
+                        return timer.done(query.list());
                 } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error retrieving events: " + se.getMessage());
                 }
         }
         
         /**
-                * Retrieves an event by ID.
+                * Retrieves an event by ID, as a new Event object built from the cached reference.
                 *
                 * @param id the event ID.
-                * @return the Event object.
+                * @return the Event object, or null if there is none.
                 * @throws StudentException if an error occurs.
                 */
         public Event getEventById(int id) throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.get(Event.class, id);
-                } catch (Exception se) {
-                        throw new StudentException("Error retrieving event with ID: " + id + ": " + se.getMessage());
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.getEventById")) {
+                        return timer.done(toEvent(refCache.get("id:" + id, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.EventRef(x.eventId, x.eventName) "
+                                                        + "from Event x where x.eventId = :id", EventRef.class)
+                                                .setParameter("id", id)
+                                                .uniqueResult();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving event with ID: " + id + ": " + se.getMessage());
+                                }
+                        })));
                 }
         }
         
         /**
-                * Retrieves an event by name.
+                * Retrieves an event by name, as a new Event object built from the cached reference.
                 *
                 * @param eventName the event name.
-                * @return the Event object.
+                * @return the Event object, or null if there is none.
                 * @throws StudentException if an error occurs.
                 */
         public Event getEventByName(String eventName) throws StudentException
         {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return (Event) session.createQuery("from Event where eventName = :name")
-                                .setParameter("name", eventName)
-                                .uniqueResult();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.getEventByName")) {
+                        return timer.done(toEvent(refCache.get("name:" + eventName, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select new com.student.models.EventRef(x.eventId, x.eventName) "
+                                                        + "from Event x where x.eventName = :name", EventRef.class)
+                                                .setParameter("name", eventName)
+                                                .uniqueResult();
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error retrieving event with name " + eventName + ": " + se.getMessage());
+                                }
+                        })));
+                }
+        }
+        
+        /**
+                * Builds a detached Event from a cached reference. The cache holds only immutable
+                * references, so no two callers ever share an Event instance.
+                */
+        private static Event toEvent(EventRef ref)
+        {
+                return ref == null ? null : new Event(ref.getEventId(), ref.getEventName());
+        }
+        
+        /**
+                * Checks whether at least one event record exists, reading a single constant
+                * column of at most one row.
+                *
+                * @return true if any event exists; false otherwise.
+                * @throws StudentException if an error occurs.
+                */
+        public boolean hasEvents() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.hasEvents")) {
+                        return timer.done(existsCache.get("any", () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select 1 from Event")
+                                                .setMaxResults(1)
+                                                .uniqueResult() != null;
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error checking for event records: " + se.getMessage());
+                                }
+                        }));
+                }
+        }
+        
+        /**
+                * Counts the event records. The count is not cached here; see RowCounter.
+                *
+                * @return the number of events.
+                * @throws StudentException if an error occurs.
+                */
+        public long countEvents() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.countEvents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        Long count = session.createQuery("select count(x) from Event x", Long.class).uniqueResult();
+                        timer.done();
+                        return count;
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error counting event records: " + se.getMessage());
+                }
+        }
+        
+        /**
+                * Checks whether a event with the given name exists without loading it.
+                *
+                * @param eventName the event name.
+                * @return true if the event exists; false otherwise.
+                * @throws StudentException if an error occurs.
+                */
+        public boolean isEventNameExists(String eventName) throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.isEventNameExists")) {
+                        return timer.done(existsCache.get("name:" + eventName, () -> {
+                                try (UnitOfWork work = UnitOfWork.begin()) {
+                                        Session session = work.getSession();
+                                        return session.createQuery("select 1 from Event where eventName = :name")
+                                                .setParameter("name", eventName)
+                                                .setMaxResults(1)
+                                                .uniqueResult() != null;
+                                } catch (Exception se) {
+                                        UnitOfWork.markRollbackOnly();
+                                        throw new StudentException("Error checking event with name " + eventName + ": " + se.getMessage());
+                                }
+                        }));
+                }
+        }
+        
+        /**
+                * Returns the cache region holding the list of every event. Its generation changes
+                * whenever the event caches are cleared.
+                *
+                * @return the event list cache region.
+                */
+        public static ReferenceCache<String, List<EventRef>> getCache()
+        {
+                return listCache;
+        }
+
+        /**
+                * Clears every event cache region, e.g. after an event was written by another process.
+                */
+        public static void invalidateCache()
+        {
+                listCache.invalidateAll();
+                refCache.invalidateAll();
+                existsCache.invalidateAll();
+        }
+        
+        /**
+                * Renames an event with a single UPDATE statement, without loading the entity.
+                *
+                * @param eventId the event ID.
+                * @param newName the new event name.
+                * @throws StudentException if the event does not exist or an error occurs.
+                */
+        public void renameEvent(int eventId, String newName) throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.renameEvent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        int updated = session.createQuery("update Event x set x.eventName = :name where x.eventId = :id")
+                                .setParameter("name", newName)
+                                .setParameter("id", eventId)
+                                .executeUpdate();
+                        if (updated == 0) {
+                                throw new StudentException("No event found with ID: " + eventId);
+                        }
+                        work.commit();
+                        timer.done();
                 } catch (Exception se) {
-                        throw new StudentException("Error retrieving event with name " + eventName + ": " + se.getMessage());
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error renaming event: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
         
@@ -89,35 +309,46 @@ public class EventDao
                 */
         public void updateEvent(Event event) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
-                        session.update(event);
-                        tx.commit();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.updateEvent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        if (!session.contains(event)) {
+                                session.update(event);
+                        }
+                        work.commit();
+                        timer.done();
                 } catch (Exception se) {
-                        if (tx != null)
-			tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error updating event: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
         
         /**
-                * Deletes an event record.
+                * Deletes an event record. Its student_event links and the event row are
+                * removed with two set-based DML statements in one transaction; the bulk
+                * delete of the event clears the links first.
                 *
-                * @param event the Event object to delete.
+                * @param eventId the ID of the event to delete.
+                * @return the number of event rows deleted.
                 * @throws StudentException if an error occurs.
                 */
-        public void deleteEvent(int eventId) throws StudentException
+        public int deleteEvent(int eventId) throws StudentException
         {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
-                        session.delete(eventId);
-                        tx.commit();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("EventDao.deleteEvent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        int deleted = session.createQuery("delete from Event e where e.eventId = :id")
+                                .setParameter("id", eventId)
+                                .executeUpdate();
+                        work.commit();
+                        return timer.count(deleted);
                 } catch (Exception se) {
-                        if (tx != null) 
-			tx.rollback();
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error deleting event: " + se.getMessage());
+                } finally {
+                        invalidateCache();
                 }
         }
 }
@@ -0,0 +1,105 @@
+package com.student.dao;
+
+import com.student.exception.StudentException;
+import com.student.models.AgeCount;
+import com.student.models.BranchCount;
+import com.student.models.BranchEventCount;
+import com.student.models.EventCount;
+import com.student.util.MetricsRegistry;
+import com.student.util.UnitOfWork;
+import org.hibernate.Session;
+import java.util.List;
+
+/**
+        * ReportDao computes aggregate reports over the student, branch and student_event
+        * tables. Every report is a single GROUP BY query whose rows are read straight into
+        * small DTOs, so no Student, Branch or Event entity is loaded.
+        */
+public class ReportDao
+{
+        /**
+                * Counts the students in every branch, including branches without students.
+                *
+                * @return one row per branch, largest branch first.
+                * @throws StudentException if an error occurs.
+                */
+        public List<BranchCount> getStudentsPerBranch() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("ReportDao.getStudentsPerBranch");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.BranchCount(b.branchId, b.branchName, count(s)) "
+                                        + "from Branch b left join b.students s "
+                                        + "group by b.branchId, b.branchName order by count(s) desc, b.branchId", BranchCount.class)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error counting students per branch: " + se.getMessage());
+                }
+        }
+
+        /**
+                * Counts the students taking part in every event, including events nobody has joined.
+                *
+                * @return one row per event, most popular first.
+                * @throws StudentException if an error occurs.
+                */
+        public List<EventCount> getEventParticipation() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("ReportDao.getEventParticipation");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.EventCount(e.eventId, e.eventName, count(s)) "
+                                        + "from Event e left join e.students s "
+                                        + "group by e.eventId, e.eventName order by count(s) desc, e.eventId", EventCount.class)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error counting event participation: " + se.getMessage());
+                }
+        }
+
+        /**
+                * Counts the students of each age.
+                *
+                * @return one row per age that occurs, youngest first.
+                * @throws StudentException if an error occurs.
+                */
+        public List<AgeCount> getAgeDistribution() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("ReportDao.getAgeDistribution");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.AgeCount(s.age, count(s)) "
+                                        + "from Student s group by s.age order by s.age", AgeCount.class)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error computing the age distribution: " + se.getMessage());
+                }
+        }
+
+        /**
+                * Counts the students of each branch taking part in each event. Only non-empty
+                * combinations are returned, so the result stays small for sparse data.
+                *
+                * @return one row per branch and event pair with at least one student, ordered by branch and event ID.
+                * @throws StudentException if an error occurs.
+                */
+        public List<BranchEventCount> getBranchEventCrossTab() throws StudentException
+        {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("ReportDao.getBranchEventCrossTab");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.BranchEventCount("
+                                        + "b.branchId, b.branchName, e.eventId, e.eventName, count(s)) "
+                                        + "from Student s join s.branch b join s.events e "
+                                        + "group by b.branchId, b.branchName, e.eventId, e.eventName "
+                                        + "order by b.branchId, e.eventId", BranchEventCount.class)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error computing the branch and event cross-tab: " + se.getMessage());
+                }
+        }
+}
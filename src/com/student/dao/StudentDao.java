@@ -1,11 +1,30 @@
 package com.student.dao;
 
 import com.student.exception.StudentException;
+import com.student.models.Branch;
+import com.student.models.Event;
 import com.student.models.Student;
-import com.student.util.SessionFactoryProvider;
+import com.student.models.StudentContact;
+import com.student.models.StudentExport;
+import com.student.models.StudentPatch;
+import com.student.models.StudentSummary;
+import com.student.util.MetricsRegistry;
+import com.student.util.UnitOfWork;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.annotations.QueryHints;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
         * StudentDao handles CRUD operations for the Student entity using Hibernate.
@@ -13,6 +32,15 @@ import java.util.List;
         * (as defined in the XML mapping files), so no intermediate join classes are used.
         */
 public class StudentDao {
+
+        /** Number of rows pulled from the cursor per round trip while streaming. */
+        private static final int STREAM_FETCH_SIZE = 500;
+
+        /** Default number of students sent per JDBC batch by registerStudents. */
+        public static final int DEFAULT_BATCH_SIZE = 50;
+
+        /** Maximum number of IDs bound into a single IN list. */
+        private static final int IN_CHUNK_SIZE = 1000;
         
         /**
          * Registers a new student by saving the Student object into the database.
@@ -23,17 +51,99 @@ public class StudentDao {
          * @throws StudentException if an error occurs during registration.
          */
         public int registerStudent(Student student) throws StudentException {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.registerStudent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        attachReferences(session, student);
                         int id = (int) session.save(student);
-                        tx.commit();
-                        return id;
+                        work.commit();
+                        return timer.done(id);
                 } catch (Exception se) {
-                        if (tx != null) {
-                                tx.rollback();
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to register student: " + se.getMessage(), se);
+                }
+        }
+
+        /**
+         * Registers many students in a single transaction. Inserts into student and
+         * student_event are grouped into JDBC batches of the given size, and the session
+         * is flushed and cleared after every batch so memory stays flat for large imports.
+         * When called inside a larger unit of work, that clearing also detaches any
+         * entities the caller loaded earlier in the same session.
+         *
+         * @param students the Student objects to register.
+         * @param batchSize the number of students sent to the database per batch.
+         * @return the generated student IDs, in the same order as the given list.
+         * @throws StudentException if any student fails to register; none are saved in that case.
+         */
+        public List<Integer> registerStudents(List<Student> students, int batchSize) throws StudentException {
+                if (batchSize < 1) {
+                        throw new StudentException("Batch size must be at least 1, was: " + batchSize);
+                }
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.registerStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        Integer previousBatchSize = session.getJdbcBatchSize();
+                        session.setJdbcBatchSize(batchSize);
+                        try {
+                                List<Integer> ids = new ArrayList<>(students.size());
+                                int count = 0;
+                                for (Student student : students) {
+                                        attachReferences(session, student);
+                                        ids.add((Integer) session.save(student));
+                                        if (++count % batchSize == 0) {
+                                                session.flush();
+                                                session.clear();
+                                        }
+                                }
+                                work.commit();
+                                return timer.done(ids);
+                        } finally {
+                                session.setJdbcBatchSize(previousBatchSize);
                         }
-                        throw new StudentException("Failed to register student: " + se.getMessage());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to register students: " + se.getMessage(), se);
+                }
+        }
+
+        /**
+         * Replaces the student's branch and events with references bound to the given session.
+         * The references are uninitialized proxies, so saving the student only writes the
+         * foreign keys and does not cascade an update back onto every branch and event row.
+         *
+         * @param session the session the student is about to be saved in.
+         * @param student the Student object whose associations are replaced.
+         */
+        private void attachReferences(Session session, Student student) {
+                if (student.getBranch() != null) {
+                        student.setBranch(session.load(Branch.class, student.getBranch().getBranchId()));
+                }
+                if (student.getEvents() != null) {
+                        Set<Event> events = new HashSet<>();
+                        for (Event event : student.getEvents()) {
+                                events.add(session.load(Event.class, event.getEventId()));
+                        }
+                        student.setEvents(events);
+                }
+        }
+
+        /**
+         * Counts the student records. The count is not cached here; see RowCounter.
+         *
+         * @return the number of students.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public long countStudents() throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.countStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        Long count = session.createQuery("select count(s) from Student s", Long.class).uniqueResult();
+                        timer.done();
+                        return count;
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to count students: " + se.getMessage());
                 }
         }
 
@@ -45,14 +155,49 @@ public class StudentDao {
          * @throws StudentException if an error occurs during retrieval.
          */
         public boolean isStudentExists(int studentId) throws StudentException {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        Student student = session.get(Student.class, studentId);
-                        return student != null;
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.isStudentExists");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select 1 from Student s where s.id = :id")
+                                .setParameter("id", studentId)
+                                .setMaxResults(1)
+                                .uniqueResult() != null);
                 } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error checking if student exists with ID: " + studentId + ". " + se.getMessage());
                 }
         }
 
+        /**
+         * Finds which of the given student IDs exist, using one IN query per chunk of IDs
+         * and reading only the ID column.
+         *
+         * @param studentIds the student IDs to check.
+         * @return the subset of the given IDs that belong to existing students.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public Set<Integer> existingStudentIds(Collection<Integer> studentIds) throws StudentException {
+                Set<Integer> existing = new HashSet<>();
+                if (studentIds.isEmpty()) {
+                        return existing;
+                }
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.existingStudentIds");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        List<Integer> ids = new ArrayList<>(new HashSet<>(studentIds));
+                        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+                                List<Integer> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+                                existing.addAll(session.createQuery("select s.id from Student s where s.id in (:ids)", Integer.class)
+                                        .setParameterList("ids", chunk)
+                                        .list());
+                        }
+                        return timer.done(existing);
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Error checking which students exist: " + se.getMessage());
+                }
+        }
+
         
         /**
          * Retrieves a student record by its ID.
@@ -62,9 +207,12 @@ public class StudentDao {
          * @throws StudentException if an error occurs during retrieval.
          */
         public Student getStudentById(int studentId) throws StudentException {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.get(Student.class, studentId);
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getStudentById");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.get(Student.class, studentId));
                 } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error retrieving student record with ID: " + studentId + ". " + se.getMessage());
                 }
         }
@@ -76,13 +224,217 @@ public class StudentDao {
          * @throws StudentException if an error occurs during retrieval.
          */
         public List<Student> getAllStudents() throws StudentException {
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        return session.createQuery("from Student", Student.class).list();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getAllStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("from Student", Student.class).list());
                 } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Failed to retrieve student records: " + se.getMessage());
                 }
         }
         
+        /**
+         * Retrieves the next page of student records, ordered by student ID.
+         * The page starts after the given ID, so each call is an index range scan
+         * on the primary key no matter how deep into the table it reads.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a List of at most pageSize Student objects.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public List<Student> getStudentsAfter(int lastId, int pageSize) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getStudentsAfter");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("from Student s where s.id > :lastId order by s.id", Student.class)
+                                .setParameter("lastId", lastId)
+                                .setMaxResults(pageSize)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to retrieve student records after ID: " + lastId + ". " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the next page of student summaries, ordered by student ID. Only the
+         * columns needed for a listing are selected, straight into immutable
+         * StudentSummary objects, so no entities or proxies are created.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of summaries to return.
+         * @return a List of at most pageSize StudentSummary objects.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public List<StudentSummary> getStudentSummariesAfter(int lastId, int pageSize) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getStudentSummariesAfter");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.StudentSummary(s.id, s.firstName, s.lastName, s.email, b.branchName) "
+                                        + "from Student s join s.branch b where s.id > :lastId order by s.id", StudentSummary.class)
+                                .setParameter("lastId", lastId)
+                                .setMaxResults(pageSize)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to retrieve student summaries after ID: " + lastId + ". " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the next page of student contacts, ordered by student ID: only the
+         * ID, names, email and phone number, read into immutable StudentContact objects.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of contacts to return.
+         * @return a List of at most pageSize StudentContact objects.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public List<StudentContact> getStudentContactsAfter(int lastId, int pageSize) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getStudentContactsAfter");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        return timer.done(session.createQuery("select new com.student.models.StudentContact(s.id, s.firstName, s.lastName, s.email, s.phoneNo) "
+                                        + "from Student s where s.id > :lastId order by s.id", StudentContact.class)
+                                .setParameter("lastId", lastId)
+                                .setMaxResults(pageSize)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to retrieve student contacts after ID: " + lastId + ". " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the next page of student records together with their branch and events.
+         * The page is read in two statements no matter how many students it holds: one
+         * selects the page of IDs, and one fetch-joins the branch and events of exactly
+         * those students. The returned objects are fully initialized and safe to read
+         * after the session has closed.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a List of at most pageSize Student objects, ordered by student ID.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public List<Student> getStudentDetailsAfter(int lastId, int pageSize) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getStudentDetailsAfter");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        List<Integer> ids = session.createQuery("select s.id from Student s where s.id > :lastId order by s.id", Integer.class)
+                                .setParameter("lastId", lastId)
+                                .setMaxResults(pageSize)
+                                .list();
+                        if (ids.isEmpty()) {
+                                return timer.done(new ArrayList<>());
+                        }
+                        return timer.done(session.createQuery("select distinct s from Student s join fetch s.branch left join fetch s.events "
+                                        + "where s.id in (:ids) order by s.id", Student.class)
+                                .setParameterList("ids", ids)
+                                .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                                .list());
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to retrieve student details after ID: " + lastId + ". " + se.getMessage());
+                }
+        }
+
+        /**
+         * Streams every student record, ordered by student ID, to the given consumer
+         * through a forward-only cursor. The session stays open while the consumer runs,
+         * so lazy associations can still be read, and it is cleared every fetch-size rows
+         * so memory stays flat as the table grows. When called inside a larger unit of work,
+         * that clearing also detaches any entities the caller loaded earlier in the same session.
+         *
+         * @param consumer receives each Student object in turn.
+         * @return the number of records streamed.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public int streamStudents(Consumer<Student> consumer) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.streamStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        ScrollableResults results = session.createQuery("from Student s order by s.id", Student.class)
+                                .setReadOnly(true)
+                                .setCacheMode(CacheMode.IGNORE)
+                                .setFetchSize(STREAM_FETCH_SIZE)
+                                .scroll(ScrollMode.FORWARD_ONLY);
+                        int count = 0;
+                        try {
+                                while (results.next()) {
+                                        consumer.accept((Student) results.get(0));
+                                        if (++count % STREAM_FETCH_SIZE == 0) {
+                                                session.clear();
+                                        }
+                                }
+                        } finally {
+                                results.close();
+                        }
+                        return timer.count(count);
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to stream student records: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Streams every student, ordered by student ID, with the names of its branch and events,
+         * through a forward-only cursor over one joined scalar query. A student with several
+         * events spans several adjacent rows, which are folded into one StudentExport, so the
+         * branch and events cost no extra queries and no entities are kept in the session.
+         *
+         * @param consumer receives each StudentExport in turn.
+         * @return the number of students streamed.
+         * @throws StudentException if an error occurs during retrieval.
+         */
+        public int streamStudentExports(Consumer<StudentExport> consumer) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.streamStudentExports");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        ScrollableResults results = session.createQuery("select s.id, s.firstName, s.lastName, s.dob, s.age, s.email, "
+                                        + "s.phoneNo, s.address, b.branchName, e.eventName "
+                                        + "from Student s join s.branch b left join s.events e order by s.id, e.eventId")
+                                .setReadOnly(true)
+                                .setCacheMode(CacheMode.IGNORE)
+                                .setFetchSize(STREAM_FETCH_SIZE)
+                                .scroll(ScrollMode.FORWARD_ONLY);
+                        int count = 0;
+                        try {
+                                Object[] current = null;
+                                List<String> events = new ArrayList<>();
+                                while (results.next()) {
+                                        Object[] row = results.get();
+                                        if (current != null && !current[0].equals(row[0])) {
+                                                consumer.accept(toStudentExport(current, events));
+                                                count++;
+                                                events = new ArrayList<>();
+                                        }
+                                        current = row;
+                                        if (row[9] != null) {
+                                                events.add((String) row[9]);
+                                        }
+                                }
+                                if (current != null) {
+                                        consumer.accept(toStudentExport(current, events));
+                                        count++;
+                                }
+                        } finally {
+                                results.close();
+                        }
+                        return timer.count(count);
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to stream student exports: " + se.getMessage());
+                }
+        }
+
+        private static StudentExport toStudentExport(Object[] row, List<String> events) {
+                return new StudentExport((Integer) row[0], (String) row[1], (String) row[2], (Date) row[3],
+                        (Integer) row[4], (String) row[5], (String) row[6], (String) row[7], (String) row[8], events);
+        }
+        
         /**
          * Updates an existing student record.
          *
@@ -90,40 +442,168 @@ public class StudentDao {
          * @throws StudentException if an error occurs during update.
          */
         public void updateStudent(Student student) throws StudentException {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
-                        session.update(student);
-                        tx.commit();
-                } catch (Exception se) {
-                        if (tx != null) {
-                                tx.rollback();
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.updateStudent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        if (!session.contains(student)) {
+                                session.update(student);
                         }
+                        work.commit();
+                        timer.done();
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Failed to update student: " + se.getMessage());
                 }
         }
         
         /**
-         * Deletes a student record using the student's ID.
+         * Applies a partial update to a student. The student is loaded into the current
+         * unit of work and only the fields set in the patch are changed, so dirty checking
+         * with dynamic-update writes just those columns. Added events become new
+         * student_event rows; the existing rows are left untouched.
          *
-         * @param studentId the ID of the student to delete.
-         * @throws StudentException if an error occurs during deletion.
+         * @param studentId the ID of the student to update.
+         * @param patch the fields to change.
+         * @return true if any column or event link changed; false if the patch matched the stored values.
+         * @throws StudentException if the student does not exist or an error occurs during update.
          */
-        public void deleteStudent(int studentId) throws StudentException {
-                Transaction tx = null;
-                try (Session session = SessionFactoryProvider.getSessionFactory().openSession()) {
-                        tx = session.beginTransaction();
+        public boolean patchStudent(int studentId, StudentPatch patch) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.patchStudent");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
                         Student student = session.get(Student.class, studentId);
                         if (student == null) {
                                 throw new StudentException("Student not found with ID: " + studentId);
                         }
-                        session.delete(student);
-                        tx.commit();
+                        boolean changed = false;
+                        if (patch.getFirstName() != null && !patch.getFirstName().equals(student.getFirstName())) {
+                                student.setFirstName(patch.getFirstName());
+                                changed = true;
+                        }
+                        if (patch.getLastName() != null && !patch.getLastName().equals(student.getLastName())) {
+                                student.setLastName(patch.getLastName());
+                                changed = true;
+                        }
+                        if (patch.getPhoneNo() != null && !patch.getPhoneNo().equals(student.getPhoneNo())) {
+                                student.setPhoneNo(patch.getPhoneNo());
+                                changed = true;
+                        }
+                        if (patch.getEmail() != null && !patch.getEmail().equals(student.getEmail())) {
+                                student.setEmail(patch.getEmail());
+                                changed = true;
+                        }
+                        if (patch.getAddress() != null && !patch.getAddress().equals(student.getAddress())) {
+                                student.setAddress(patch.getAddress());
+                                changed = true;
+                        }
+                        if (patch.getDob() != null && !Objects.equals(patch.getDob(), student.getDob())) {
+                                student.setDob(patch.getDob());
+                                changed = true;
+                        }
+                        if (patch.getAge() != null && patch.getAge() != student.getAge()) {
+                                student.setAge(patch.getAge());
+                                changed = true;
+                        }
+                        if (patch.getBranchId() != null
+                                        && (student.getBranch() == null || student.getBranch().getBranchId() != patch.getBranchId())) {
+                                student.setBranch(session.load(Branch.class, patch.getBranchId()));
+                                changed = true;
+                        }
+                        if (!patch.getAddEventIds().isEmpty()) {
+                                if (student.getEvents() == null) {
+                                        student.setEvents(new HashSet<>());
+                                }
+                                Set<Integer> current = new HashSet<>();
+                                for (Event event : student.getEvents()) {
+                                        current.add(event.getEventId());
+                                }
+                                for (int eventId : patch.getAddEventIds()) {
+                                        if (current.add(eventId)) {
+                                                student.getEvents().add(session.load(Event.class, eventId));
+                                                changed = true;
+                                        }
+                                }
+                        }
+                        work.commit();
+                        return timer.done(changed);
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to update student: " + se.getMessage(), se);
+                }
+        }
+        
+        /**
+         * Applies several partial updates in a single transaction. Each patch is applied as
+         * by patchStudent, inside one unit of work, so the changed columns of every student
+         * are flushed and committed together.
+         *
+         * @param patches the fields to change, keyed by student ID.
+         * @return the number of students whose columns or event links changed.
+         * @throws StudentException if any student does not exist or an update fails; nothing is saved in that case.
+         */
+        public int patchStudents(Map<Integer, StudentPatch> patches) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.patchStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        int changed = 0;
+                        for (Map.Entry<Integer, StudentPatch> entry : patches.entrySet()) {
+                                if (patchStudent(entry.getKey(), entry.getValue())) {
+                                        changed++;
+                                }
+                        }
+                        work.commit();
+                        return timer.count(changed);
                 } catch (Exception se) {
-                        if (tx != null) {
-                                tx.rollback();
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to update students: " + se.getMessage(), se);
+                }
+        }
+        
+        /**
+         * Deletes a student record using the student's ID. The student's event links and
+         * the student row are removed with set-based DML, without loading the entity.
+         *
+         * @param studentId the ID of the student to delete.
+         * @throws StudentException if the student does not exist or an error occurs during deletion.
+         */
+        public void deleteStudent(int studentId) throws StudentException {
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.deleteStudent")) {
+                        if (deleteStudents(Collections.singleton(studentId)) == 0) {
+                                throw new StudentException("Failed to delete student: Student not found with ID: " + studentId);
+                        }
+                        timer.done();
+                }
+        }
+
+        /**
+         * Deletes many students in one transaction using set-based DML. For each chunk of
+         * IDs, Hibernate's bulk delete first clears the students' student_event rows and
+         * then deletes the student rows. Entities already loaded in the current unit of
+         * work are not updated.
+         *
+         * @param studentIds the IDs of the students to delete.
+         * @return the number of student rows deleted.
+         * @throws StudentException if an error occurs during deletion; nothing is deleted in that case.
+         */
+        public int deleteStudents(Collection<Integer> studentIds) throws StudentException {
+                if (studentIds.isEmpty()) {
+                        return 0;
+                }
+                try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.deleteStudents");
+                                UnitOfWork work = UnitOfWork.begin()) {
+                        Session session = work.getSession();
+                        List<Integer> ids = new ArrayList<>(new HashSet<>(studentIds));
+                        int deleted = 0;
+                        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+                                List<Integer> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+                                deleted += session.createQuery("delete from Student s where s.id in (:ids)")
+                                        .setParameterList("ids", chunk)
+                                        .executeUpdate();
                         }
-                        throw new StudentException("Failed to delete student: " + se.getMessage());
+                        work.commit();
+                        return timer.count(deleted);
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
+                        throw new StudentException("Failed to delete students: " + se.getMessage(), se);
                 }
         }
 }
@@ -0,0 +1,58 @@
+-- Baseline schema, matching what hbm2ddl generated from the mapping files.
+-- IF NOT EXISTS lets this run against a database created by earlier versions. Those
+-- databases have student and branch rows but no id_block entries, so the inserts at the
+-- end seed each entity with its highest existing ID (0 when empty). Hibernate stores the
+-- last ID handed out (hibernate.id.generator.stored_last_used), so the next block starts
+-- just above it. Entities that already have an entry are skipped.
+
+create table if not exists branch (
+        branch_id integer not null,
+        branch_name varchar(255) not null,
+        primary key (branch_id)
+) engine=InnoDB;
+
+create table if not exists event (
+        event_id integer not null auto_increment,
+        event_name varchar(255) not null,
+        primary key (event_id)
+) engine=InnoDB;
+
+create table if not exists id_block (
+        entity_name varchar(255) not null,
+        next_val bigint,
+        primary key (entity_name)
+) engine=InnoDB;
+
+create table if not exists student (
+        student_id integer not null,
+        first_name varchar(255) not null,
+        last_name varchar(255) not null,
+        phone_no varchar(255) not null,
+        email varchar(255) not null,
+        address varchar(255) not null,
+        dob date not null,
+        age integer not null,
+        branch_id integer not null,
+        primary key (student_id),
+        constraint FK1c2wse5ythrh0ip3hjmeelt7b foreign key (branch_id) references branch (branch_id)
+) engine=InnoDB;
+
+create table if not exists student_event (
+        student_id integer not null,
+        event_id integer not null,
+        primary key (student_id, event_id),
+        constraint FK5in2sw4qjaltihnqltaljab3s foreign key (student_id) references student (student_id),
+        constraint FKfvtxw5ktl26640wiv7jo5kok0 foreign key (event_id) references event (event_id)
+) engine=InnoDB;
+
+insert into id_block (entity_name, next_val)
+        select seed.entity_name, seed.next_val
+        from (select 'student' as entity_name, coalesce(max(student_id), 0) as next_val from student) seed
+        left join id_block existing on existing.entity_name = seed.entity_name
+        where existing.entity_name is null;
+
+insert into id_block (entity_name, next_val)
+        select seed.entity_name, seed.next_val
+        from (select 'branch' as entity_name, coalesce(max(branch_id), 0) as next_val from branch) seed
+        left join id_block existing on existing.entity_name = seed.entity_name
+        where existing.entity_name is null;
@@ -0,0 +1,10 @@
+-- Branches and events are looked up by name and must not repeat, and no two
+-- students may share an email address. Fails if existing rows hold duplicates.
+create unique index uk_branch_name on branch (branch_name);
+create unique index uk_event_name on event (event_name);
+create unique index uk_student_email on student (email);
+
+-- Foreign key columns used by joins and by bulk deletes of a branch or event.
+-- student_event (student_id, ...) is already covered by its primary key.
+create index idx_student_branch on student (branch_id);
+create index idx_student_event_event on student_event (event_id);
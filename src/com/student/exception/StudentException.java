@@ -39,6 +39,17 @@ public class StudentException extends Exception {
         super(message, se);
     }
 
+    /**
+     * Constructor that accepts a message and the exception thrown by the database layer,
+     * so that callers can still tell what kind of failure it was.
+     *
+     * @param message The detail message about the exception.
+     * @param cause The cause of the exception.
+     */
+    public StudentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
     /**
      * Constructor that accepts only the original exception.
      *
@@ -0,0 +1,29 @@
+package com.student.models;
+
+/**
+ *    Report row: the number of students of one age.
+ *    Filled directly by a GROUP BY constructor-expression query.
+ */
+public final class AgeCount
+{
+        private final int age;
+        private final long studentCount;
+        
+        public AgeCount(int age, long studentCount) {
+                this.age = age;
+                this.studentCount = studentCount;
+        }
+        
+        public int getAge() {
+                return age;
+        }
+        
+        public long getStudentCount() {
+                return studentCount;
+        }
+        
+        @Override
+        public String toString() {
+                return "AgeCount [age=" + age + ", students=" + studentCount + "]";
+        }
+}
@@ -0,0 +1,35 @@
+package com.student.models;
+
+/**
+ *    Report row: the number of students in one branch.
+ *    Filled directly by a GROUP BY constructor-expression query.
+ */
+public final class BranchCount
+{
+        private final int branchId;
+        private final String branchName;
+        private final long studentCount;
+        
+        public BranchCount(int branchId, String branchName, long studentCount) {
+                this.branchId = branchId;
+                this.branchName = branchName;
+                this.studentCount = studentCount;
+        }
+        
+        public int getBranchId() {
+                return branchId;
+        }
+        
+        public String getBranchName() {
+                return branchName;
+        }
+        
+        public long getStudentCount() {
+                return studentCount;
+        }
+        
+        @Override
+        public String toString() {
+                return "BranchCount [branchId=" + branchId + ", branchName=" + branchName + ", students=" + studentCount + "]";
+        }
+}
@@ -0,0 +1,48 @@
+package com.student.models;
+
+/**
+ *    Report row: one non-empty cell of the branch by event cross-tab, i.e. the number
+ *    of students of a branch taking part in an event.
+ *    Filled directly by a GROUP BY constructor-expression query.
+ */
+public final class BranchEventCount
+{
+        private final int branchId;
+        private final String branchName;
+        private final int eventId;
+        private final String eventName;
+        private final long studentCount;
+        
+        public BranchEventCount(int branchId, String branchName, int eventId, String eventName, long studentCount) {
+                this.branchId = branchId;
+                this.branchName = branchName;
+                this.eventId = eventId;
+                this.eventName = eventName;
+                this.studentCount = studentCount;
+        }
+        
+        public int getBranchId() {
+                return branchId;
+        }
+        
+        public String getBranchName() {
+                return branchName;
+        }
+        
+        public int getEventId() {
+                return eventId;
+        }
+        
+        public String getEventName() {
+                return eventName;
+        }
+        
+        public long getStudentCount() {
+                return studentCount;
+        }
+        
+        @Override
+        public String toString() {
+                return "BranchEventCount [branch=" + branchName + ", event=" + eventName + ", students=" + studentCount + "]";
+        }
+}
@@ -0,0 +1,30 @@
+package com.student.models;
+
+/**
+ *    Read-only view of a branch: just its ID and name.
+ *    Filled directly by a constructor-expression query, so no managed entity,
+ *    snapshot or proxy is created for it.
+ */
+public final class BranchRef
+{
+        private final int branchId;
+        private final String branchName;
+        
+        public BranchRef(int branchId, String branchName) {
+                this.branchId = branchId;
+                this.branchName = branchName;
+        }
+        
+        public int getBranchId() {
+                return branchId;
+        }
+        
+        public String getBranchName() {
+                return branchName;
+        }
+        
+        @Override
+        public String toString() {
+                return "Branch [branchId=" + branchId + ", branchName=" + branchName + "]";
+        }
+}
@@ -0,0 +1,35 @@
+package com.student.models;
+
+/**
+ *    Report row: the number of students taking part in one event.
+ *    Filled directly by a GROUP BY constructor-expression query.
+ */
+public final class EventCount
+{
+        private final int eventId;
+        private final String eventName;
+        private final long studentCount;
+        
+        public EventCount(int eventId, String eventName, long studentCount) {
+                this.eventId = eventId;
+                this.eventName = eventName;
+                this.studentCount = studentCount;
+        }
+        
+        public int getEventId() {
+                return eventId;
+        }
+        
+        public String getEventName() {
+                return eventName;
+        }
+        
+        public long getStudentCount() {
+                return studentCount;
+        }
+        
+        @Override
+        public String toString() {
+                return "EventCount [eventId=" + eventId + ", eventName=" + eventName + ", students=" + studentCount + "]";
+        }
+}
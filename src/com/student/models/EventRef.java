@@ -0,0 +1,30 @@
+package com.student.models;
+
+/**
+ *    Read-only view of an event: just its ID and name.
+ *    Filled directly by a constructor-expression query, so no managed entity,
+ *    snapshot or proxy is created for it.
+ */
+public final class EventRef
+{
+        private final int eventId;
+        private final String eventName;
+        
+        public EventRef(int eventId, String eventName) {
+                this.eventId = eventId;
+                this.eventName = eventName;
+        }
+        
+        public int getEventId() {
+                return eventId;
+        }
+        
+        public String getEventName() {
+                return eventName;
+        }
+        
+        @Override
+        public String toString() {
+                return "Event [eventId=" + eventId + ", eventName=" + eventName + "]";
+        }
+}
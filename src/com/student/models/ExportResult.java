@@ -0,0 +1,44 @@
+package com.student.models;
+
+/**
+ *    Outcome and throughput of one student export: rows and bytes written and the time taken.
+ */
+public final class ExportResult
+{
+        private final long rows;
+        private final long bytes;
+        private final long elapsedMillis;
+        
+        public ExportResult(long rows, long bytes, long elapsedMillis) {
+                this.rows = rows;
+                this.bytes = bytes;
+                this.elapsedMillis = elapsedMillis;
+        }
+        
+        public long getRows() {
+                return rows;
+        }
+        
+        public long getBytes() {
+                return bytes;
+        }
+        
+        public long getElapsedMillis() {
+                return elapsedMillis;
+        }
+        
+        /**
+         * Retrieves the number of rows written per second.
+         *
+         * @return the throughput in rows per second.
+         */
+        public double getRowsPerSecond() {
+                return elapsedMillis == 0 ? rows * 1000.0 : rows * 1000.0 / elapsedMillis;
+        }
+        
+        @Override
+        public String toString() {
+                return "ExportResult [rows=" + rows + ", bytes=" + bytes + ", elapsedMs=" + elapsedMillis
+                        + ", rowsPerSecond=" + Math.round(getRowsPerSecond()) + "]";
+        }
+}
@@ -0,0 +1,28 @@
+package com.student.models;
+
+/**
+ *    One rejected row of a student import: the line it started on and why it was rejected.
+ */
+public final class ImportError
+{
+        private final long line;
+        private final String message;
+        
+        public ImportError(long line, String message) {
+                this.line = line;
+                this.message = message;
+        }
+        
+        public long getLine() {
+                return line;
+        }
+        
+        public String getMessage() {
+                return message;
+        }
+        
+        @Override
+        public String toString() {
+                return "ImportError [line=" + line + ", message=" + message + "]";
+        }
+}
@@ -0,0 +1,72 @@
+package com.student.models;
+
+/**
+ *    Outcome and throughput of one student import: how many rows were read, imported and
+ *    rejected, and where the time went. Validation time is summed over all validation
+ *    threads, so it can exceed the elapsed time.
+ */
+public final class ImportResult
+{
+        private final long rowsRead;
+        private final long rowsImported;
+        private final long rowsRejected;
+        private final int chunks;
+        private final long validationMillis;
+        private final long writeMillis;
+        private final long elapsedMillis;
+        
+        public ImportResult(long rowsRead, long rowsImported, long rowsRejected, int chunks,
+                        long validationMillis, long writeMillis, long elapsedMillis) {
+                this.rowsRead = rowsRead;
+                this.rowsImported = rowsImported;
+                this.rowsRejected = rowsRejected;
+                this.chunks = chunks;
+                this.validationMillis = validationMillis;
+                this.writeMillis = writeMillis;
+                this.elapsedMillis = elapsedMillis;
+        }
+        
+        public long getRowsRead() {
+                return rowsRead;
+        }
+        
+        public long getRowsImported() {
+                return rowsImported;
+        }
+        
+        public long getRowsRejected() {
+                return rowsRejected;
+        }
+        
+        public int getChunks() {
+                return chunks;
+        }
+        
+        public long getValidationMillis() {
+                return validationMillis;
+        }
+        
+        public long getWriteMillis() {
+                return writeMillis;
+        }
+        
+        public long getElapsedMillis() {
+                return elapsedMillis;
+        }
+        
+        /**
+         * Retrieves the number of rows read per second over the whole import.
+         *
+         * @return the throughput in rows per second.
+         */
+        public double getRowsPerSecond() {
+                return elapsedMillis == 0 ? rowsRead * 1000.0 : rowsRead * 1000.0 / elapsedMillis;
+        }
+        
+        @Override
+        public String toString() {
+                return "ImportResult [read=" + rowsRead + ", imported=" + rowsImported + ", rejected=" + rowsRejected
+                        + ", chunks=" + chunks + ", validationMs=" + validationMillis + ", writeMs=" + writeMillis
+                        + ", elapsedMs=" + elapsedMillis + ", rowsPerSecond=" + Math.round(getRowsPerSecond()) + "]";
+        }
+}
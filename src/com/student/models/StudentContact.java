@@ -0,0 +1,52 @@
+package com.student.models;
+
+/**
+ *    Read-only view of the searchable fields of a student: ID, names, email and phone.
+ *    Filled directly by a constructor-expression query, so no managed entity,
+ *    snapshot or proxy is created for it.
+ */
+public final class StudentContact
+{
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String phoneNo;
+        
+        public StudentContact(int id, String firstName, String lastName, String email, String phoneNo) {
+                this.id = id;
+                this.firstName = firstName;
+                this.lastName = lastName;
+                this.email = email;
+                this.phoneNo = phoneNo;
+        }
+        
+        public int getId() {
+                return id;
+        }
+        
+        public String getFirstName() {
+                return firstName;
+        }
+        
+        public String getLastName() {
+                return lastName;
+        }
+        
+        public String getEmail() {
+                return email;
+        }
+        
+        public String getPhoneNo() {
+                return phoneNo;
+        }
+        
+        @Override
+        public String toString() {
+                return "Student: id=" + id
+                        + ", firstName=" + firstName
+                        + ", lastName=" + lastName
+                        + ", email=" + email
+                        + ", phoneNo=" + phoneNo;
+        }
+}
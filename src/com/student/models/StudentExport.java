@@ -0,0 +1,84 @@
+package com.student.models;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ *    Read-only export row: every column of a student plus the names of its branch and events.
+ *    Assembled from a scalar cursor, so no managed entity, lazy collection or proxy is
+ *    involved and the row can be used after the session has closed.
+ */
+public final class StudentExport
+{
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+        private final Date dob;
+        private final int age;
+        private final String email;
+        private final String phoneNo;
+        private final String address;
+        private final String branchName;
+        private final List<String> eventNames;
+        
+        public StudentExport(int id, String firstName, String lastName, Date dob, int age, String email,
+                        String phoneNo, String address, String branchName, List<String> eventNames) {
+                this.id = id;
+                this.firstName = firstName;
+                this.lastName = lastName;
+                this.dob = dob;
+                this.age = age;
+                this.email = email;
+                this.phoneNo = phoneNo;
+                this.address = address;
+                this.branchName = branchName;
+                this.eventNames = eventNames;
+        }
+        
+        public int getId() {
+                return id;
+        }
+        
+        public String getFirstName() {
+                return firstName;
+        }
+        
+        public String getLastName() {
+                return lastName;
+        }
+        
+        public Date getDob() {
+                return dob;
+        }
+        
+        public int getAge() {
+                return age;
+        }
+        
+        public String getEmail() {
+                return email;
+        }
+        
+        public String getPhoneNo() {
+                return phoneNo;
+        }
+        
+        public String getAddress() {
+                return address;
+        }
+        
+        public String getBranchName() {
+                return branchName;
+        }
+        
+        public List<String> getEventNames() {
+                return eventNames;
+        }
+        
+        @Override
+        public String toString() {
+                return "StudentExport [id=" + id + ", firstName=" + firstName + ", lastName=" + lastName + ", dob=" + dob
+                        + ", age=" + age + ", email=" + email + ", phoneNo=" + phoneNo + ", address=" + address
+                        + ", branch=" + branchName + ", events=" + eventNames + "]";
+        }
+}
@@ -0,0 +1,119 @@
+package com.student.models;
+
+import java.sql.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ *    Describes a partial update of a student record.
+ *    Only the fields that were set are written; everything else is left as it is,
+ *    and events listed in addEventIds are added without rewriting the existing ones.
+ */
+public class StudentPatch
+{
+        private String firstName;
+        private String lastName;
+        private String phoneNo;
+        private String email;
+        private String address;
+        private Date dob;
+        private Integer age;
+        private Integer branchId;
+        private Set<Integer> addEventIds = new LinkedHashSet<>();
+
+        public String getFirstName() {
+                return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+                this.firstName = firstName;
+        }
+
+        public String getLastName() {
+                return lastName;
+        }
+
+        public void setLastName(String lastName) {
+                this.lastName = lastName;
+        }
+
+        public String getPhoneNo() {
+                return phoneNo;
+        }
+
+        public void setPhoneNo(String phoneNo) {
+                this.phoneNo = phoneNo;
+        }
+
+        public String getEmail() {
+                return email;
+        }
+
+        public void setEmail(String email) {
+                this.email = email;
+        }
+
+        public String getAddress() {
+                return address;
+        }
+
+        public void setAddress(String address) {
+                this.address = address;
+        }
+
+        public Date getDob() {
+                return dob;
+        }
+
+        public void setDob(Date dob) {
+                this.dob = dob;
+        }
+
+        public Integer getAge() {
+                return age;
+        }
+
+        public void setAge(Integer age) {
+                this.age = age;
+        }
+
+        public Integer getBranchId() {
+                return branchId;
+        }
+
+        public void setBranchId(Integer branchId) {
+                this.branchId = branchId;
+        }
+
+        public Set<Integer> getAddEventIds() {
+                return addEventIds;
+        }
+
+        public void addEventId(int eventId) {
+                addEventIds.add(eventId);
+        }
+
+        /**
+         * Checks whether the patch changes anything.
+         *
+         * @return true if no field was set and no event is added.
+         */
+        public boolean isEmpty() {
+                return firstName == null && lastName == null && phoneNo == null && email == null
+                        && address == null && dob == null && age == null && branchId == null
+                        && addEventIds.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+                return "StudentPatch: firstName=" + firstName
+                        + ", lastName=" + lastName
+                        + ", phoneNo=" + phoneNo
+                        + ", email=" + email
+                        + ", address=" + address
+                        + ", dob=" + dob
+                        + ", age=" + age
+                        + ", branchId=" + branchId
+                        + ", addEventIds=" + addEventIds;
+        }
+}
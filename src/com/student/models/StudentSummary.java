@@ -0,0 +1,52 @@
+package com.student.models;
+
+/**
+ *    Read-only summary of a student for listings: ID, name, email and branch name.
+ *    Filled directly by a constructor-expression query, so no managed entity,
+ *    snapshot or proxy is created for it.
+ */
+public final class StudentSummary
+{
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String branchName;
+        
+        public StudentSummary(int id, String firstName, String lastName, String email, String branchName) {
+                this.id = id;
+                this.firstName = firstName;
+                this.lastName = lastName;
+                this.email = email;
+                this.branchName = branchName;
+        }
+        
+        public int getId() {
+                return id;
+        }
+        
+        public String getFirstName() {
+                return firstName;
+        }
+        
+        public String getLastName() {
+                return lastName;
+        }
+        
+        public String getEmail() {
+                return email;
+        }
+        
+        public String getBranchName() {
+                return branchName;
+        }
+        
+        @Override
+        public String toString() {
+                return "Student: id=" + id
+                        + ", firstName=" + firstName
+                        + ", lastName=" + lastName
+                        + ", email=" + email
+                        + ", branch=" + branchName;
+        }
+}
@@ -0,0 +1,154 @@
+package com.student.services;
+
+import com.student.models.Branch;
+import com.student.models.BranchRef;
+import com.student.util.AsyncExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+        * AsyncBranchService exposes every BranchService operation as a CompletableFuture.
+        * Calls run on an AsyncExecutor, which bounds how many reach the database at once
+        * and applies its timeout; cancelling a returned future interrupts the call.
+        */
+public class AsyncBranchService {
+        private final BranchService branchService;
+        private final AsyncExecutor executor;
+
+        /**
+         * Creates an async facade over a new BranchService using the shared executor.
+         */
+        public AsyncBranchService() {
+                this(new BranchService(), AsyncExecutor.getDefault());
+        }
+
+        /**
+         * Creates an async facade over the given service and executor.
+         *
+         * @param branchService the blocking service to delegate to.
+         * @param executor the executor that runs the calls.
+         */
+        public AsyncBranchService(BranchService branchService, AsyncExecutor executor) {
+                this.branchService = branchService;
+                this.executor = executor;
+        }
+
+        /**
+         * Adds a new branch record.
+         *
+         * @param branchName the branch name.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> addBranch(String branchName) {
+                return executor.submit(() -> {
+                        branchService.addBranch(branchName);
+                        return null;
+                });
+        }
+
+        /**
+         * Checks if a branch exists by its name.
+         *
+         * @param branchName the branch name.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> isBranchExistsByName(String branchName) {
+                return executor.submit(() -> branchService.isBranchExistsByName(branchName));
+        }
+
+        /**
+         * Checks if any branch records exist.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> isBranchExists() {
+                return executor.submit(() -> branchService.isBranchExists());
+        }
+
+        /**
+         * Retrieves the number of branch records.
+         *
+         * @return a future completed with the count, or failed with a StudentException.
+         */
+        public CompletableFuture<Long> countBranches() {
+                return executor.submit(() -> branchService.countBranches());
+        }
+
+        /**
+         * Retrieves all branch records.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Branch>> getAllBranches() {
+                return executor.submit(() -> branchService.getAllBranches());
+        }
+
+        /**
+         * Retrieves the ID and name of every branch as read-only references.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<BranchRef>> getBranchRefs() {
+                return executor.submit(() -> branchService.getBranchRefs());
+        }
+
+        /**
+         * Retrieves the branch ID for a given branch name.
+         *
+         * @param branchName the branch name.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> getBranchByName(String branchName) {
+                return executor.submit(() -> branchService.getBranchByName(branchName));
+        }
+
+        /**
+         * Retrieves the branch name for a given branch ID.
+         *
+         * @param branchId the branch ID.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<String> getBranchById(int branchId) {
+                return executor.submit(() -> branchService.getBranchById(branchId));
+        }
+
+        /**
+         * Renames a branch record.
+         *
+         * @param branchId the branch ID.
+         * @param newName the new branch name.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> renameBranch(int branchId, String newName) {
+                return executor.submit(() -> {
+                        branchService.renameBranch(branchId, newName);
+                        return null;
+                });
+        }
+
+        /**
+         * Updates an existing branch record.
+         *
+         * @param branch the Branch object with updated details.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> updateBranch(Branch branch) {
+                return executor.submit(() -> {
+                        branchService.updateBranch(branch);
+                        return null;
+                });
+        }
+
+        /**
+         * Deletes a branch record.
+         *
+         * @param branchId the ID of the branch to delete.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> deleteBranch(int branchId) {
+                return executor.submit(() -> {
+                        branchService.deleteBranch(branchId);
+                        return null;
+                });
+        }
+}
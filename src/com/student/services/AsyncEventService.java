@@ -0,0 +1,154 @@
+package com.student.services;
+
+import com.student.models.Event;
+import com.student.models.EventRef;
+import com.student.util.AsyncExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+        * AsyncEventService exposes every EventService operation as a CompletableFuture.
+        * Calls run on an AsyncExecutor, which bounds how many reach the database at once
+        * and applies its timeout; cancelling a returned future interrupts the call.
+        */
+public class AsyncEventService {
+        private final EventService eventService;
+        private final AsyncExecutor executor;
+
+        /**
+         * Creates an async facade over a new EventService using the shared executor.
+         */
+        public AsyncEventService() {
+                this(new EventService(), AsyncExecutor.getDefault());
+        }
+
+        /**
+         * Creates an async facade over the given service and executor.
+         *
+         * @param eventService the blocking service to delegate to.
+         * @param executor the executor that runs the calls.
+         */
+        public AsyncEventService(EventService eventService, AsyncExecutor executor) {
+                this.eventService = eventService;
+                this.executor = executor;
+        }
+
+        /**
+         * Adds a new event record.
+         *
+         * @param eventName the event name.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> addEvent(String eventName) {
+                return executor.submit(() -> {
+                        eventService.addEvent(eventName);
+                        return null;
+                });
+        }
+
+        /**
+         * Checks if any event records exist.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> isEventsExist() {
+                return executor.submit(() -> eventService.isEventsExist());
+        }
+
+        /**
+         * Retrieves the number of event records.
+         *
+         * @return a future completed with the count, or failed with a StudentException.
+         */
+        public CompletableFuture<Long> countEvents() {
+                return executor.submit(() -> eventService.countEvents());
+        }
+
+        /**
+         * Checks if an event exists by its name.
+         *
+         * @param eventName the event name.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> isEventExistsByName(String eventName) {
+                return executor.submit(() -> eventService.isEventExistsByName(eventName));
+        }
+
+        /**
+         * Retrieves all event records.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Event>> getAllEvents() {
+                return executor.submit(() -> eventService.getAllEvents());
+        }
+
+        /**
+         * Retrieves the ID and name of every event as read-only references.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<EventRef>> getEventRefs() {
+                return executor.submit(() -> eventService.getEventRefs());
+        }
+
+        /**
+         * Retrieves the event ID for a given event name.
+         *
+         * @param eventName the event name.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> getEventByName(String eventName) {
+                return executor.submit(() -> eventService.getEventByName(eventName));
+        }
+
+        /**
+         * Retrieves the event name for a given event ID.
+         *
+         * @param eventId the event ID.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<String> getEventById(int eventId) {
+                return executor.submit(() -> eventService.getEventById(eventId));
+        }
+
+        /**
+         * Renames an event record.
+         *
+         * @param eventId the event ID.
+         * @param newName the new event name.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> renameEvent(int eventId, String newName) {
+                return executor.submit(() -> {
+                        eventService.renameEvent(eventId, newName);
+                        return null;
+                });
+        }
+
+        /**
+         * Updates an existing event record.
+         *
+         * @param event the Event object with updated details.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> updateEvent(Event event) {
+                return executor.submit(() -> {
+                        eventService.updateEvent(event);
+                        return null;
+                });
+        }
+
+        /**
+         * Deletes an event record.
+         *
+         * @param eventId the ID of the event to delete.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> deleteEvent(int eventId) {
+                return executor.submit(() -> {
+                        eventService.deleteEvent(eventId);
+                        return null;
+                });
+        }
+}
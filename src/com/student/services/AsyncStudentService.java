@@ -0,0 +1,241 @@
+package com.student.services;
+
+import com.student.models.Student;
+import com.student.models.StudentPatch;
+import com.student.models.StudentSummary;
+import com.student.util.AsyncExecutor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+        * AsyncStudentService exposes every StudentService operation as a CompletableFuture.
+        * Calls run on an AsyncExecutor, which bounds how many reach the database at once
+        * and applies its timeout; cancelling a returned future interrupts the call.
+        */
+public class AsyncStudentService {
+        private final StudentService studentService;
+        private final AsyncExecutor executor;
+
+        /**
+         * Creates an async facade over a new StudentService using the shared executor.
+         */
+        public AsyncStudentService() {
+                this(new StudentService(), AsyncExecutor.getDefault());
+        }
+
+        /**
+         * Creates an async facade over the given service and executor.
+         *
+         * @param studentService the blocking service to delegate to.
+         * @param executor the executor that runs the calls.
+         */
+        public AsyncStudentService(StudentService studentService, AsyncExecutor executor) {
+                this.studentService = studentService;
+                this.executor = executor;
+        }
+
+        /**
+         * Registers a new student in the database and returns the generated student ID.
+         *
+         * @param student the Student object containing the student's details.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> registerStudent(Student student) {
+                return executor.submit(() -> studentService.registerStudent(student));
+        }
+
+        /**
+         * Registers many students in one transaction using the default batch size.
+         *
+         * @param students the Student objects to register.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Integer>> registerStudents(List<Student> students) {
+                return executor.submit(() -> studentService.registerStudents(students));
+        }
+
+        /**
+         * Registers many students in one transaction, sending inserts in batches of the given size.
+         *
+         * @param students the Student objects to register.
+         * @param batchSize the number of students sent to the database per batch.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Integer>> registerStudents(List<Student> students, int batchSize) {
+                return executor.submit(() -> studentService.registerStudents(students, batchSize));
+        }
+
+        /**
+         * Retrieves all student records.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Student>> getAllStudents() {
+                return executor.submit(() -> studentService.getAllStudents());
+        }
+
+        /**
+         * Retrieves the next page of student records after the given student ID.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Student>> getStudentsAfter(int lastId, int pageSize) {
+                return executor.submit(() -> studentService.getStudentsAfter(lastId, pageSize));
+        }
+
+        /**
+         * Retrieves the next page of read-only student summaries after the given student ID.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of summaries to return.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<StudentSummary>> getStudentSummariesAfter(int lastId, int pageSize) {
+                return executor.submit(() -> studentService.getStudentSummariesAfter(lastId, pageSize));
+        }
+
+        /**
+         * Retrieves the next page of student records with their branch and events already loaded.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Student>> getStudentDetailsAfter(int lastId, int pageSize) {
+                return executor.submit(() -> studentService.getStudentDetailsAfter(lastId, pageSize));
+        }
+
+        /**
+         * Streams all student records to the given consumer without loading them into memory at once.
+         * The consumer is called on the executor's thread, not the caller's.
+         *
+         * @param consumer receives each Student object in turn.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> streamStudents(Consumer<Student> consumer) {
+                return executor.submit(() -> studentService.streamStudents(consumer));
+        }
+
+        /**
+         * Retrieves a student by their ID. The student's branch and events are loaded
+         * before the future completes, so they can be read from any thread afterwards.
+         *
+         * @param id the student ID.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Student> getStudentById(int id) {
+                return executor.submit(() -> studentService.getStudentById(id));
+        }
+
+        /**
+         * Searches students by first name, last name, email or phone number.
+         *
+         * @param query the search words.
+         * @param limit the maximum number of IDs to return.
+         * @return a future completed with the matching IDs, best first, or failed with a StudentException.
+         */
+        public CompletableFuture<List<Integer>> searchStudents(String query, int limit) {
+                return executor.submit(() -> studentService.searchStudents(query, limit));
+        }
+
+        /**
+         * Checks if any student records exist.
+         *
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> hasStudents() {
+                return executor.submit(() -> studentService.hasStudents());
+        }
+
+        /**
+         * Retrieves the number of student records.
+         *
+         * @return a future completed with the count, or failed with a StudentException.
+         */
+        public CompletableFuture<Long> countStudents() {
+                return executor.submit(() -> studentService.countStudents());
+        }
+
+        /**
+         * Checks if a student exists with the given ID.
+         *
+         * @param studentId the student ID.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> isStudentExists(int studentId) {
+                return executor.submit(() -> studentService.isStudentExists(studentId));
+        }
+
+        /**
+         * Finds which of the given student IDs exist, checking them all in bulk.
+         *
+         * @param studentIds the student IDs to check.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Set<Integer>> existingStudentIds(Collection<Integer> studentIds) {
+                return executor.submit(() -> studentService.existingStudentIds(studentIds));
+        }
+
+        /**
+         * Updates an existing student record.
+         *
+         * @param student the Student object with updated details.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> updateStudent(Student student) {
+                return executor.submit(() -> {
+                        studentService.updateStudent(student);
+                        return null;
+                });
+        }
+
+        /**
+         * Applies a partial update to a student, writing only the columns that change.
+         *
+         * @param studentId the ID of the student to update.
+         * @param patch the fields to change.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Boolean> patchStudent(int studentId, StudentPatch patch) {
+                return executor.submit(() -> studentService.patchStudent(studentId, patch));
+        }
+
+        /**
+         * Applies several partial updates in one transaction.
+         *
+         * @param patches the fields to change, keyed by student ID.
+         * @return a future completed with the number of students that changed, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> patchStudents(Map<Integer, StudentPatch> patches) {
+                return executor.submit(() -> studentService.patchStudents(patches));
+        }
+
+        /**
+         * Deletes a student record.
+         *
+         * @param studentId the ID of the student to delete.
+         * @return a future completed when the call finishes, or failed with a StudentException.
+         */
+        public CompletableFuture<Void> deleteStudent(int studentId) {
+                return executor.submit(() -> {
+                        studentService.deleteStudent(studentId);
+                        return null;
+                });
+        }
+
+        /**
+         * Deletes many student records in one transaction.
+         *
+         * @param studentIds the IDs of the students to delete.
+         * @return a future completed with the result, or failed with a StudentException.
+         */
+        public CompletableFuture<Integer> deleteStudents(Collection<Integer> studentIds) {
+                return executor.submit(() -> studentService.deleteStudents(studentIds));
+        }
+}
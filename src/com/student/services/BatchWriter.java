@@ -0,0 +1,162 @@
+package com.student.services;
+
+import com.student.exception.StudentException;
+import com.student.models.Branch;
+import com.student.models.BranchRef;
+import com.student.models.Event;
+import com.student.models.EventRef;
+import com.student.models.Student;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+        * BatchWriter holds what StudentImporter and BatchCommandRunner share when they write
+        * students in groups: splitting an events field into tokens, building a new Student from
+        * resolved references, and writing a group in one transaction.
+        *
+        * If a group's transaction fails because an item's data is at fault, the items are
+        * written again one transaction each so that only the offending ones are rejected. Data
+        * faults are SQLSTATE class 22 (data exception, such as a value too long for its column)
+        * and 23 (integrity constraint violation), and the application's own checks, such as a
+        * student that does not exist. Any other failure, such as a lost connection or a pool
+        * timeout, is thrown to the caller, since retrying item by item would only fail again.
+        */
+public class BatchWriter {
+        private static final String EVENT_SEPARATOR = ";";
+
+        /**
+         * Writes a whole group in one transaction.
+         */
+        public interface GroupWrite<T> {
+                void write(List<T> items) throws StudentException;
+        }
+
+        /**
+         * Writes one item in its own transaction.
+         */
+        public interface ItemWrite<T> {
+                void write(T item) throws StudentException;
+        }
+
+        /**
+         * Receives an item whose own transaction failed because of its data.
+         */
+        public interface Rejection<T> {
+                void reject(T item, StudentException error);
+        }
+
+        private BatchWriter() {
+        }
+
+        /**
+         * Writes the items as one group, retrying them one by one if the group fails on bad data.
+         *
+         * @param items the items to write.
+         * @param group writes every item in one transaction.
+         * @param single writes one item in its own transaction.
+         * @param rejected receives each item rejected during the retry.
+         * @return the number of items written.
+         * @throws StudentException if the group or an item fails for a reason other than its data.
+         */
+        public static <T> int write(List<T> items, GroupWrite<T> group, ItemWrite<T> single, Rejection<T> rejected)
+                        throws StudentException {
+                if (items.isEmpty()) {
+                        return 0;
+                }
+                try {
+                        group.write(items);
+                        return items.size();
+                } catch (StudentException se) {
+                        if (!isDataError(se)) {
+                                throw se;
+                        }
+                        // One bad item fails the whole transaction; retry one by one to find it.
+                        int written = 0;
+                        for (T item : items) {
+                                try {
+                                        single.write(item);
+                                        written++;
+                                } catch (StudentException itemError) {
+                                        if (!isDataError(itemError)) {
+                                                throw itemError;
+                                        }
+                                        rejected.reject(item, itemError);
+                                }
+                        }
+                        return written;
+                }
+        }
+
+        /**
+         * Checks whether a write failed because of the data it was given rather than because of
+         * the database: an SQLException in SQLSTATE class 22 or 23 caused it, or it started as a
+         * StudentException raised by the application's own checks.
+         *
+         * @param error the failure.
+         * @return true if the data is at fault; false otherwise.
+         */
+        public static boolean isDataError(Throwable error) {
+                Throwable cause = error;
+                while (true) {
+                        if (cause instanceof SQLException) {
+                                String state = ((SQLException) cause).getSQLState();
+                                if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                                        return true;
+                                }
+                        }
+                        if (cause.getCause() == null) {
+                                return cause instanceof StudentException;
+                        }
+                        cause = cause.getCause();
+                }
+        }
+
+        /**
+         * Splits an events field into event names or IDs, dropping blanks and "none".
+         *
+         * @param value the field, with tokens separated by ';'.
+         * @return the trimmed tokens, in field order.
+         */
+        public static List<String> splitEvents(String value) {
+                List<String> tokens = new ArrayList<>();
+                for (String token : value.split(EVENT_SEPARATOR)) {
+                        token = token.trim();
+                        if (!token.isEmpty() && !"none".equalsIgnoreCase(token)) {
+                                tokens.add(token);
+                        }
+                }
+                return tokens;
+        }
+
+        /**
+         * Builds a new, unsaved Student linked to the given branch and events. A fresh Student
+         * is built for every attempt, so one given an ID by a failed group is never saved again.
+         *
+         * @param firstName the first name.
+         * @param lastName the last name.
+         * @param phoneNo the phone number.
+         * @param email the email address.
+         * @param address the address.
+         * @param dob the date of birth.
+         * @param age the age.
+         * @param branch the resolved branch.
+         * @param events the resolved events.
+         * @return the Student.
+         */
+        public static Student newStudent(String firstName, String lastName, String phoneNo, String email, String address,
+                        Date dob, int age, BranchRef branch, Collection<EventRef> events) {
+                Student student = new Student(firstName, lastName, phoneNo, email, address, dob, age);
+                student.setBranch(new Branch(branch.getBranchId(), branch.getBranchName()));
+                Set<Event> selected = new HashSet<>();
+                for (EventRef event : events) {
+                        selected.add(new Event(event.getEventId(), event.getEventName()));
+                }
+                student.setEvents(selected);
+                return student;
+        }
+}
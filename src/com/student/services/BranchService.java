@@ -3,6 +3,7 @@ package com.student.services;
 import com.student.dao.BranchDao;
 import com.student.exception.StudentException;
 import com.student.models.Branch;
+import com.student.models.BranchRef;
 import java.util.List;
 
 /**
@@ -22,6 +23,8 @@ public class BranchService {
                 try {
                         Branch branch = new Branch(branchName);
                         branchDao.saveBranch(branch);
+                        ReportService.invalidateCache();
+                        RowCounts.BRANCHES.add(1);
                 } catch (StudentException se) {
                         throw new StudentException("Error adding branch to database.");
                 }
@@ -36,28 +39,40 @@ public class BranchService {
          */
         public boolean isBranchExistsByName(String branchName) throws StudentException {
                 try {
-                        Branch b = branchDao.getBranchByName(branchName);
-                        return (b != null);
+                        return branchDao.isBranchNameExists(branchName);
                 } catch (StudentException se) {
                         throw new StudentException("No branch found with name: " + branchName);
                 }
         }
 
         /**
-         * Checks if any branch records exist.
+         * Checks if any branch records exist, using the in-memory row count.
          *
          * @return true if at least one branch exists; false otherwise.
          * @throws StudentException if an error occurs.
          */
         public boolean isBranchExists() throws StudentException {
                 try {
-                        List<Branch> branches = branchDao.getAllBranches();
-                        return (branches != null && !branches.isEmpty());
+                        return !RowCounts.BRANCHES.isEmpty();
                 } catch (StudentException se) {
                         throw new StudentException("Branch does not exist in database.");
                 }
         }
 
+        /**
+         * Retrieves the number of branch records from the in-memory row count.
+         *
+         * @return the number of branches.
+         * @throws StudentException if an error occurs.
+         */
+        public long countBranches() throws StudentException {
+                try {
+                        return RowCounts.BRANCHES.get();
+                } catch (StudentException se) {
+                        throw new StudentException("Error counting branch records: " + se.getMessage());
+                }
+        }
+
         /**
          * Retrieves all branch records.
          *
@@ -72,6 +87,20 @@ public class BranchService {
                 }
         }
 
+        /**
+         * Retrieves the ID and name of every branch as read-only references.
+         *
+         * @return a list of BranchRef objects.
+         * @throws StudentException if an error occurs.
+         */
+        public List<BranchRef> getBranchRefs() throws StudentException {
+                try {
+                        return branchDao.getBranchRefs();
+                } catch (StudentException se) {
+                        throw new StudentException("No branch records retrieved.");
+                }
+        }
+
         /**
          * Retrieves the branch ID for a given branch name.
          *
@@ -110,6 +139,22 @@ public class BranchService {
             return null;
         }
 
+        /**
+         * Renames a branch record.
+         *
+         * @param branchId the branch ID.
+         * @param newName the new branch name.
+         * @throws StudentException if an error occurs during update.
+         */
+        public void renameBranch(int branchId, String newName) throws StudentException {
+                try {
+                        branchDao.renameBranch(branchId, newName);
+                        ReportService.invalidateCache();
+                } catch (StudentException se) {
+                        throw new StudentException("Error updating branch records: " + se.getMessage());
+                }
+        }
+
         /**
          * Updates an existing branch record.
          *
@@ -119,6 +164,7 @@ public class BranchService {
         public void updateBranch(Branch branch) throws StudentException {
                 try {
                         branchDao.updateBranch(branch);
+                        ReportService.invalidateCache();
                 } catch (StudentException se) {
                         throw new StudentException("Error updating branch records: " + se.getMessage());
                 }
@@ -132,7 +178,14 @@ public class BranchService {
          */
         public void deleteBranch(int branchId) throws StudentException {
                 try {
-                        branchDao.deleteBranch(branchId);
+                        BranchDao.DeleteCounts deleted = branchDao.deleteBranch(branchId);
+                        ReportService.invalidateCache();
+                        RowCounts.BRANCHES.add(-deleted.getBranches());
+                        RowCounts.STUDENTS.add(-deleted.getStudents());
+                        if (deleted.getStudents() > 0) {
+                                // The deleted students' IDs are not known, so the search index is rebuilt.
+                                StudentSearchIndex.getInstance().invalidate();
+                        }
                 } catch (StudentException se) {
                         throw new StudentException("Error deleting branch records: " + se.getMessage());
                 }
@@ -3,6 +3,7 @@ package com.student.services;
 import com.student.dao.EventDao;
 import com.student.exception.StudentException;
 import com.student.models.Event;
+import com.student.models.EventRef;
 import java.util.List;
 
 /**
@@ -22,26 +23,41 @@ public class EventService {
                 try {
                         Event event = new Event(eventName);
                         eventDao.saveEvent(event);
+                        ReportService.invalidateCache();
+                        RowCounts.EVENTS.add(1);
                 } catch (StudentException se) {
                         throw new StudentException("Error in adding event to database.");
                 }
         }
 
         /**
-         * Checks if any event records exist.
+         * Checks if any event records exist, using the in-memory row count.
          *
          * @return true if at least one event exists; false otherwise.
          * @throws StudentException if an error occurs.
          */
         public boolean isEventsExist() throws StudentException {
                 try {
-                        List<Event> events = eventDao.getAllEvents();
-                        return (events != null && !events.isEmpty());
+                        return !RowCounts.EVENTS.isEmpty();
                 } catch (StudentException se) {
                         throw new StudentException("Event does not exist in database.");
                 }
         }
 
+        /**
+         * Retrieves the number of event records from the in-memory row count.
+         *
+         * @return the number of events.
+         * @throws StudentException if an error occurs.
+         */
+        public long countEvents() throws StudentException {
+                try {
+                        return RowCounts.EVENTS.get();
+                } catch (StudentException se) {
+                        throw new StudentException("Error counting event records: " + se.getMessage());
+                }
+        }
+
         /**
          * Checks if an event exists by its name.
          *
@@ -51,8 +67,7 @@ public class EventService {
          */
         public boolean isEventExistsByName(String eventName) throws StudentException {
                 try {
-                        Event event = eventDao.getEventByName(eventName);
-                        return (event != null);
+                        return eventDao.isEventNameExists(eventName);
                 } catch (StudentException se) {
                         throw new StudentException("No event found with name: " + eventName);
                 }
@@ -72,6 +87,20 @@ public class EventService {
                 }
         }
 
+        /**
+         * Retrieves the ID and name of every event as read-only references.
+         *
+         * @return a list of EventRef objects.
+         * @throws StudentException if an error occurs.
+         */
+        public List<EventRef> getEventRefs() throws StudentException {
+                try {
+                        return eventDao.getEventRefs();
+                } catch (StudentException se) {
+                        throw new StudentException("No event records retrieved.");
+                }
+        }
+
         /**
          * Retrieves the event ID for a given event name.
          *
@@ -104,6 +133,22 @@ public class EventService {
                 }
         }
 
+        /**
+         * Renames an event record.
+         *
+         * @param eventId the event ID.
+         * @param newName the new event name.
+         * @throws StudentException if an error occurs during update.
+         */
+        public void renameEvent(int eventId, String newName) throws StudentException {
+                try {
+                        eventDao.renameEvent(eventId, newName);
+                        ReportService.invalidateCache();
+                } catch (StudentException se) {
+                        throw new StudentException("Error updating event records: " + se.getMessage());
+                }
+        }
+
         /**
          * Updates an existing event record.
          *
@@ -113,6 +158,7 @@ public class EventService {
         public void updateEvent(Event event) throws StudentException {
                 try {
                         eventDao.updateEvent(event);
+                        ReportService.invalidateCache();
                 }
                  catch (StudentException se) {
                         throw new StudentException("Error updating event records: " + se.getMessage());
@@ -127,7 +173,9 @@ public class EventService {
          */
         public void deleteEvent(int eventId) throws StudentException {
                 try {
-                        eventDao.deleteEvent(eventId);
+                        int deleted = eventDao.deleteEvent(eventId);
+                        ReportService.invalidateCache();
+                        RowCounts.EVENTS.add(-deleted);
                 } catch (StudentException se) {
                         throw new StudentException("Error deleting event records: " + se.getMessage());
                 }
@@ -0,0 +1,176 @@
+package com.student.services;
+
+import com.student.dao.BranchDao;
+import com.student.dao.EventDao;
+import com.student.exception.StudentException;
+import com.student.models.BranchRef;
+import com.student.models.EventRef;
+import com.student.util.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+        * ReferenceResolver turns user input, a branch or event ID or a name in any case, into
+        * the matching BranchRef or EventRef. It keeps an ID index and a lower-case name index of
+        * every branch and event, shared by all instances, so a whole list of tokens resolves
+        * with one hash lookup each instead of a scan of the reference list per token.
+        *
+        * The indexes are rebuilt from the cached reference lists whenever the DAO's list cache
+        * region has been invalidated, i.e. after any branch or event write. Tokens missing from
+        * the index are looked up in the database with a single IN query, which catches rows added
+        * by another process; if that finds anything, the DAO's caches are invalidated so the
+        * next call rebuilds the index.
+        */
+public class ReferenceResolver {
+        private static volatile Index<BranchRef> branchIndex = Index.empty();
+        private static volatile Index<EventRef> eventIndex = Index.empty();
+
+        private BranchDao branchDao = new BranchDao();
+        private EventDao eventDao = new EventDao();
+
+        /**
+         * Immutable ID and lower-case name indexes over one list of references, tagged with
+         * the cache generation they were built from.
+         */
+        private static class Index<R> {
+                final long generation;
+                final Map<Integer, R> byId;
+                final Map<String, R> byName;
+
+                Index(long generation, List<R> refs, ToIntFunction<R> id, Function<R, String> name) {
+                        this.generation = generation;
+                        this.byId = new HashMap<>(refs.size() * 2);
+                        this.byName = new HashMap<>(refs.size() * 2);
+                        for (R ref : refs) {
+                                byId.put(id.applyAsInt(ref), ref);
+                                byName.put(name.apply(ref).toLowerCase(Locale.ROOT), ref);
+                        }
+                }
+
+                static <R> Index<R> empty() {
+                        return new Index<>(-1, Collections.emptyList(), null, null);
+                }
+        }
+
+        /**
+         * Looks up the references matching any of the given IDs or lower-case names.
+         */
+        private interface MatchLoader<R> {
+                List<R> load(Collection<Integer> ids, Collection<String> names) throws StudentException;
+        }
+
+        /**
+         * Resolves a branch ID or name.
+         *
+         * @param token the branch ID or name, in any case.
+         * @return the matching branch, or null if there is none.
+         * @throws StudentException if an error occurs while reading branches.
+         */
+        public BranchRef resolveBranch(String token) throws StudentException {
+                return resolveBranches(Collections.singletonList(token)).get(token.trim());
+        }
+
+        /**
+         * Resolves a list of branch IDs and names in one call.
+         *
+         * @param tokens the branch IDs or names, in any case.
+         * @return the resolved branches keyed by the trimmed token, in input order; unknown tokens are left out.
+         * @throws StudentException if an error occurs while reading branches.
+         */
+        public Map<String, BranchRef> resolveBranches(List<String> tokens) throws StudentException {
+                Index<BranchRef> index = branchIndex;
+                long generation = BranchDao.getCache().getGeneration();
+                if (index.generation != generation) {
+                        index = new Index<>(generation, branchDao.getBranchRefs(),
+                                BranchRef::getBranchId, BranchRef::getBranchName);
+                        branchIndex = index;
+                }
+                return resolve(tokens, index, BranchDao::invalidateCache, branchDao::getBranchRefs, BranchRef::getBranchId, BranchRef::getBranchName);
+        }
+
+        /**
+         * Resolves an event ID or name.
+         *
+         * @param token the event ID or name, in any case.
+         * @return the matching event, or null if there is none.
+         * @throws StudentException if an error occurs while reading events.
+         */
+        public EventRef resolveEvent(String token) throws StudentException {
+                return resolveEvents(Collections.singletonList(token)).get(token.trim());
+        }
+
+        /**
+         * Resolves a list of event IDs and names, e.g. the parts of a comma-separated selection, in one call.
+         *
+         * @param tokens the event IDs or names, in any case.
+         * @return the resolved events keyed by the trimmed token, in input order; unknown tokens are left out.
+         * @throws StudentException if an error occurs while reading events.
+         */
+        public Map<String, EventRef> resolveEvents(List<String> tokens) throws StudentException {
+                Index<EventRef> index = eventIndex;
+                long generation = EventDao.getCache().getGeneration();
+                if (index.generation != generation) {
+                        index = new Index<>(generation, eventDao.getEventRefs(),
+                                EventRef::getEventId, EventRef::getEventName);
+                        eventIndex = index;
+                }
+                return resolve(tokens, index, EventDao::invalidateCache, eventDao::getEventRefs, EventRef::getEventId, EventRef::getEventName);
+        }
+
+        private static <R> Map<String, R> resolve(List<String> tokens, Index<R> index, Runnable invalidate,
+                        MatchLoader<R> loader, ToIntFunction<R> id, Function<R, String> name) throws StudentException {
+                Map<String, R> resolved = new LinkedHashMap<>();
+                Set<Integer> missingIds = new LinkedHashSet<>();
+                Set<String> missingNames = new LinkedHashSet<>();
+                List<String> missing = new ArrayList<>();
+                for (String raw : tokens) {
+                        String token = raw.trim();
+                        if (token.isEmpty() || resolved.containsKey(token)) {
+                                continue;
+                        }
+                        R ref;
+                        if (Validator.isValidInteger(token)) {
+                                int key = Integer.parseInt(token);
+                                ref = index.byId.get(key);
+                                if (ref == null) {
+                                        missingIds.add(key);
+                                }
+                        } else {
+                                String key = token.toLowerCase(Locale.ROOT);
+                                ref = index.byName.get(key);
+                                if (ref == null) {
+                                        missingNames.add(key);
+                                }
+                        }
+                        // Keep the input order; unresolved tokens are filled in or dropped below.
+                        resolved.put(token, ref);
+                        if (ref == null) {
+                                missing.add(token);
+                        }
+                }
+                if (!missing.isEmpty()) {
+                        List<R> found = loader.load(missingIds, missingNames);
+                        if (!found.isEmpty()) {
+                                invalidate.run();
+                                Index<R> extra = new Index<>(-1, found, id, name);
+                                for (String token : missing) {
+                                        resolved.put(token, Validator.isValidInteger(token)
+                                                ? extra.byId.get(Integer.parseInt(token))
+                                                : extra.byName.get(token.toLowerCase(Locale.ROOT)));
+                                }
+                        }
+                        resolved.values().removeIf(ref -> ref == null);
+                }
+                return resolved;
+        }
+}
@@ -0,0 +1,120 @@
+package com.student.services;
+
+import com.student.dao.ReportDao;
+import com.student.exception.StudentException;
+import com.student.models.AgeCount;
+import com.student.models.BranchCount;
+import com.student.models.BranchEventCount;
+import com.student.models.EventCount;
+import com.student.util.ReferenceCache;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+        * ReportService provides aggregate reports: students per branch, event participation,
+        * the age distribution and the branch by event cross-tab. Each report is computed by
+        * the database with one GROUP BY query.
+        *
+        * A service created in cached mode keeps each report until the next write through
+        * StudentService, BranchService or EventService, which clears the shared report cache.
+        * Writes made directly through the DAOs are not seen until then.
+        */
+public class ReportService {
+        /** Shared caches of computed reports, one region per report, cleared on every student, branch or event write. */
+        private static final ReferenceCache<String, List<BranchCount>> branchCache = new ReferenceCache<>("report.branches", 1);
+        private static final ReferenceCache<String, List<EventCount>> eventCache = new ReferenceCache<>("report.events", 1);
+        private static final ReferenceCache<String, List<AgeCount>> ageCache = new ReferenceCache<>("report.ages", 1);
+        private static final ReferenceCache<String, List<BranchEventCount>> crossTabCache = new ReferenceCache<>("report.crosstab", 1);
+
+        private ReportDao reportDao = new ReportDao();
+        private final boolean cached;
+
+        /**
+         * Creates a service that computes every report afresh.
+         */
+        public ReportService() {
+                this(false);
+        }
+
+        /**
+         * Creates a service that optionally serves reports from the shared report cache.
+         *
+         * @param cached true to cache reports until the next write.
+         */
+        public ReportService(boolean cached) {
+                this.cached = cached;
+        }
+
+        /**
+         * Counts the students in every branch.
+         *
+         * @return one row per branch, largest branch first.
+         * @throws StudentException if the report cannot be computed.
+         */
+        public List<BranchCount> getStudentsPerBranch() throws StudentException {
+                try {
+                        return report(branchCache, reportDao::getStudentsPerBranch);
+                } catch (StudentException se) {
+                        throw new StudentException("Error generating branch report: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Counts the students taking part in every event.
+         *
+         * @return one row per event, most popular first.
+         * @throws StudentException if the report cannot be computed.
+         */
+        public List<EventCount> getEventParticipation() throws StudentException {
+                try {
+                        return report(eventCache, reportDao::getEventParticipation);
+                } catch (StudentException se) {
+                        throw new StudentException("Error generating event report: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Counts the students of each age.
+         *
+         * @return one row per age, youngest first.
+         * @throws StudentException if the report cannot be computed.
+         */
+        public List<AgeCount> getAgeDistribution() throws StudentException {
+                try {
+                        return report(ageCache, reportDao::getAgeDistribution);
+                } catch (StudentException se) {
+                        throw new StudentException("Error generating age report: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Counts the students of each branch taking part in each event.
+         *
+         * @return one row per non-empty branch and event pair.
+         * @throws StudentException if the report cannot be computed.
+         */
+        public List<BranchEventCount> getBranchEventCrossTab() throws StudentException {
+                try {
+                        return report(crossTabCache, reportDao::getBranchEventCrossTab);
+                } catch (StudentException se) {
+                        throw new StudentException("Error generating branch and event report: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Clears the shared report cache. Called by the services after every write.
+         */
+        static void invalidateCache() {
+                branchCache.invalidateAll();
+                eventCache.invalidateAll();
+                ageCache.invalidateAll();
+                crossTabCache.invalidateAll();
+        }
+
+        private <T> List<T> report(ReferenceCache<String, List<T>> cache, ReferenceCache.Loader<List<T>> loader) throws StudentException {
+                if (!cached) {
+                        return loader.load();
+                }
+                return new ArrayList<>(cache.get("all", loader));
+        }
+}
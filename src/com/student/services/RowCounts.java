@@ -0,0 +1,19 @@
+package com.student.services;
+
+import com.student.dao.BranchDao;
+import com.student.dao.EventDao;
+import com.student.dao.StudentDao;
+import com.student.util.RowCounter;
+
+/**
+        * RowCounts holds the row counters of the branch, event and student tables, shared by
+        * the services that insert and delete those rows.
+        */
+final class RowCounts {
+        static final RowCounter BRANCHES = new RowCounter("branch", () -> new BranchDao().countBranches());
+        static final RowCounter EVENTS = new RowCounter("event", () -> new EventDao().countEvents());
+        static final RowCounter STUDENTS = new RowCounter("student", () -> new StudentDao().countStudents());
+
+        private RowCounts() {
+        }
+}
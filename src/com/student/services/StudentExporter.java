@@ -0,0 +1,177 @@
+package com.student.services;
+
+import com.student.dao.StudentDao;
+import com.student.exception.StudentException;
+import com.student.models.ExportResult;
+import com.student.models.StudentExport;
+import com.student.util.ChannelWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+        * StudentExporter writes every student, with its branch and event names, to a CSV or
+        * JSON Lines file. Rows come from StudentDao.streamStudentExports, a cursor read in
+        * fetch-size chunks, and each row is formatted into one reused StringBuilder and
+        * appended to a ChannelWriter, so memory use does not grow with the table.
+        *
+        * The CSV columns are those StudentImporter reads, with the student ID first, so an
+        * export can be imported again. Events are separated by ';' in CSV and listed as an
+        * array in JSON Lines.
+        */
+public class StudentExporter {
+        public static final String CSV_HEADER = "student_id,first_name,last_name,dob,age,email,phone_no,address,branch,events";
+
+        private StudentDao studentDao = new StudentDao();
+
+        /**
+         * Output formats.
+         */
+        public enum Format {
+                CSV,
+                JSON_LINES
+        }
+
+        /**
+         * Exports all students to a file, replacing it if it exists.
+         *
+         * @param file the output file.
+         * @param format the output format.
+         * @return the number of rows and bytes written and the time taken.
+         * @throws StudentException if the file cannot be written or the students cannot be read.
+         */
+        public ExportResult export(Path file, Format format) throws StudentException {
+                long start = System.nanoTime();
+                try (ChannelWriter out = new ChannelWriter(file)) {
+                        StringBuilder line = new StringBuilder(512);
+                        if (format == Format.CSV) {
+                                out.append(CSV_HEADER + "\n");
+                        }
+                        int rows = studentDao.streamStudentExports(student -> {
+                                line.setLength(0);
+                                if (format == Format.CSV) {
+                                        appendCsv(line, student);
+                                } else {
+                                        appendJson(line, student);
+                                }
+                                try {
+                                        out.append(line);
+                                } catch (IOException se) {
+                                        throw new UncheckedIOException(se);
+                                }
+                        });
+                        out.flush();
+                        return new ExportResult(rows, out.getBytesWritten(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                } catch (IOException se) {
+                        throw new StudentException("Error writing export file " + file + ": " + se.getMessage());
+                } catch (StudentException se) {
+                        throw new StudentException("Error exporting students: " + se.getMessage());
+                }
+        }
+
+        private static void appendCsv(StringBuilder line, StudentExport student) {
+                line.append(student.getId()).append(',');
+                appendCsvField(line, student.getFirstName());
+                line.append(',');
+                appendCsvField(line, student.getLastName());
+                line.append(',').append(student.getDob()).append(',').append(student.getAge()).append(',');
+                appendCsvField(line, student.getEmail());
+                line.append(',');
+                appendCsvField(line, student.getPhoneNo());
+                line.append(',');
+                appendCsvField(line, student.getAddress());
+                line.append(',');
+                appendCsvField(line, student.getBranchName());
+                line.append(',');
+                appendCsvField(line, String.join(";", student.getEventNames()));
+                line.append('\n');
+        }
+
+        /**
+         * Appends a CSV field, quoting it if it holds a comma, quote or line break.
+         */
+        private static void appendCsvField(StringBuilder line, String value) {
+                boolean quote = false;
+                for (int i = 0; i < value.length() && !quote; i++) {
+                        char c = value.charAt(i);
+                        quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+                }
+                if (!quote) {
+                        line.append(value);
+                        return;
+                }
+                line.append('"');
+                for (int i = 0; i < value.length(); i++) {
+                        char c = value.charAt(i);
+                        if (c == '"') {
+                                line.append('"');
+                        }
+                        line.append(c);
+                }
+                line.append('"');
+        }
+
+        private static void appendJson(StringBuilder line, StudentExport student) {
+                line.append("{\"id\":").append(student.getId());
+                line.append(",\"firstName\":");
+                appendJsonString(line, student.getFirstName());
+                line.append(",\"lastName\":");
+                appendJsonString(line, student.getLastName());
+                line.append(",\"dob\":\"").append(student.getDob()).append('"');
+                line.append(",\"age\":").append(student.getAge());
+                line.append(",\"email\":");
+                appendJsonString(line, student.getEmail());
+                line.append(",\"phoneNo\":");
+                appendJsonString(line, student.getPhoneNo());
+                line.append(",\"address\":");
+                appendJsonString(line, student.getAddress());
+                line.append(",\"branch\":");
+                appendJsonString(line, student.getBranchName());
+                line.append(",\"events\":[");
+                List<String> events = student.getEventNames();
+                for (int i = 0; i < events.size(); i++) {
+                        if (i > 0) {
+                                line.append(',');
+                        }
+                        appendJsonString(line, events.get(i));
+                }
+                line.append("]}\n");
+        }
+
+        /**
+         * Appends a JSON string literal, escaping quotes, backslashes and control characters.
+         */
+        private static void appendJsonString(StringBuilder line, String value) {
+                line.append('"');
+                for (int i = 0; i < value.length(); i++) {
+                        char c = value.charAt(i);
+                        switch (c) {
+                                case '"':
+                                        line.append("\\\"");
+                                        break;
+                                case '\\':
+                                        line.append("\\\\");
+                                        break;
+                                case '\n':
+                                        line.append("\\n");
+                                        break;
+                                case '\r':
+                                        line.append("\\r");
+                                        break;
+                                case '\t':
+                                        line.append("\\t");
+                                        break;
+                                default:
+                                        if (c < 0x20) {
+                                                line.append(String.format("\\u%04x", (int) c));
+                                        } else {
+                                                line.append(c);
+                                        }
+                        }
+                }
+                line.append('"');
+        }
+}
@@ -0,0 +1,477 @@
+package com.student.services;
+
+import com.student.dao.StudentDao;
+import com.student.exception.StudentException;
+import com.student.models.BranchRef;
+import com.student.models.EventRef;
+import com.student.models.ImportError;
+import com.student.models.ImportResult;
+import com.student.models.Student;
+import com.student.util.CsvReader;
+import com.student.util.SessionFactoryProvider;
+import com.student.util.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+        * StudentImporter loads students from CSV in three stages joined by bounded queues:
+        *
+        * 1. A parser thread reads the file record by record and groups the records into chunks.
+        * 2. Validation threads check every row against the same Validator rules as the console.
+        * 3. The calling thread resolves the branch and event names of a whole chunk at once
+        *    through the ReferenceResolver and inserts the chunk in one transaction.
+        *
+        * Only a few chunks are in flight at any time, so memory stays flat however large the
+        * file is. Chunks are written in the order validation finishes them, not file order.
+        * Rejected rows are handed to an error consumer as they are found instead of being
+        * collected. Each chunk is written through BatchWriter: if its transaction fails because a
+        * row's data is at fault, the rows are retried one by one so that only the offending rows
+        * are rejected. A read error or any other database failure, such as a lost connection or a
+        * pool timeout, stops the import; the chunks already written stay committed.
+        *
+        * The file needs a header row naming the columns first_name, last_name, dob, age, email,
+        * phone_no, address and branch, in any order; an optional events column holds event names
+        * or IDs separated by ';'. This is the format DatasetGenerator writes.
+        *
+        * The chunk size and the number of validation threads are read from the
+        * "student.import.chunk_size" (500) and "student.import.workers" (one per processor)
+        * settings, which take the same overrides as every other SessionFactoryProvider setting.
+        */
+public class StudentImporter {
+        public static final String CHUNK_SIZE = "student.import.chunk_size";
+        public static final String WORKERS = "student.import.workers";
+
+        private static final String[] COLUMNS = {"first_name", "last_name", "dob", "age", "email", "phone_no", "address", "branch"};
+        private static final int FIRST_NAME = 0;
+        private static final int LAST_NAME = 1;
+        private static final int DOB = 2;
+        private static final int AGE = 3;
+        private static final int EMAIL = 4;
+        private static final int PHONE = 5;
+        private static final int ADDRESS = 6;
+        private static final int BRANCH = 7;
+        private static final String EVENTS_COLUMN = "events";
+
+        private final int chunkSize;
+        private final int workers;
+        private StudentService studentService = new StudentService();
+        private ReferenceResolver referenceResolver = new ReferenceResolver();
+
+        /**
+         * Records read from the file, with the line each one started on.
+         */
+        private static final class RawChunk {
+                static final RawChunk END = new RawChunk(0);
+
+                final List<String[]> records;
+                final List<Long> lines;
+
+                RawChunk(int size) {
+                        this.records = new ArrayList<>(size);
+                        this.lines = new ArrayList<>(size);
+                }
+        }
+
+        /**
+         * The valid rows of a chunk and the errors found in the others.
+         */
+        private static final class ValidatedChunk {
+                static final ValidatedChunk END = new ValidatedChunk();
+
+                final List<Row> rows = new ArrayList<>();
+                final List<ImportError> errors = new ArrayList<>();
+                long validationNanos;
+        }
+
+        /**
+         * One row that passed validation, with its branch and event tokens still unresolved.
+         */
+        private static final class Row {
+                long line;
+                String firstName;
+                String lastName;
+                Date dob;
+                int age;
+                String email;
+                String phoneNo;
+                String address;
+                String branch;
+                List<String> events = List.of();
+        }
+
+        /**
+         * Creates an importer with the configured chunk size and number of validation threads.
+         */
+        public StudentImporter() {
+                this(SessionFactoryProvider.getIntSetting(CHUNK_SIZE, 500),
+                        SessionFactoryProvider.getIntSetting(WORKERS, Runtime.getRuntime().availableProcessors()));
+        }
+
+        /**
+         * Creates an importer.
+         *
+         * @param chunkSize the number of rows validated together and written in one transaction.
+         * @param workers the number of validation threads.
+         */
+        public StudentImporter(int chunkSize, int workers) {
+                if (chunkSize < 1 || workers < 1) {
+                        throw new IllegalArgumentException("Invalid import settings: chunkSize=" + chunkSize
+                                + ", workers=" + workers);
+                }
+                this.chunkSize = chunkSize;
+                this.workers = workers;
+        }
+
+        /**
+         * Imports the students in a UTF-8 CSV file.
+         *
+         * @param file the CSV file.
+         * @param errors receives every rejected row, in the order they are found.
+         * @return the import counts and timings.
+         * @throws StudentException if the file cannot be read or the database fails.
+         */
+        public ImportResult importCsv(Path file, Consumer<ImportError> errors) throws StudentException {
+                Reader reader;
+                try {
+                        reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                } catch (IOException se) {
+                        throw new StudentException("Error opening import file " + file + ": " + se.getMessage());
+                }
+                return importCsv(reader, errors);
+        }
+
+        /**
+         * Imports the students in CSV text. The reader is closed when the import ends.
+         *
+         * @param input the CSV text, starting with the header row.
+         * @param errors receives every rejected row, in the order they are found.
+         * @return the import counts and timings.
+         * @throws StudentException if the input cannot be read or the database fails.
+         */
+        public ImportResult importCsv(Reader input, Consumer<ImportError> errors) throws StudentException {
+                long start = System.nanoTime();
+                AtomicInteger threads = new AtomicInteger();
+                ExecutorService stages = Executors.newFixedThreadPool(workers + 1, runnable -> {
+                        Thread thread = new Thread(runnable, "student-import-" + threads.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                });
+                try (CsvReader csv = new CsvReader(input)) {
+                        int[] columns = readHeader(csv);
+                        BlockingQueue<RawChunk> parsed = new ArrayBlockingQueue<>(workers * 2);
+                        BlockingQueue<ValidatedChunk> validated = new ArrayBlockingQueue<>(workers * 2);
+                        Future<Long> parser = stages.submit(() -> parse(csv, parsed));
+                        for (int i = 0; i < workers; i++) {
+                                stages.submit(() -> validate(columns, parsed, validated));
+                        }
+
+                        long imported = 0;
+                        long rejected = 0;
+                        int chunks = 0;
+                        long validationNanos = 0;
+                        long writeNanos = 0;
+                        int finished = 0;
+                        while (finished < workers) {
+                                ValidatedChunk chunk = validated.take();
+                                if (chunk == ValidatedChunk.END) {
+                                        finished++;
+                                        continue;
+                                }
+                                chunks++;
+                                validationNanos += chunk.validationNanos;
+                                for (ImportError error : chunk.errors) {
+                                        errors.accept(error);
+                                }
+                                rejected += chunk.errors.size();
+                                long writeStart = System.nanoTime();
+                                int written = write(chunk.rows, errors);
+                                writeNanos += System.nanoTime() - writeStart;
+                                imported += written;
+                                rejected += chunk.rows.size() - written;
+                        }
+                        long read = parser.get();
+                        return new ImportResult(read, imported, rejected, chunks,
+                                TimeUnit.NANOSECONDS.toMillis(validationNanos), TimeUnit.NANOSECONDS.toMillis(writeNanos),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                } catch (ExecutionException se) {
+                        throw new StudentException("Error reading import file: " + se.getCause().getMessage());
+                } catch (IOException se) {
+                        throw new StudentException("Error reading import file: " + se.getMessage());
+                } catch (InterruptedException se) {
+                        Thread.currentThread().interrupt();
+                        throw new StudentException("Import interrupted.");
+                } finally {
+                        stages.shutdownNow();
+                }
+        }
+
+        /**
+         * Maps each required column, and the optional events column, to its position in the header.
+         */
+        private static int[] readHeader(CsvReader csv) throws IOException, StudentException {
+                String[] header = csv.readRecord();
+                if (header == null) {
+                        throw new StudentException("The import file is empty.");
+                }
+                int[] columns = new int[COLUMNS.length + 1];
+                Arrays.fill(columns, -1);
+                for (int i = 0; i < header.length; i++) {
+                        String name = header[i].trim().toLowerCase(Locale.ROOT);
+                        for (int c = 0; c < COLUMNS.length; c++) {
+                                if (COLUMNS[c].equals(name)) {
+                                        columns[c] = i;
+                                }
+                        }
+                        if (EVENTS_COLUMN.equals(name)) {
+                                columns[COLUMNS.length] = i;
+                        }
+                }
+                for (int c = 0; c < COLUMNS.length; c++) {
+                        if (columns[c] < 0) {
+                                throw new StudentException("The import file has no '" + COLUMNS[c] + "' column.");
+                        }
+                }
+                return columns;
+        }
+
+        /**
+         * Parser stage: reads the records into chunks, then tells every validation thread to stop.
+         *
+         * @return the number of records read.
+         */
+        private long parse(CsvReader csv, BlockingQueue<RawChunk> parsed) throws IOException, InterruptedException {
+                long read = 0;
+                try {
+                        RawChunk chunk = new RawChunk(chunkSize);
+                        String[] record;
+                        while ((record = csv.readRecord()) != null) {
+                                chunk.records.add(record);
+                                chunk.lines.add(csv.getRecordLine());
+                                read++;
+                                if (chunk.records.size() == chunkSize) {
+                                        parsed.put(chunk);
+                                        chunk = new RawChunk(chunkSize);
+                                }
+                        }
+                        if (!chunk.records.isEmpty()) {
+                                parsed.put(chunk);
+                        }
+                        return read;
+                } finally {
+                        for (int i = 0; i < workers; i++) {
+                                parsed.put(RawChunk.END);
+                        }
+                }
+        }
+
+        /**
+         * Validation stage: checks each chunk column by column until the parser is done. The
+         * column buffers belong to this thread and are reused for every chunk.
+         */
+        private Void validate(int[] columns, BlockingQueue<RawChunk> parsed, BlockingQueue<ValidatedChunk> validated)
+                        throws InterruptedException {
+                try {
+                        ColumnBuffers buffers = new ColumnBuffers(chunkSize);
+                        RawChunk chunk;
+                        while ((chunk = parsed.take()) != RawChunk.END) {
+                                long start = System.nanoTime();
+                                ValidatedChunk result = new ValidatedChunk();
+                                try {
+                                        validateChunk(columns, chunk, buffers, result);
+                                } catch (RuntimeException se) {
+                                        result.rows.clear();
+                                        result.errors.clear();
+                                        for (long line : chunk.lines) {
+                                                result.errors.add(new ImportError(line, "Unexpected error: " + se));
+                                        }
+                                }
+                                result.validationNanos = System.nanoTime() - start;
+                                validated.put(result);
+                        }
+                        return null;
+                } finally {
+                        validated.put(ValidatedChunk.END);
+                }
+        }
+
+        /**
+         * Per-thread buffers holding one chunk split into columns, and the check results per column.
+         */
+        private static final class ColumnBuffers {
+                final String[][] values = new String[COLUMNS.length][];
+                final boolean[][] valid = new boolean[COLUMNS.length][];
+                final Date[] dobs;
+                final int[] ages;
+                final boolean[] complete;
+
+                ColumnBuffers(int size) {
+                        for (int c = 0; c < COLUMNS.length; c++) {
+                                values[c] = new String[size];
+                                valid[c] = new boolean[size];
+                        }
+                        dobs = new Date[size];
+                        ages = new int[size];
+                        complete = new boolean[size];
+                }
+        }
+
+        /**
+         * Splits a chunk into columns, runs each column through the matching Validator column
+         * check, and turns every row into either a Row or one error listing all its problems.
+         */
+        private static void validateChunk(int[] columns, RawChunk chunk, ColumnBuffers buffers, ValidatedChunk result) {
+                int needed = 0;
+                for (int column : columns) {
+                        needed = Math.max(needed, column + 1);
+                }
+                int count = chunk.records.size();
+                for (int i = 0; i < count; i++) {
+                        String[] record = chunk.records.get(i);
+                        buffers.complete[i] = record.length >= needed;
+                        for (int c = 0; c < COLUMNS.length; c++) {
+                                buffers.values[c][i] = buffers.complete[i] ? record[columns[c]].trim() : "";
+                        }
+                }
+                Validator.validateColumn(Validator.Rule.STRING, buffers.values[FIRST_NAME], count, buffers.valid[FIRST_NAME]);
+                Validator.validateColumn(Validator.Rule.STRING, buffers.values[LAST_NAME], count, buffers.valid[LAST_NAME]);
+                Validator.parseDateColumn(buffers.values[DOB], count, buffers.dobs);
+                Validator.parseIntegerColumn(buffers.values[AGE], count, buffers.ages, buffers.valid[AGE]);
+                Validator.validateColumn(Validator.Rule.EMAIL, buffers.values[EMAIL], count, buffers.valid[EMAIL]);
+                Validator.validateColumn(Validator.Rule.PHONE, buffers.values[PHONE], count, buffers.valid[PHONE]);
+                Validator.validateColumn(Validator.Rule.STRING, buffers.values[ADDRESS], count, buffers.valid[ADDRESS]);
+                Validator.validateColumn(Validator.Rule.STRING, buffers.values[BRANCH], count, buffers.valid[BRANCH]);
+
+                int eventsColumn = columns[COLUMNS.length];
+                for (int i = 0; i < count; i++) {
+                        long line = chunk.lines.get(i);
+                        String[] record = chunk.records.get(i);
+                        if (!buffers.complete[i]) {
+                                result.errors.add(new ImportError(line, "Expected " + needed + " fields, found " + record.length + "."));
+                                continue;
+                        }
+                        List<String> problems = new ArrayList<>();
+                        if (!buffers.valid[FIRST_NAME][i]) {
+                                problems.add("first name is blank");
+                        }
+                        if (!buffers.valid[LAST_NAME][i]) {
+                                problems.add("last name is blank");
+                        }
+                        if (buffers.dobs[i] == null) {
+                                problems.add("invalid date of birth '" + buffers.values[DOB][i] + "', expected yyyy-MM-dd");
+                        }
+                        if (!buffers.valid[AGE][i]) {
+                                problems.add("invalid age '" + buffers.values[AGE][i] + "'");
+                        }
+                        if (!buffers.valid[EMAIL][i]) {
+                                problems.add("invalid email '" + buffers.values[EMAIL][i] + "'");
+                        }
+                        if (!buffers.valid[PHONE][i]) {
+                                problems.add("invalid phone number '" + buffers.values[PHONE][i] + "'");
+                        }
+                        if (!buffers.valid[ADDRESS][i]) {
+                                problems.add("address is blank");
+                        }
+                        if (!buffers.valid[BRANCH][i]) {
+                                problems.add("branch is blank");
+                        }
+                        if (!problems.isEmpty()) {
+                                result.errors.add(new ImportError(line, "Invalid row: " + String.join("; ", problems) + "."));
+                                continue;
+                        }
+                        Row row = new Row();
+                        row.line = line;
+                        row.firstName = buffers.values[FIRST_NAME][i];
+                        row.lastName = buffers.values[LAST_NAME][i];
+                        row.dob = buffers.dobs[i];
+                        row.age = buffers.ages[i];
+                        row.email = buffers.values[EMAIL][i];
+                        row.phoneNo = buffers.values[PHONE][i];
+                        row.address = buffers.values[ADDRESS][i];
+                        row.branch = buffers.values[BRANCH][i];
+                        if (eventsColumn >= 0) {
+                                row.events = BatchWriter.splitEvents(record[eventsColumn]);
+                        }
+                        result.rows.add(row);
+                }
+        }
+
+        /**
+         * Writer stage: resolves the branches and events of a chunk in bulk and inserts its rows
+         * in one transaction through BatchWriter, which falls back to one transaction per row if
+         * a row's data is at fault.
+         *
+         * @return the number of rows inserted.
+         * @throws StudentException if the database fails for any other reason.
+         */
+        private int write(List<Row> rows, Consumer<ImportError> errors) throws StudentException {
+                if (rows.isEmpty()) {
+                        return 0;
+                }
+                Set<String> branchTokens = new LinkedHashSet<>();
+                Set<String> eventTokens = new LinkedHashSet<>();
+                for (Row row : rows) {
+                        branchTokens.add(row.branch);
+                        eventTokens.addAll(row.events);
+                }
+                Map<String, BranchRef> branches = referenceResolver.resolveBranches(new ArrayList<>(branchTokens));
+                Map<String, EventRef> events = eventTokens.isEmpty() ? Map.of()
+                        : referenceResolver.resolveEvents(new ArrayList<>(eventTokens));
+
+                List<Row> resolved = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                        String problem = null;
+                        if (!branches.containsKey(row.branch)) {
+                                problem = "Branch '" + row.branch + "' does not exist.";
+                        }
+                        for (String event : row.events) {
+                                if (problem == null && !events.containsKey(event)) {
+                                        problem = "Event '" + event + "' does not exist.";
+                                }
+                        }
+                        if (problem != null) {
+                                errors.accept(new ImportError(row.line, problem));
+                                continue;
+                        }
+                        resolved.add(row);
+                }
+                return BatchWriter.write(resolved,
+                        chunk -> {
+                                List<Student> students = new ArrayList<>(chunk.size());
+                                for (Row row : chunk) {
+                                        students.add(toStudent(row, branches, events));
+                                }
+                                studentService.registerStudents(students, StudentDao.DEFAULT_BATCH_SIZE);
+                        },
+                        row -> studentService.registerStudent(toStudent(row, branches, events)),
+                        (row, error) -> errors.accept(new ImportError(row.line, error.getMessage())));
+        }
+
+        private static Student toStudent(Row row, Map<String, BranchRef> branches, Map<String, EventRef> events) {
+                List<EventRef> selected = new ArrayList<>(row.events.size());
+                for (String token : row.events) {
+                        selected.add(events.get(token));
+                }
+                return BatchWriter.newStudent(row.firstName, row.lastName, row.phoneNo, row.email, row.address,
+                        row.dob, row.age, branches.get(row.branch), selected);
+        }
+}
@@ -0,0 +1,446 @@
+package com.student.services;
+
+import com.student.dao.StudentDao;
+import com.student.exception.StudentException;
+import com.student.models.Student;
+import com.student.models.StudentContact;
+import com.student.models.StudentPatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+        * StudentSearchIndex answers type-ahead searches over student first name, last name,
+        * email and phone number from memory, without LIKE queries.
+        *
+        * Every field is split into lower-case terms: the names, the full email and the words
+        * of its local part, and the digits of the phone number. Terms are kept in sorted maps
+        * from term to student IDs, so all terms starting with a prefix are one range of the
+        * map. Name terms are also matched by edit distance (one typo for terms of 4 to 7
+        * characters, two from 8), so "jonh" still finds "john". Name terms are grouped by
+        * length as well, so the edit distance is only computed against terms whose length is
+        * within that distance of the query word.
+        *
+        * A query of several words matches students that match every word. The full match sets
+        * of the words are intersected starting with the smallest, so no match is lost to a cap;
+        * each word scores highest for an exact term, then a prefix, then a fuzzy match, and the
+        * limit is applied to the IDs ranked best first. The index is built from the student
+        * table on first use and then kept up to date by StudentService on every register,
+        * update, patch and delete. Writes that remove students it cannot name, such as deleting
+        * a branch, make it rebuild on the next search.
+        */
+public class StudentSearchIndex {
+        /** Students read per page while building the index. */
+        private static final int BUILD_PAGE_SIZE = 1000;
+
+        /** Match tiers of a query word, and the score each adds to a student. */
+        private static final int EXACT = 0;
+        private static final int PREFIX = 1;
+        private static final int FUZZY = 2;
+        private static final int[] TIER_SCORES = {3, 2, 1};
+
+        private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+        private static final Pattern QUERY_SEPARATOR = Pattern.compile("[\\s,]+");
+        private static final Pattern NON_DIGIT = Pattern.compile("\\D");
+
+        private static final StudentSearchIndex instance = new StudentSearchIndex();
+
+        private volatile NavigableMap<String, Postings> nameTerms = new ConcurrentSkipListMap<>();
+        private volatile NavigableMap<String, Postings> contactTerms = new ConcurrentSkipListMap<>();
+        /** The keys of nameTerms grouped by length, for the fuzzy pass. */
+        private volatile Map<Integer, Set<String>> nameTermsByLength = new ConcurrentHashMap<>();
+        private final Map<Integer, StudentContact> documents = new ConcurrentHashMap<>();
+        private StudentDao studentDao = new StudentDao();
+        private volatile boolean built;
+
+        /**
+         * The IDs of the students with one term, in a plain int array. Only the index's
+         * synchronized writers change it; searches read it without locking and may miss an
+         * ID that is being added or removed at that moment.
+         */
+        private static class Postings {
+                private volatile int[] ids = new int[1];
+                private volatile int size;
+
+                void add(int id) {
+                        int[] current = ids;
+                        if (size == current.length) {
+                                current = Arrays.copyOf(current, current.length * 2);
+                                ids = current;
+                        }
+                        current[size] = id;
+                        size = size + 1;
+                }
+
+                /**
+                 * Removes an ID by moving the last ID into its place.
+                 *
+                 * @return the number of IDs left.
+                 */
+                int remove(int id) {
+                        int[] current = ids;
+                        int last = size - 1;
+                        for (int i = 0; i <= last; i++) {
+                                if (current[i] == id) {
+                                        current[i] = current[last];
+                                        size = last;
+                                        break;
+                                }
+                        }
+                        return size;
+                }
+
+                /**
+                 * Sets the bit of every ID.
+                 *
+                 * @return the number of IDs.
+                 */
+                int addTo(BitSet bits) {
+                        int[] current = ids;
+                        int count = Math.min(size, current.length);
+                        for (int i = 0; i < count; i++) {
+                                bits.set(current[i]);
+                        }
+                        return count;
+                }
+        }
+
+        /**
+         * Returns the index shared by all services.
+         *
+         * @return the shared index.
+         */
+        public static StudentSearchIndex getInstance() {
+                return instance;
+        }
+
+        /**
+         * Finds students whose names, email or phone number match the query.
+         *
+         * @param query one or more words; each may be a whole term, a prefix or, for names, a misspelling.
+         * @param limit the maximum number of IDs to return.
+         * @return the matching student IDs, best match first.
+         * @throws StudentException if the index has to be built and the students cannot be read.
+         */
+        public List<Integer> search(String query, int limit) throws StudentException {
+                ensureBuilt();
+                List<BitSet[]> words = new ArrayList<>();
+                List<BitSet> matches = new ArrayList<>();
+                List<Integer> ids = new ArrayList<>();
+                for (String word : QUERY_SEPARATOR.split(query.toLowerCase(Locale.ROOT))) {
+                        if (word.isEmpty()) {
+                                continue;
+                        }
+                        BitSet[] tiers = match(word);
+                        BitSet any = (BitSet) tiers[EXACT].clone();
+                        any.or(tiers[PREFIX]);
+                        any.or(tiers[FUZZY]);
+                        if (any.isEmpty()) {
+                                return ids;
+                        }
+                        words.add(tiers);
+                        matches.add(any);
+                }
+                if (matches.isEmpty()) {
+                        return ids;
+                }
+                // Intersect from the most selective word, so the working set only shrinks.
+                matches.sort((a, b) -> Integer.compare(a.cardinality(), b.cardinality()));
+                BitSet candidates = matches.get(0);
+                for (int i = 1; i < matches.size() && !candidates.isEmpty(); i++) {
+                        candidates.and(matches.get(i));
+                }
+                if (candidates.isEmpty()) {
+                        return ids;
+                }
+                // Count the candidates per total score to find the lowest score that still makes the
+                // limit, then collect only the IDs at or above it; within a score, IDs stay ascending.
+                int[] counts = new int[words.size() * TIER_SCORES[EXACT] + 1];
+                for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                        counts[score(words, id)]++;
+                }
+                int cutoff = counts.length - 1;
+                int wanted = limit;
+                while (cutoff > 0 && counts[cutoff] < wanted) {
+                        wanted -= counts[cutoff];
+                        cutoff--;
+                }
+                List<List<Integer>> byScore = new ArrayList<>();
+                for (int score = 0; score < counts.length; score++) {
+                        byScore.add(new ArrayList<>(score < cutoff ? 0 : score == cutoff ? Math.min(wanted, counts[score]) : counts[score]));
+                }
+                for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                        int score = score(words, id);
+                        if (score > cutoff || (score == cutoff && byScore.get(score).size() < wanted)) {
+                                byScore.get(score).add(id);
+                        }
+                }
+                for (int score = counts.length - 1; score >= cutoff && ids.size() < limit; score--) {
+                        List<Integer> bucket = byScore.get(score);
+                        ids.addAll(bucket.subList(0, Math.min(bucket.size(), limit - ids.size())));
+                }
+                return ids;
+        }
+
+        /**
+         * Sums the score of a candidate over the query words; every candidate matches every word.
+         */
+        private static int score(List<BitSet[]> words, int id) {
+                int score = 0;
+                for (BitSet[] tiers : words) {
+                        score += tiers[EXACT].get(id) ? TIER_SCORES[EXACT]
+                                : tiers[PREFIX].get(id) ? TIER_SCORES[PREFIX] : TIER_SCORES[FUZZY];
+                }
+                return score;
+        }
+
+        /**
+         * Adds or replaces a student in the index.
+         *
+         * @param contact the student's searchable fields.
+         */
+        public synchronized void put(StudentContact contact) {
+                if (!built) {
+                        return;
+                }
+                StudentContact old = documents.put(contact.getId(), contact);
+                if (old != null) {
+                        unindex(old);
+                }
+                index(contact, nameTerms, contactTerms);
+                for (String term : nameTermsOf(contact)) {
+                        nameTermsByLength.computeIfAbsent(term.length(), key -> ConcurrentHashMap.newKeySet()).add(term);
+                }
+        }
+
+        /**
+         * Adds or replaces a student in the index.
+         *
+         * @param student the student, with its ID set.
+         */
+        public void put(Student student) {
+                put(new StudentContact(student.getId(), student.getFirstName(), student.getLastName(),
+                        student.getEmail(), student.getPhoneNo()));
+        }
+
+        /**
+         * Applies the searchable fields of a partial update to an indexed student.
+         *
+         * @param studentId the student ID.
+         * @param patch the partial update.
+         */
+        public synchronized void patch(int studentId, StudentPatch patch) {
+                StudentContact old = documents.get(studentId);
+                if (old == null || (patch.getFirstName() == null && patch.getLastName() == null
+                                && patch.getEmail() == null && patch.getPhoneNo() == null)) {
+                        return;
+                }
+                put(new StudentContact(studentId,
+                        patch.getFirstName() != null ? patch.getFirstName() : old.getFirstName(),
+                        patch.getLastName() != null ? patch.getLastName() : old.getLastName(),
+                        patch.getEmail() != null ? patch.getEmail() : old.getEmail(),
+                        patch.getPhoneNo() != null ? patch.getPhoneNo() : old.getPhoneNo()));
+        }
+
+        /**
+         * Removes a student from the index.
+         *
+         * @param studentId the student ID.
+         */
+        public synchronized void remove(int studentId) {
+                StudentContact old = documents.remove(studentId);
+                if (old != null) {
+                        unindex(old);
+                }
+        }
+
+        /**
+         * Drops the index so that the next search rebuilds it from the student table.
+         */
+        public synchronized void invalidate() {
+                built = false;
+                nameTerms = new ConcurrentSkipListMap<>();
+                contactTerms = new ConcurrentSkipListMap<>();
+                nameTermsByLength = new ConcurrentHashMap<>();
+                documents.clear();
+        }
+
+        /**
+         * Returns the number of indexed students.
+         *
+         * @return the number of students, or 0 before the index is built.
+         */
+        public int size() {
+                return documents.size();
+        }
+
+        private void ensureBuilt() throws StudentException {
+                if (built) {
+                        return;
+                }
+                synchronized (this) {
+                        if (built) {
+                                return;
+                        }
+                        // Collect the terms in hash maps and sort them once at the end; the sorted-map
+                        // constructor builds a skip list in linear time, unlike one insert per term.
+                        Map<String, Postings> names = new HashMap<>();
+                        Map<String, Postings> contacts = new HashMap<>();
+                        int lastId = 0;
+                        List<StudentContact> page;
+                        do {
+                                page = studentDao.getStudentContactsAfter(lastId, BUILD_PAGE_SIZE);
+                                for (StudentContact contact : page) {
+                                        documents.put(contact.getId(), contact);
+                                        index(contact, names, contacts);
+                                        lastId = contact.getId();
+                                }
+                        } while (page.size() == BUILD_PAGE_SIZE);
+                        Map<Integer, Set<String>> byLength = new ConcurrentHashMap<>();
+                        for (String term : names.keySet()) {
+                                byLength.computeIfAbsent(term.length(), key -> ConcurrentHashMap.newKeySet()).add(term);
+                        }
+                        nameTerms = new ConcurrentSkipListMap<>(new TreeMap<>(names));
+                        contactTerms = new ConcurrentSkipListMap<>(new TreeMap<>(contacts));
+                        nameTermsByLength = byLength;
+                        built = true;
+                }
+        }
+
+        /**
+         * Finds the students matching one query word, split into exact, prefix and fuzzy matches.
+         */
+        private BitSet[] match(String word) {
+                BitSet[] tiers = {new BitSet(), new BitSet(), new BitSet()};
+                NavigableMap<String, Postings> names = nameTerms;
+                for (NavigableMap<String, Postings> terms : List.of(names, contactTerms)) {
+                        for (Map.Entry<String, Postings> entry
+                                        : terms.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+                                entry.getValue().addTo(tiers[entry.getKey().length() == word.length() ? EXACT : PREFIX]);
+                        }
+                }
+                int maxDistance = word.length() >= 8 ? 2 : word.length() >= 4 ? 1 : 0;
+                Map<Integer, Set<String>> byLength = nameTermsByLength;
+                for (int length = word.length() - maxDistance; maxDistance > 0 && length <= word.length() + maxDistance; length++) {
+                        for (String term : byLength.getOrDefault(length, Collections.emptySet())) {
+                                if (!term.startsWith(word) && editDistance(word, term, maxDistance) <= maxDistance) {
+                                        Postings postings = names.get(term);
+                                        if (postings != null) {
+                                                postings.addTo(tiers[FUZZY]);
+                                        }
+                                }
+                        }
+                }
+                tiers[PREFIX].andNot(tiers[EXACT]);
+                tiers[FUZZY].andNot(tiers[EXACT]);
+                tiers[FUZZY].andNot(tiers[PREFIX]);
+                return tiers;
+        }
+
+        private static void index(StudentContact contact, Map<String, Postings> names, Map<String, Postings> contacts) {
+                for (String term : nameTermsOf(contact)) {
+                        names.computeIfAbsent(term, key -> new Postings()).add(contact.getId());
+                }
+                for (String term : contactTermsOf(contact)) {
+                        contacts.computeIfAbsent(term, key -> new Postings()).add(contact.getId());
+                }
+        }
+
+        private void unindex(StudentContact contact) {
+                Set<String> names = nameTermsOf(contact);
+                removeTerms(nameTerms, names, contact.getId());
+                removeTerms(contactTerms, contactTermsOf(contact), contact.getId());
+                for (String term : names) {
+                        Set<String> sameLength = nameTermsByLength.get(term.length());
+                        if (sameLength != null && !nameTerms.containsKey(term)) {
+                                sameLength.remove(term);
+                        }
+                }
+        }
+
+        private static void removeTerms(Map<String, Postings> terms, Set<String> words, int id) {
+                for (String term : words) {
+                        Postings ids = terms.get(term);
+                        if (ids != null && ids.remove(id) == 0) {
+                                terms.remove(term);
+                        }
+                }
+        }
+
+        private static Set<String> nameTermsOf(StudentContact contact) {
+                Set<String> terms = new LinkedHashSet<>();
+                addWords(terms, contact.getFirstName());
+                addWords(terms, contact.getLastName());
+                return terms;
+        }
+
+        private static Set<String> contactTermsOf(StudentContact contact) {
+                Set<String> terms = new LinkedHashSet<>();
+                if (contact.getEmail() != null) {
+                        String email = contact.getEmail().toLowerCase(Locale.ROOT);
+                        int at = email.indexOf('@');
+                        addWords(terms, at >= 0 ? email.substring(0, at) : email);
+                        // Words of the email that are also the student's names are indexed once, as names.
+                        terms.removeAll(nameTermsOf(contact));
+                        terms.add(email);
+                }
+                if (contact.getPhoneNo() != null) {
+                        String digits = NON_DIGIT.matcher(contact.getPhoneNo()).replaceAll("");
+                        if (!digits.isEmpty()) {
+                                terms.add(digits);
+                        }
+                }
+                return terms;
+        }
+
+        private static void addWords(Set<String> terms, String value) {
+                if (value == null) {
+                        return;
+                }
+                for (String word : WORD_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+                        if (!word.isEmpty()) {
+                                terms.add(word);
+                        }
+                }
+        }
+
+        /**
+         * Levenshtein distance between two strings, giving up early with maxDistance + 1
+         * once every cell of a row exceeds maxDistance.
+         */
+        private static int editDistance(String a, String b, int maxDistance) {
+                int[] previous = new int[b.length() + 1];
+                int[] current = new int[b.length() + 1];
+                for (int j = 0; j <= b.length(); j++) {
+                        previous[j] = j;
+                }
+                for (int i = 1; i <= a.length(); i++) {
+                        current[0] = i;
+                        int rowMin = current[0];
+                        for (int j = 1; j <= b.length(); j++) {
+                                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                                rowMin = Math.min(rowMin, current[j]);
+                        }
+                        if (rowMin > maxDistance) {
+                                return maxDistance + 1;
+                        }
+                        int[] swap = previous;
+                        previous = current;
+                        current = swap;
+                }
+                return previous[b.length()];
+        }
+}
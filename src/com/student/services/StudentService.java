@@ -3,7 +3,16 @@ package com.student.services;
 import com.student.dao.StudentDao;
 import com.student.exception.StudentException;
 import com.student.models.Student;
+import com.student.models.StudentContact;
+import com.student.models.StudentPatch;
+import com.student.models.StudentSummary;
+import com.student.util.UnitOfWork;
+import org.hibernate.Hibernate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
         * StudentService handles business operations related to students,
@@ -11,6 +20,7 @@ import java.util.List;
         */
 public class StudentService {
         private StudentDao studentDao = new StudentDao();
+        private StudentSearchIndex searchIndex = StudentSearchIndex.getInstance();
 
         /**
          * Registers a new student in the database and returns the generated student ID.
@@ -22,11 +32,49 @@ public class StudentService {
          * @throws StudentException if registration fails.
          */
         public int  registerStudent(Student student) throws StudentException {
-                return studentDao.registerStudent(student);
+                int studentId = studentDao.registerStudent(student);
+                ReportService.invalidateCache();
+                searchIndex.put(new StudentContact(studentId, student.getFirstName(), student.getLastName(),
+                        student.getEmail(), student.getPhoneNo()));
+                RowCounts.STUDENTS.add(1);
+                return studentId;
         }
 
 
 
+        /**
+         * Registers many students in one transaction using the default batch size.
+         *
+         * @param students the Student objects to register.
+         * @return the generated student IDs, in the same order as the given list.
+         * @throws StudentException if registration fails.
+         */
+        public List<Integer> registerStudents(List<Student> students) throws StudentException {
+                return registerStudents(students, StudentDao.DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * Registers many students in one transaction, sending inserts in batches of the given size.
+         *
+         * @param students the Student objects to register.
+         * @param batchSize the number of students sent to the database per batch.
+         * @return the generated student IDs, in the same order as the given list.
+         * @throws StudentException if registration fails.
+         */
+        public List<Integer> registerStudents(List<Student> students, int batchSize) throws StudentException {
+                try {
+                        List<Integer> ids = studentDao.registerStudents(students, batchSize);
+                        ReportService.invalidateCache();
+                        for (Student student : students) {
+                                searchIndex.put(student);
+                        }
+                        RowCounts.STUDENTS.add(ids.size());
+                        return ids;
+                } catch (StudentException se) {
+                        throw new StudentException("Error registering students: " + se.getMessage(), se);
+                }
+        }
+
         /**
          * Retrieves all student records.
          *
@@ -42,20 +90,136 @@ public class StudentService {
         }
 
         /**
-         * Retrieves a student by their ID.
+         * Retrieves the next page of student records after the given student ID.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a list of Student objects.
+         * @throws StudentException if retrieval fails.
+         */
+        public List<Student> getStudentsAfter(int lastId, int pageSize) throws StudentException {
+                try {
+                        return studentDao.getStudentsAfter(lastId, pageSize);
+                } catch (StudentException se) {
+                        throw new StudentException("Error fetching student records: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the next page of read-only student summaries after the given student ID.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of summaries to return.
+         * @return a list of StudentSummary objects.
+         * @throws StudentException if retrieval fails.
+         */
+        public List<StudentSummary> getStudentSummariesAfter(int lastId, int pageSize) throws StudentException {
+                try {
+                        return studentDao.getStudentSummariesAfter(lastId, pageSize);
+                } catch (StudentException se) {
+                        throw new StudentException("Error fetching student summaries: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the next page of student records with their branch and events already loaded.
+         *
+         * @param lastId the last student ID of the previous page, or 0 for the first page.
+         * @param pageSize the maximum number of records to return.
+         * @return a list of Student objects.
+         * @throws StudentException if retrieval fails.
+         */
+        public List<Student> getStudentDetailsAfter(int lastId, int pageSize) throws StudentException {
+                try {
+                        return studentDao.getStudentDetailsAfter(lastId, pageSize);
+                } catch (StudentException se) {
+                        throw new StudentException("Error fetching student details: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Streams all student records to the given consumer without loading them into memory at once.
+         *
+         * @param consumer receives each Student object in turn.
+         * @return the number of records streamed.
+         * @throws StudentException if retrieval fails.
+         */
+        public int streamStudents(Consumer<Student> consumer) throws StudentException {
+                try {
+                        return studentDao.streamStudents(consumer);
+                } catch (StudentException se) {
+                        throw new StudentException("Error streaming student records: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves a student by their ID. The student's branch and events are loaded
+         * in the same unit of work, so they can be read after this method returns.
          *
          * @param id the student ID.
-         * @return the Student object.
+         * @return the Student object, or null if no student has that ID.
          * @throws StudentException if retrieval fails.
          */
         public Student getStudentById(int id) throws StudentException {
-                try { 
-                        return studentDao.getStudentById(id);
-                } catch (StudentException se) {
+                try (UnitOfWork work = UnitOfWork.begin()) {
+                        Student student = studentDao.getStudentById(id);
+                        if (student != null) {
+                                Hibernate.initialize(student.getBranch());
+                                Hibernate.initialize(student.getEvents());
+                        }
+                        work.commit();
+                        return student;
+                } catch (Exception se) {
+                        UnitOfWork.markRollbackOnly();
                         throw new StudentException("Error fetching student with ID: " + id + "." + se.getMessage());
                 }
         }
 
+        /**
+         * Checks if any student records exist, using the in-memory row count.
+         *
+         * @return true if at least one student exists; false otherwise.
+         * @throws StudentException if an error occurs.
+         */
+        public boolean hasStudents() throws StudentException {
+                try {
+                        return !RowCounts.STUDENTS.isEmpty();
+                } catch (StudentException se) {
+                        throw new StudentException("Error checking for student records: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Retrieves the number of student records from the in-memory row count.
+         *
+         * @return the number of students.
+         * @throws StudentException if an error occurs.
+         */
+        public long countStudents() throws StudentException {
+                try {
+                        return RowCounts.STUDENTS.get();
+                } catch (StudentException se) {
+                        throw new StudentException("Error counting student records: " + se.getMessage());
+                }
+        }
+
+        /**
+         * Searches students by first name, last name, email or phone number, matching
+         * whole words, prefixes and misspelt names.
+         *
+         * @param query the search words.
+         * @param limit the maximum number of IDs to return.
+         * @return the matching student IDs, best match first.
+         * @throws StudentException if an error occurs.
+         */
+        public List<Integer> searchStudents(String query, int limit) throws StudentException {
+                try {
+                        return searchIndex.search(query, limit);
+                } catch (StudentException se) {
+                        throw new StudentException("Error searching students: " + se.getMessage());
+                }
+        }
+
         /**
          * Checks if a student exists with the given ID.
          *
@@ -71,6 +235,21 @@ public class StudentService {
                 }
         }
 
+        /**
+         * Finds which of the given student IDs exist, checking them all in bulk.
+         *
+         * @param studentIds the student IDs to check.
+         * @return the subset of the given IDs that belong to existing students.
+         * @throws StudentException if an error occurs.
+         */
+        public Set<Integer> existingStudentIds(Collection<Integer> studentIds) throws StudentException {
+                try {
+                        return studentDao.existingStudentIds(studentIds);
+                } catch (StudentException se) {
+                        throw new StudentException("Error checking student IDs: " + se.getMessage());
+                }
+        }
+
         /**
          * Updates an existing student record.
          *
@@ -80,11 +259,55 @@ public class StudentService {
         public void updateStudent(Student student) throws StudentException {
                 try { 
 			studentDao.updateStudent(student);
+			ReportService.invalidateCache();
+			searchIndex.put(student);
 		} catch (StudentException se) {
 			throw new StudentException("Error updating student records: " + se.getMessage());
 		}
         }
 
+        /**
+         * Applies a partial update to a student, writing only the columns that change.
+         *
+         * @param studentId the ID of the student to update.
+         * @param patch the fields to change.
+         * @return true if anything changed; false otherwise.
+         * @throws StudentException if an error occurs during update.
+         */
+        public boolean patchStudent(int studentId, StudentPatch patch) throws StudentException {
+                if (patch.isEmpty()) {
+                        return false;
+                }
+                try {
+                        boolean changed = studentDao.patchStudent(studentId, patch);
+                        ReportService.invalidateCache();
+                        searchIndex.patch(studentId, patch);
+                        return changed;
+                } catch (StudentException se) {
+                        throw new StudentException("Error updating student records: " + se.getMessage(), se);
+                }
+        }
+
+        /**
+         * Applies several partial updates in one transaction.
+         *
+         * @param patches the fields to change, keyed by student ID.
+         * @return the number of students that changed.
+         * @throws StudentException if any update fails; none are saved in that case.
+         */
+        public int patchStudents(Map<Integer, StudentPatch> patches) throws StudentException {
+                try {
+                        int changed = studentDao.patchStudents(patches);
+                        ReportService.invalidateCache();
+                        for (Map.Entry<Integer, StudentPatch> entry : patches.entrySet()) {
+                                searchIndex.patch(entry.getKey(), entry.getValue());
+                        }
+                        return changed;
+                } catch (StudentException se) {
+                        throw new StudentException("Error updating student records: " + se.getMessage(), se);
+                }
+        }
+
         /**
          * Deletes a student record.
          *
@@ -94,8 +317,32 @@ public class StudentService {
         public void deleteStudent(int studentId) throws StudentException {
                 try {
                         studentDao.deleteStudent(studentId);
+                        ReportService.invalidateCache();
+                        searchIndex.remove(studentId);
+                        RowCounts.STUDENTS.add(-1);
 		} catch (StudentException se) {
-			throw new StudentException ("Error deleting student records: " + se.getMessage());
+			throw new StudentException ("Error deleting student records: " + se.getMessage(), se);
 		}                
         }
+
+        /**
+         * Deletes many student records in one transaction.
+         *
+         * @param studentIds the IDs of the students to delete.
+         * @return the number of students deleted.
+         * @throws StudentException if an error occurs during deletion.
+         */
+        public int deleteStudents(Collection<Integer> studentIds) throws StudentException {
+                try {
+                        int deleted = studentDao.deleteStudents(studentIds);
+                        ReportService.invalidateCache();
+                        for (int studentId : studentIds) {
+                                searchIndex.remove(studentId);
+                        }
+                        RowCounts.STUDENTS.add(-deleted);
+                        return deleted;
+                } catch (StudentException se) {
+                        throw new StudentException("Error deleting student records: " + se.getMessage(), se);
+                }
+        }
 }
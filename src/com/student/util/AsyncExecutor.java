@@ -0,0 +1,210 @@
+package com.student.util;
+
+import com.student.exception.StudentException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+        * AsyncExecutor runs blocking service calls off the caller's thread and hands back
+        * a CompletableFuture. Each call gets its own virtual thread when the JVM supports them
+        * (Java 21+), so a server can keep many requests in flight without tying up its own
+        * threads. On older JVMs calls run on a fixed pool of daemon platform threads, one per
+        * permit, so a burst of calls queues instead of starting a thread each.
+        *
+        * The number of calls touching the database at once is capped by a semaphore that
+        * defaults to the connection pool's maximum size, so excess calls queue here instead of
+        * timing out inside the pool. A call that times out or whose future is cancelled
+        * interrupts its thread, which stops it while it waits for a permit or a connection.
+        * A statement already running on the database is left to finish and rolled back.
+        *
+        * The executor does not open a UnitOfWork around a task. Each DAO call the task makes
+        * runs in its own unit, as it would on the caller's thread, so a task that calls several
+        * service methods is not one transaction. An interrupted DAO call closes its unit, which
+        * rolls back whatever it had not committed.
+        *
+        * The defaults can be changed with "student.async.max_concurrency" and
+        * "student.async.timeout_ms" (0 means no timeout).
+        */
+public class AsyncExecutor implements AutoCloseable
+{
+        public static final String MAX_CONCURRENCY = "student.async.max_concurrency";
+        public static final String TIMEOUT = "student.async.timeout_ms";
+
+        /**
+         * A unit of blocking work that may fail with a StudentException.
+         *
+         * @param <T> the result type.
+         */
+        public interface Task<T>
+        {
+                T call() throws StudentException;
+        }
+
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final int maxConcurrency;
+        private final long timeoutMillis;
+
+        /**
+         * Creates an executor with the given database concurrency and default timeout.
+         *
+         * @param maxConcurrency the maximum number of calls running at once.
+         * @param timeoutMillis the default timeout per call in milliseconds, or 0 for none.
+         */
+        public AsyncExecutor(int maxConcurrency, long timeoutMillis)
+        {
+                if (maxConcurrency < 1 || timeoutMillis < 0) {
+                        throw new IllegalArgumentException("Invalid async settings: maxConcurrency=" + maxConcurrency
+                                + ", timeoutMillis=" + timeoutMillis);
+                }
+                this.executor = newExecutor(maxConcurrency);
+                this.permits = new Semaphore(maxConcurrency, true);
+                this.maxConcurrency = maxConcurrency;
+                this.timeoutMillis = timeoutMillis;
+        }
+
+        /**
+         * Retrieves the shared executor, sized to the connection pool on first use.
+         *
+         * @return the shared executor.
+         */
+        public static AsyncExecutor getDefault()
+        {
+                return Holder.INSTANCE;
+        }
+
+        /**
+         * Runs a task asynchronously with the default timeout.
+         *
+         * @param task the task to run.
+         * @param <T> the result type.
+         * @return a future completed with the task's result or failure.
+         */
+        public <T> CompletableFuture<T> submit(Task<T> task)
+        {
+                return submit(task, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Runs a task asynchronously. The future fails with a TimeoutException if the task
+         * has not finished within the timeout, and with the task's own exception if it fails.
+         * Cancelling the future, or letting it time out, interrupts the task.
+         *
+         * @param task the task to run.
+         * @param timeout the timeout, or 0 for none.
+         * @param unit the unit of the timeout.
+         * @param <T> the result type.
+         * @return a future completed with the task's result or failure.
+         */
+        public <T> CompletableFuture<T> submit(Task<T> task, long timeout, TimeUnit unit)
+        {
+                CompletableFuture<T> result = new CompletableFuture<>();
+                Future<?> running = executor.submit(() -> run(task, result));
+                result.whenComplete((value, ex) -> {
+                        if (ex instanceof CancellationException || ex instanceof TimeoutException) {
+                                running.cancel(true);
+                        }
+                });
+                if (timeout > 0) {
+                        result.orTimeout(timeout, unit);
+                }
+                return result;
+        }
+
+        /**
+         * Retrieves the maximum number of calls allowed to run at once.
+         *
+         * @return the maximum concurrency.
+         */
+        public int getMaxConcurrency()
+        {
+                return maxConcurrency;
+        }
+
+        /**
+         * Retrieves the number of calls currently waiting for a permit.
+         *
+         * @return the number of queued calls.
+         */
+        public int getQueueLength()
+        {
+                return permits.getQueueLength();
+        }
+
+        /**
+         * Stops accepting new tasks. Tasks already submitted are allowed to finish.
+         */
+        @Override
+        public void close()
+        {
+                executor.shutdown();
+        }
+
+        private <T> void run(Task<T> task, CompletableFuture<T> result)
+        {
+                if (result.isDone()) {
+                        return;
+                }
+                try {
+                        permits.acquire();
+                } catch (InterruptedException ex) {
+                        result.completeExceptionally(new CancellationException("Cancelled while waiting for a database permit."));
+                        return;
+                }
+                try {
+                        if (!result.isDone()) {
+                                result.complete(task.call());
+                        }
+                } catch (Throwable ex) {
+                        result.completeExceptionally(ex);
+                } finally {
+                        permits.release();
+                }
+        }
+
+        /**
+         * Creates a thread-per-task executor using virtual threads when the JVM provides them,
+         * looked up reflectively so the code still runs on JVMs older than Java 21. Otherwise
+         * creates a fixed pool with one platform thread per permit; more threads could only
+         * wait for a permit.
+         *
+         * @param threads the size of the fallback pool.
+         * @return the executor.
+         */
+        private static ExecutorService newExecutor(int threads)
+        {
+                try {
+                        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (ReflectiveOperationException ex) {
+                        AtomicInteger count = new AtomicInteger();
+                        return Executors.newFixedThreadPool(threads, runnable -> {
+                                Thread thread = new Thread(runnable, "student-async-" + count.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                        });
+                }
+        }
+
+        /**
+         * Lazily builds the shared executor so the session factory is only touched on first use.
+         */
+        private static class Holder
+        {
+                static final AsyncExecutor INSTANCE = create();
+
+                private static AsyncExecutor create()
+                {
+                        PooledConnectionProvider.PoolMetrics pool = SessionFactoryProvider.getPoolMetrics();
+                        int poolSize = pool != null ? pool.getMaxSize() : 10;
+                        return new AsyncExecutor(Integer.getInteger(MAX_CONCURRENCY, poolSize),
+                                Long.getLong(TIMEOUT, 30000L));
+                }
+        }
+}
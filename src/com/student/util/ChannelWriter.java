@@ -0,0 +1,109 @@
+package com.student.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+        * ChannelWriter encodes text as UTF-8 into one direct buffer and writes the buffer to a
+        * file channel whenever it fills, so a large file is written in a few big system calls
+        * without a stream, a char buffer or a byte array per line in between.
+        *
+        * Text is appended in whole pieces, e.g. one line at a time; a piece must not end in the
+        * middle of a surrogate pair. Not thread-safe.
+        */
+public class ChannelWriter implements AutoCloseable
+{
+        private static final int BUFFER_SIZE = 256 * 1024;
+
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long bytesWritten;
+
+        /**
+         * Creates or truncates the file and opens it for writing.
+         *
+         * @param file the file to write.
+         * @throws IOException if the file cannot be opened.
+         */
+        public ChannelWriter(Path file) throws IOException
+        {
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Appends a piece of text.
+         *
+         * @param text the text to append.
+         * @throws IOException if the buffer has to be written and the write fails.
+         */
+        public void append(CharSequence text) throws IOException
+        {
+                CharBuffer chars = CharBuffer.wrap(text);
+                encoder.reset();
+                while (true) {
+                        CoderResult result = encoder.encode(chars, buffer, true);
+                        if (result.isOverflow()) {
+                                drain();
+                        } else {
+                                break;
+                        }
+                }
+                while (encoder.flush(buffer).isOverflow()) {
+                        drain();
+                }
+        }
+
+        /**
+         * Retrieves the number of bytes written so far, including those still buffered.
+         *
+         * @return the number of bytes.
+         */
+        public long getBytesWritten()
+        {
+                return bytesWritten + buffer.position();
+        }
+
+        /**
+         * Writes out the buffered bytes.
+         *
+         * @throws IOException if the write fails.
+         */
+        public void flush() throws IOException
+        {
+                drain();
+        }
+
+        /**
+         * Writes out the buffered bytes and closes the file.
+         */
+        @Override
+        public void close() throws IOException
+        {
+                try {
+                        drain();
+                } finally {
+                        channel.close();
+                }
+        }
+
+        private void drain() throws IOException
+        {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                        bytesWritten += channel.write(buffer);
+                }
+                buffer.clear();
+        }
+}
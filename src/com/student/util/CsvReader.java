@@ -0,0 +1,141 @@
+package com.student.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+        * CsvReader reads RFC 4180 style CSV one record at a time from a Reader, so a file of
+        * any size is parsed in constant memory. Fields may be quoted; a quoted field can hold
+        * commas, line breaks and doubled quotes. Lines may end in LF or CRLF, and blank lines
+        * are skipped.
+        *
+        * Not thread-safe; one thread reads each file.
+        */
+public class CsvReader implements AutoCloseable
+{
+        private static final int BUFFER_SIZE = 16 * 1024;
+
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder field = new StringBuilder();
+        private int position;
+        private int limit;
+        private long line = 1;
+        private long recordLine;
+
+        /**
+         * Creates a reader over the given character stream.
+         *
+         * @param reader the CSV text; closed when this reader is closed.
+         */
+        public CsvReader(Reader reader)
+        {
+                this.reader = reader;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return the fields of the record, or null at the end of the input.
+         * @throws IOException if the input cannot be read or a quoted field is not closed.
+         */
+        public String[] readRecord() throws IOException
+        {
+                int c = read();
+                // Skip blank lines between records.
+                while (c == '\r' || c == '\n') {
+                        c = read();
+                }
+                if (c < 0) {
+                        return null;
+                }
+                recordLine = line;
+                List<String> fields = new ArrayList<>();
+                field.setLength(0);
+                boolean quoted = false;
+                boolean inQuotes = false;
+                while (true) {
+                        if (inQuotes) {
+                                if (c < 0) {
+                                        throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                                }
+                                if (c == '"') {
+                                        c = read();
+                                        if (c == '"') {
+                                                field.append('"');
+                                        } else {
+                                                inQuotes = false;
+                                                continue;
+                                        }
+                                } else {
+                                        field.append((char) c);
+                                }
+                        } else if (c == ',') {
+                                fields.add(field.toString());
+                                field.setLength(0);
+                                quoted = false;
+                        } else if (c == '\n' || c == '\r' || c < 0) {
+                                if (c == '\r' && peek() == '\n') {
+                                        read();
+                                }
+                                fields.add(field.toString());
+                                return fields.toArray(new String[0]);
+                        } else if (c == '"' && field.length() == 0 && !quoted) {
+                                quoted = true;
+                                inQuotes = true;
+                        } else {
+                                field.append((char) c);
+                        }
+                        c = read();
+                }
+        }
+
+        /**
+         * Retrieves the line on which the last record returned by readRecord started.
+         *
+         * @return the 1-based line number.
+         */
+        public long getRecordLine()
+        {
+                return recordLine;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+                reader.close();
+        }
+
+        private int read() throws IOException
+        {
+                if (position == limit && !fill()) {
+                        return -1;
+                }
+                char c = buffer[position++];
+                if (c == '\n') {
+                        line++;
+                }
+                return c;
+        }
+
+        private int peek() throws IOException
+        {
+                if (position == limit && !fill()) {
+                        return -1;
+                }
+                return buffer[position];
+        }
+
+        private boolean fill() throws IOException
+        {
+                int read = reader.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                        return false;
+                }
+                position = 0;
+                limit = read;
+                return true;
+        }
+}
@@ -0,0 +1,123 @@
+package com.student.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+        * LatencyHistogram records durations in microseconds into log-linear buckets, the same
+        * layout HdrHistogram uses: every power-of-two range is split into 64 equal sub-buckets,
+        * so any recorded value is reported within about 1.6% of its true value while the whole
+        * histogram stays a fixed array of counters. Recording is lock-free and allocation-free.
+        *
+        * Values below 128 microseconds are kept exactly; values above about 38 hours are
+        * counted in the last bucket.
+        */
+public class LatencyHistogram
+{
+        private static final int SUB_BUCKET_BITS = 6;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAX_SHIFT = 30;
+        private static final int BUCKETS = (MAX_SHIFT + 2) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Records one duration.
+         *
+         * @param micros the duration in microseconds; negative values are recorded as 0.
+         */
+        public void record(long micros)
+        {
+                long value = Math.max(0, micros);
+                counts.incrementAndGet(indexOf(value));
+                count.increment();
+                sum.add(value);
+                if (value > max.get()) {
+                        max.accumulateAndGet(value, Math::max);
+                }
+        }
+
+        /**
+         * Retrieves the number of recorded durations.
+         *
+         * @return the count.
+         */
+        public long getCount()
+        {
+                return count.sum();
+        }
+
+        /**
+         * Retrieves the sum of all recorded durations.
+         *
+         * @return the sum in microseconds.
+         */
+        public long getSum()
+        {
+                return sum.sum();
+        }
+
+        /**
+         * Retrieves the largest recorded duration, exactly.
+         *
+         * @return the maximum in microseconds, or 0 if nothing was recorded.
+         */
+        public long getMax()
+        {
+                return max.get();
+        }
+
+        /**
+         * Retrieves the duration at or below which the given share of recordings fall.
+         *
+         * @param percentile the percentile, from 0 to 100.
+         * @return the highest value of the bucket holding that percentile, capped at the maximum, or 0 if empty.
+         */
+        public long getPercentile(double percentile)
+        {
+                long[] snapshot = new long[BUCKETS];
+                long total = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                        snapshot[i] = counts.get(i);
+                        total += snapshot[i];
+                }
+                if (total == 0) {
+                        return 0;
+                }
+                long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+                long seen = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                        seen += snapshot[i];
+                        if (seen >= target) {
+                                return Math.min(highestValueOf(i), getMax());
+                        }
+                }
+                return getMax();
+        }
+
+        private static int indexOf(long value)
+        {
+                if (value < 2 * SUB_BUCKETS) {
+                        return (int) value;
+                }
+                int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+                if (shift > MAX_SHIFT) {
+                        return BUCKETS - 1;
+                }
+                return shift * SUB_BUCKETS + (int) (value >>> shift);
+        }
+
+        private static long highestValueOf(int index)
+        {
+                if (index < 2 * SUB_BUCKETS) {
+                        return index;
+                }
+                int shift = index / SUB_BUCKETS - 1;
+                long top = index % SUB_BUCKETS + SUB_BUCKETS;
+                return ((top + 1) << shift) - 1;
+        }
+}
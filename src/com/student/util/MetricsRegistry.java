@@ -0,0 +1,341 @@
+package com.student.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import org.hibernate.stat.Statistics;
+
+/**
+        * MetricsRegistry collects per-operation latency, error and row counts for the DAO layer
+        * and exposes them, together with Hibernate's own Statistics, the connection pool counters,
+        * the reference cache hit rates and the row counts, as a snapshot or in Prometheus text format.
+        *
+        * Each DAO method opens a Timer as the first resource of its try block and marks it done
+        * before returning; a Timer closed without being marked done counts as an error.
+        *
+        * <pre>
+        * try (MetricsRegistry.Timer timer = MetricsRegistry.time("StudentDao.getAllStudents");
+        *         UnitOfWork work = UnitOfWork.begin()) {
+        *         return timer.done(work.getSession().createQuery("from Student", Student.class).list());
+        * }
+        * </pre>
+        */
+public class MetricsRegistry
+{
+        private static final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+        private MetricsRegistry()
+        {
+        }
+
+        /**
+         * Counters kept for one operation.
+         */
+        private static class Operation
+        {
+                final LatencyHistogram latency = new LatencyHistogram();
+                final LongAdder errors = new LongAdder();
+                final LongAdder rows = new LongAdder();
+        }
+
+        /**
+         * Starts timing one call of the named operation.
+         *
+         * @param name the operation name, e.g. "StudentDao.getStudentById".
+         * @return a timer to close when the call ends.
+         */
+        public static Timer time(String name)
+        {
+                Operation operation = operations.get(name);
+                if (operation == null) {
+                        operation = operations.computeIfAbsent(name, key -> new Operation());
+                }
+                return new Timer(operation);
+        }
+
+        /**
+         * Measures one call of an operation. Not thread-safe; each call opens its own timer.
+         */
+        public static class Timer implements AutoCloseable
+        {
+                private final Operation operation;
+                private final long start = System.nanoTime();
+                private boolean succeeded;
+                private long rows;
+
+                private Timer(Operation operation)
+                {
+                        this.operation = operation;
+                }
+
+                /**
+                 * Marks the call successful and counts the rows in its result: the size of a
+                 * collection, one for true and none for false or null, and one for any other value.
+                 *
+                 * @param result the value the call returns.
+                 * @param <T> the result type.
+                 * @return the given result.
+                 */
+                public <T> T done(T result)
+                {
+                        succeeded = true;
+                        if (result instanceof Collection) {
+                                rows = ((Collection<?>) result).size();
+                        } else if (result instanceof Map) {
+                                rows = ((Map<?, ?>) result).size();
+                        } else if (result instanceof Boolean) {
+                                rows = (Boolean) result ? 1 : 0;
+                        } else {
+                                rows = result == null ? 0 : 1;
+                        }
+                        return result;
+                }
+
+                /**
+                 * Marks a call without a result as successful.
+                 */
+                public void done()
+                {
+                        succeeded = true;
+                }
+
+                /**
+                 * Marks the call successful with the given number of rows read or written.
+                 *
+                 * @param count the number of rows.
+                 * @return the given count.
+                 */
+                public int count(int count)
+                {
+                        succeeded = true;
+                        rows = count;
+                        return count;
+                }
+
+                /**
+                 * Records the call's duration, and an error unless it was marked done.
+                 */
+                @Override
+                public void close()
+                {
+                        operation.latency.record((System.nanoTime() - start) / 1000);
+                        if (succeeded) {
+                                operation.rows.add(rows);
+                        } else {
+                                operation.errors.increment();
+                        }
+                }
+        }
+
+        /**
+         * Returns a point-in-time view of every operation and of the Hibernate, pool and cache counters.
+         *
+         * @return the current metrics.
+         */
+        public static Snapshot snapshot()
+        {
+                List<OperationMetrics> list = new ArrayList<>();
+                for (Map.Entry<String, Operation> entry : new TreeMap<>(operations).entrySet()) {
+                        Operation operation = entry.getValue();
+                        LatencyHistogram latency = operation.latency;
+                        list.add(new OperationMetrics(entry.getKey(), latency.getCount(), operation.errors.sum(),
+                                operation.rows.sum(), latency.getSum(), latency.getPercentile(50),
+                                latency.getPercentile(99), latency.getMax()));
+                }
+                Map<String, Long> counters = new LinkedHashMap<>();
+                Statistics statistics = SessionFactoryProvider.getSessionFactory().getStatistics();
+                if (statistics.isStatisticsEnabled()) {
+                        counters.put("hibernate_prepared_statements", statistics.getPrepareStatementCount());
+                        counters.put("hibernate_queries_executed", statistics.getQueryExecutionCount());
+                        counters.put("hibernate_entity_loads", statistics.getEntityLoadCount());
+                        counters.put("hibernate_entity_fetches", statistics.getEntityFetchCount());
+                        counters.put("hibernate_entity_inserts", statistics.getEntityInsertCount());
+                        counters.put("hibernate_entity_updates", statistics.getEntityUpdateCount());
+                        counters.put("hibernate_collection_loads", statistics.getCollectionLoadCount());
+                        counters.put("hibernate_collection_fetches", statistics.getCollectionFetchCount());
+                        counters.put("hibernate_flushes", statistics.getFlushCount());
+                        counters.put("hibernate_transactions", statistics.getTransactionCount());
+                        counters.put("hibernate_second_level_cache_hits", statistics.getSecondLevelCacheHitCount());
+                        counters.put("hibernate_second_level_cache_misses", statistics.getSecondLevelCacheMissCount());
+                }
+                PooledConnectionProvider.PoolMetrics pool = SessionFactoryProvider.getPoolMetrics();
+                if (pool != null) {
+                        counters.put("pool_connections_active", (long) pool.getActive());
+                        counters.put("pool_connections_idle", (long) pool.getIdle());
+                        counters.put("pool_connections_created", pool.getCreated());
+                        counters.put("pool_acquisitions", pool.getAcquired());
+                        counters.put("pool_acquire_timeouts", pool.getTimeouts());
+                        counters.put("pool_acquire_wait_max_micros", pool.getMaxWaitMicros());
+                }
+                for (ReferenceCache<?, ?> region : ReferenceCache.getRegions()) {
+                        counters.put("reference_cache_" + region.getName() + "_hits", region.getHitCount());
+                        counters.put("reference_cache_" + region.getName() + "_misses", region.getMissCount());
+                }
+                for (RowCounter counter : RowCounter.getCounters()) {
+                        if (counter.peek() >= 0) {
+                                counters.put("row_count_" + counter.getName(), counter.peek());
+                        }
+                }
+                return new Snapshot(list, counters);
+        }
+
+        /**
+         * Renders the current metrics in the Prometheus text exposition format.
+         *
+         * @return the metrics text.
+         */
+        public static String toPrometheus()
+        {
+                Snapshot snapshot = snapshot();
+                StringBuilder out = new StringBuilder();
+                out.append("# HELP student_dao_latency_seconds DAO call latency.\n");
+                out.append("# TYPE student_dao_latency_seconds summary\n");
+                for (OperationMetrics op : snapshot.getOperations()) {
+                        String label = "operation=\"" + op.getName() + "\"";
+                        out.append("student_dao_latency_seconds{").append(label).append(",quantile=\"0.5\"} ")
+                                .append(seconds(op.getP50Micros())).append('\n');
+                        out.append("student_dao_latency_seconds{").append(label).append(",quantile=\"0.99\"} ")
+                                .append(seconds(op.getP99Micros())).append('\n');
+                        out.append("student_dao_latency_seconds_sum{").append(label).append("} ")
+                                .append(seconds(op.getTotalMicros())).append('\n');
+                        out.append("student_dao_latency_seconds_count{").append(label).append("} ")
+                                .append(op.getCount()).append('\n');
+                }
+                out.append("# HELP student_dao_latency_max_seconds Slowest DAO call.\n");
+                out.append("# TYPE student_dao_latency_max_seconds gauge\n");
+                for (OperationMetrics op : snapshot.getOperations()) {
+                        out.append("student_dao_latency_max_seconds{operation=\"").append(op.getName()).append("\"} ")
+                                .append(seconds(op.getMaxMicros())).append('\n');
+                }
+                appendCounter(out, snapshot, "student_dao_errors_total", "DAO calls that failed.", OperationMetrics::getErrors);
+                appendCounter(out, snapshot, "student_dao_rows_total", "Rows returned or changed by DAO calls.", OperationMetrics::getRows);
+                for (Map.Entry<String, Long> counter : snapshot.getCounters().entrySet()) {
+                        out.append("student_").append(counter.getKey()).append(' ').append(counter.getValue()).append('\n');
+                }
+                return out.toString();
+        }
+
+        private static void appendCounter(StringBuilder out, Snapshot snapshot, String metric, String help,
+                        ToLongFunction<OperationMetrics> value)
+        {
+                out.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+                out.append("# TYPE ").append(metric).append(" counter\n");
+                for (OperationMetrics op : snapshot.getOperations()) {
+                        out.append(metric).append("{operation=\"").append(op.getName()).append("\"} ")
+                                .append(value.applyAsLong(op)).append('\n');
+                }
+        }
+
+        private static String seconds(long micros)
+        {
+                return String.format(Locale.ROOT, "%.6f", micros / 1000000.0);
+        }
+
+        /**
+         * Immutable metrics of one operation. Latencies are in microseconds.
+         */
+        public static class OperationMetrics
+        {
+                private final String name;
+                private final long count;
+                private final long errors;
+                private final long rows;
+                private final long totalMicros;
+                private final long p50Micros;
+                private final long p99Micros;
+                private final long maxMicros;
+
+                public OperationMetrics(String name, long count, long errors, long rows, long totalMicros,
+                                long p50Micros, long p99Micros, long maxMicros) {
+                        this.name = name;
+                        this.count = count;
+                        this.errors = errors;
+                        this.rows = rows;
+                        this.totalMicros = totalMicros;
+                        this.p50Micros = p50Micros;
+                        this.p99Micros = p99Micros;
+                        this.maxMicros = maxMicros;
+                }
+
+                public String getName() {
+                        return name;
+                }
+
+                public long getCount() {
+                        return count;
+                }
+
+                public long getErrors() {
+                        return errors;
+                }
+
+                public long getRows() {
+                        return rows;
+                }
+
+                public long getTotalMicros() {
+                        return totalMicros;
+                }
+
+                public long getP50Micros() {
+                        return p50Micros;
+                }
+
+                public long getP99Micros() {
+                        return p99Micros;
+                }
+
+                public long getMaxMicros() {
+                        return maxMicros;
+                }
+
+                @Override
+                public String toString() {
+                        return name + " [count=" + count + ", errors=" + errors + ", rows=" + rows
+                                + ", p50=" + p50Micros + "us, p99=" + p99Micros + "us, max=" + maxMicros + "us]";
+                }
+        }
+
+        /**
+         * Immutable view of all operations and counters at one point in time.
+         */
+        public static class Snapshot
+        {
+                private final List<OperationMetrics> operations;
+                private final Map<String, Long> counters;
+
+                public Snapshot(List<OperationMetrics> operations, Map<String, Long> counters) {
+                        this.operations = Collections.unmodifiableList(operations);
+                        this.counters = Collections.unmodifiableMap(counters);
+                }
+
+                public List<OperationMetrics> getOperations() {
+                        return operations;
+                }
+
+                public Map<String, Long> getCounters() {
+                        return counters;
+                }
+
+                @Override
+                public String toString() {
+                        StringBuilder out = new StringBuilder();
+                        for (OperationMetrics op : operations) {
+                                out.append(op).append('\n');
+                        }
+                        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+                                out.append(counter.getKey()).append('=').append(counter.getValue()).append('\n');
+                        }
+                        return out.toString();
+                }
+        }
+}
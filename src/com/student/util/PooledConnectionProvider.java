@@ -0,0 +1,367 @@
+package com.student.util;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+        * PooledConnectionProvider is a bounded JDBC connection pool plugged into Hibernate
+        * through the "hibernate.connection.provider_class" setting. It replaces Hibernate's
+        * built-in DriverManager pool, which is meant for development only.
+        *
+        * Connections are handed out most-recently-used first so the warm ones are reused,
+        * checked with a ping only when they have been idle for a while, and capped at
+        * "student.pool.max_size". A caller that cannot get a connection within
+        * "student.pool.acquire_timeout_ms" fails instead of waiting forever.
+        *
+        * Any other "hibernate.connection.*" setting is passed to the driver as a connection
+        * property, which is how prepared-statement caching and batch rewriting are enabled.
+        */
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable
+{
+        private static final long serialVersionUID = 1L;
+
+        public static final String MIN_SIZE = "student.pool.min_size";
+        public static final String MAX_SIZE = "student.pool.max_size";
+        public static final String ACQUIRE_TIMEOUT = "student.pool.acquire_timeout_ms";
+        public static final String IDLE_VALIDATION = "student.pool.idle_validation_ms";
+
+        /** Settings that configure the pool itself rather than the driver. */
+        private static final Set<String> RESERVED = new HashSet<>(Arrays.asList(
+                AvailableSettings.URL, AvailableSettings.USER, AvailableSettings.PASS,
+                AvailableSettings.DRIVER, AvailableSettings.CONNECTION_PROVIDER, AvailableSettings.POOL_SIZE,
+                AvailableSettings.ISOLATION, AvailableSettings.AUTOCOMMIT));
+
+        private String url;
+        private final Properties connectionProperties = new Properties();
+        private int minSize;
+        private int maxSize;
+        private long acquireTimeoutMillis;
+        private long idleValidationMillis;
+
+        private final BlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+        private Semaphore permits;
+        private volatile boolean stopped;
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        /**
+         * A pooled connection together with the time it was returned to the pool.
+         */
+        private static class IdleConnection
+        {
+                final Connection connection;
+                final long returnedAt;
+
+                IdleConnection(Connection connection, long returnedAt) {
+                        this.connection = connection;
+                        this.returnedAt = returnedAt;
+                }
+        }
+
+        /**
+         * Reads the pool and driver settings and opens the minimum number of connections.
+         *
+         * @param settings the Hibernate configuration settings.
+         */
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void configure(Map settings)
+        {
+                url = ConfigurationHelper.getString(AvailableSettings.URL, settings);
+                if (url == null) {
+                        throw new HibernateException("No JDBC URL configured in " + AvailableSettings.URL);
+                }
+                String driver = ConfigurationHelper.getString(AvailableSettings.DRIVER, settings);
+                if (driver != null) {
+                        try {
+                                Class.forName(driver);
+                        } catch (ClassNotFoundException ex) {
+                                throw new HibernateException("JDBC driver class not found: " + driver, ex);
+                        }
+                }
+                minSize = ConfigurationHelper.getInt(MIN_SIZE, settings, 2);
+                maxSize = ConfigurationHelper.getInt(MAX_SIZE, settings, 10);
+                acquireTimeoutMillis = ConfigurationHelper.getLong(ACQUIRE_TIMEOUT, settings, 30000);
+                idleValidationMillis = ConfigurationHelper.getLong(IDLE_VALIDATION, settings, 30000);
+                if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+                        throw new HibernateException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+                }
+
+                String user = ConfigurationHelper.getString(AvailableSettings.USER, settings);
+                String password = ConfigurationHelper.getString(AvailableSettings.PASS, settings);
+                if (user != null) {
+                        connectionProperties.setProperty("user", user);
+                }
+                if (password != null) {
+                        connectionProperties.setProperty("password", password);
+                }
+                String prefix = "hibernate.connection.";
+                for (Object key : settings.keySet()) {
+                        String name = key.toString();
+                        Object value = settings.get(key);
+                        if (name.startsWith(prefix) && !RESERVED.contains(name) && value != null) {
+                                connectionProperties.setProperty(name.substring(prefix.length()), value.toString());
+                        }
+                }
+
+                permits = new Semaphore(maxSize, true);
+                try {
+                        for (int i = 0; i < minSize; i++) {
+                                idle.offerLast(new IdleConnection(createConnection(), System.currentTimeMillis()));
+                        }
+                } catch (SQLException ex) {
+                        throw new HibernateException("Unable to open initial pool connections: " + ex.getMessage(), ex);
+                }
+        }
+
+        /**
+         * Borrows a connection, waiting up to the acquisition timeout for one to be returned.
+         *
+         * @return an open connection.
+         * @throws SQLException if no connection became available in time or a new one cannot be opened.
+         */
+        @Override
+        public Connection getConnection() throws SQLException
+        {
+                if (stopped) {
+                        throw new SQLException("Connection pool has been stopped.");
+                }
+                long start = System.nanoTime();
+                boolean permitted;
+                try {
+                        permitted = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLTransientConnectionException("Interrupted while waiting for a connection.", ex);
+                }
+                long waited = System.nanoTime() - start;
+                if (!permitted) {
+                        timeouts.increment();
+                        throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis
+                                + " ms waiting for a connection (max pool size " + maxSize + ").");
+                }
+                waitNanos.add(waited);
+                maxWaitNanos.accumulateAndGet(waited, Math::max);
+                try {
+                        Connection connection = takeIdleConnection();
+                        if (connection == null) {
+                                connection = createConnection();
+                        }
+                        active.incrementAndGet();
+                        acquired.increment();
+                        return connection;
+                } catch (SQLException | RuntimeException ex) {
+                        permits.release();
+                        throw ex;
+                }
+        }
+
+        /**
+         * Returns a connection to the pool, or closes it if it is broken or the pool is stopped.
+         *
+         * @param connection the connection to return.
+         * @throws SQLException never; failures closing a broken connection are ignored.
+         */
+        @Override
+        public void closeConnection(Connection connection) throws SQLException
+        {
+                active.decrementAndGet();
+                try {
+                        if (stopped || connection.isClosed()) {
+                                closeQuietly(connection);
+                                return;
+                        }
+                        if (!connection.getAutoCommit()) {
+                                connection.rollback();
+                                connection.setAutoCommit(true);
+                        }
+                        idle.offerFirst(new IdleConnection(connection, System.currentTimeMillis()));
+                } catch (SQLException ex) {
+                        closeQuietly(connection);
+                } finally {
+                        permits.release();
+                }
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease()
+        {
+                return false;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public boolean isUnwrappableAs(Class unwrapType)
+        {
+                // Wrapped declares a raw Class parameter, so the override has to as well.
+                Class<?> type = unwrapType;
+                return type.isAssignableFrom(PooledConnectionProvider.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> unwrapType)
+        {
+                if (isUnwrappableAs(unwrapType)) {
+                        return (T) this;
+                }
+                throw new UnknownUnwrapTypeException(unwrapType);
+        }
+
+        /**
+         * Closes every idle connection. Connections still in use are closed as they are returned.
+         */
+        @Override
+        public void stop()
+        {
+                stopped = true;
+                IdleConnection entry;
+                while ((entry = idle.pollFirst()) != null) {
+                        closeQuietly(entry.connection);
+                }
+        }
+
+        /**
+         * Returns a point-in-time view of the pool counters.
+         *
+         * @return the current pool metrics.
+         */
+        public PoolMetrics getMetrics()
+        {
+                long count = acquired.sum();
+                return new PoolMetrics(active.get(), idle.size(), maxSize, created.sum(), count, timeouts.sum(),
+                        count == 0 ? 0 : waitNanos.sum() / count / 1000, maxWaitNanos.get() / 1000);
+        }
+
+        /**
+         * Takes the most recently returned idle connection, pinging it first if it has been idle too long.
+         *
+         * @return a usable idle connection, or null if none is left.
+         */
+        private Connection takeIdleConnection()
+        {
+                IdleConnection entry;
+                while ((entry = idle.pollFirst()) != null) {
+                        if (System.currentTimeMillis() - entry.returnedAt < idleValidationMillis) {
+                                return entry.connection;
+                        }
+                        try {
+                                if (entry.connection.isValid(5)) {
+                                        return entry.connection;
+                                }
+                        } catch (SQLException ex) {
+                                // Treated as a broken connection below.
+                        }
+                        closeQuietly(entry.connection);
+                }
+                return null;
+        }
+
+        private Connection createConnection() throws SQLException
+        {
+                Connection connection = DriverManager.getConnection(url, connectionProperties);
+                created.increment();
+                return connection;
+        }
+
+        private static void closeQuietly(Connection connection)
+        {
+                try {
+                        connection.close();
+                } catch (SQLException ex) {
+                        // The connection is being discarded anyway.
+                }
+        }
+
+        /**
+         * Immutable snapshot of the pool counters.
+         */
+        public static class PoolMetrics
+        {
+                private final int active;
+                private final int idle;
+                private final int maxSize;
+                private final long created;
+                private final long acquired;
+                private final long timeouts;
+                private final long averageWaitMicros;
+                private final long maxWaitMicros;
+
+                public PoolMetrics(int active, int idle, int maxSize, long created, long acquired, long timeouts,
+                                long averageWaitMicros, long maxWaitMicros) {
+                        this.active = active;
+                        this.idle = idle;
+                        this.maxSize = maxSize;
+                        this.created = created;
+                        this.acquired = acquired;
+                        this.timeouts = timeouts;
+                        this.averageWaitMicros = averageWaitMicros;
+                        this.maxWaitMicros = maxWaitMicros;
+                }
+
+                public int getActive() {
+                        return active;
+                }
+
+                public int getIdle() {
+                        return idle;
+                }
+
+                public int getMaxSize() {
+                        return maxSize;
+                }
+
+                public long getCreated() {
+                        return created;
+                }
+
+                public long getAcquired() {
+                        return acquired;
+                }
+
+                public long getTimeouts() {
+                        return timeouts;
+                }
+
+                public long getAverageWaitMicros() {
+                        return averageWaitMicros;
+                }
+
+                public long getMaxWaitMicros() {
+                        return maxWaitMicros;
+                }
+
+                @Override
+                public String toString() {
+                        return "PoolMetrics [active=" + active + ", idle=" + idle + ", maxSize=" + maxSize
+                                + ", created=" + created + ", acquired=" + acquired + ", timeouts=" + timeouts
+                                + ", averageWaitMicros=" + averageWaitMicros + ", maxWaitMicros=" + maxWaitMicros + "]";
+                }
+        }
+}
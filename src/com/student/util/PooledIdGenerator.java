@@ -0,0 +1,86 @@
+package com.student.util;
+
+import java.io.Serializable;
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+        * PooledIdGenerator hands out primary keys in blocks reserved from a shared
+        * id_block table, one row per entity. Reserving a block is a single row update
+        * in its own transaction, so several application processes can insert at the
+        * same time without ever receiving the same ID, and each process only goes
+        * back to the database once it has used up its current block.
+        *
+        * The block size is read from the "student.id.block_size" setting so it can be
+        * tuned per environment without touching the mapping files.
+        *
+        * The pooled-lo optimizer is used, with hibernate.id.generator.stored_last_used pinned
+        * in hibernate.cfg.xml: each row holds the last ID handed out, and the next block starts
+        * just above it. Setting a row to the largest key already in its table is therefore
+        * enough to continue numbering an existing table; the V1 migration does that for
+        * databases created before id_block existed.
+        *
+        * The first block for an entity inserts its id_block row. When two processes do that
+        * at the same time, one insert fails on the primary key; the loser retries once, and
+        * then finds the row and reserves the next block from it. IdCollisionCheck in bench/
+        * verifies that concurrent SessionFactories never receive the same ID.
+        */
+public class PooledIdGenerator extends TableGenerator
+{
+        /** Setting that controls how many IDs are reserved per round trip. */
+        public static final String BLOCK_SIZE_SETTING = "student.id.block_size";
+
+        /** Block size used when the setting is absent. */
+        public static final int DEFAULT_BLOCK_SIZE = 50;
+
+        /**
+         * Applies the project defaults (table name, pooled-lo optimizer and block size)
+         * before handing the parameters to Hibernate's table generator.
+         *
+         * @param type the identifier type.
+         * @param params the generator parameters from the mapping file.
+         * @param serviceRegistry the registry used to read configuration settings.
+         * @throws MappingException if the generator cannot be configured.
+         */
+        @Override
+        public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException
+        {
+                int blockSize = ConfigurationHelper.getInt(BLOCK_SIZE_SETTING,
+                        serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_BLOCK_SIZE);
+                if (blockSize < 1) {
+                        throw new MappingException("Invalid " + BLOCK_SIZE_SETTING + ": " + blockSize);
+                }
+                params.putIfAbsent(TABLE_PARAM, "id_block");
+                params.putIfAbsent(SEGMENT_COLUMN_PARAM, "entity_name");
+                params.putIfAbsent(VALUE_COLUMN_PARAM, "next_val");
+                params.putIfAbsent(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+                params.putIfAbsent(OPT_PARAM, "pooled-lo");
+                params.putIfAbsent(INCREMENT_PARAM, String.valueOf(blockSize));
+                super.configure(type, params, serviceRegistry);
+        }
+
+        /**
+         * Generates the next ID, retrying once if the entity's id_block row was created by
+         * another process while this one was trying to create it.
+         *
+         * @param session the session the ID is generated for.
+         * @param object the entity being saved.
+         * @return the generated ID.
+         */
+        @Override
+        public Serializable generate(SharedSessionContractImplementor session, Object object)
+        {
+                try {
+                        return super.generate(session, object);
+                } catch (ConstraintViolationException ex) {
+                        return super.generate(session, object);
+                }
+        }
+}
@@ -0,0 +1,142 @@
+package com.student.util;
+
+import com.student.exception.StudentException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+        * ReferenceCache is a small in-process cache for rarely changing reference data
+        * such as branches and events. Entries are evicted in least-recently-used order
+        * once the region holds maxEntries values, and the whole region is cleared
+        * whenever the underlying table is written to.
+        *
+        * Every region registers itself so that its hit and miss counts can be listed.
+        */
+public class ReferenceCache<K, V>
+{
+        private static final List<ReferenceCache<?, ?>> regions = Collections.synchronizedList(new ArrayList<>());
+
+        private final String name;
+        private final Map<K, V> entries;
+        private long hits;
+        private long misses;
+        private long generation;
+
+        /**
+         * Loads a value on a cache miss.
+         */
+        public interface Loader<V>
+        {
+                V load() throws StudentException;
+        }
+
+        /**
+         * Creates and registers a cache region.
+         *
+         * @param name the region name shown in statistics.
+         * @param maxEntries the maximum number of values kept before the least recently used is evicted.
+         */
+        public ReferenceCache(String name, final int maxEntries)
+        {
+                this.name = name;
+                this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                                return size() > maxEntries;
+                        }
+                };
+                regions.add(this);
+        }
+
+        /**
+         * Returns the cached value for the key, loading and caching it on a miss.
+         * A null result from the loader is cached as well, so repeated lookups of a
+         * missing name do not go back to the database.
+         *
+         * @param key the cache key.
+         * @param loader loads the value when it is not cached.
+         * @return the cached or freshly loaded value.
+         * @throws StudentException if the loader fails.
+         */
+        public V get(K key, Loader<V> loader) throws StudentException
+        {
+                long loadGeneration;
+                synchronized (this) {
+                        if (entries.containsKey(key)) {
+                                hits++;
+                                return entries.get(key);
+                        }
+                        misses++;
+                        loadGeneration = generation;
+                }
+                V value = loader.load();
+                synchronized (this) {
+                        // Skip the put if the region was invalidated while the value was loading.
+                        if (loadGeneration == generation) {
+                                entries.put(key, value);
+                        }
+                }
+                return value;
+        }
+
+        /**
+         * Removes every entry from the region.
+         */
+        public synchronized void invalidateAll()
+        {
+                entries.clear();
+                generation++;
+        }
+
+        public synchronized long getHitCount()
+        {
+                return hits;
+        }
+
+        public synchronized long getMissCount()
+        {
+                return misses;
+        }
+
+        /**
+         * Returns a counter that increases every time the region is invalidated, so
+         * data derived from the region can tell whether it is still current.
+         *
+         * @return the current generation.
+         */
+        public synchronized long getGeneration()
+        {
+                return generation;
+        }
+
+        public synchronized int size()
+        {
+                return entries.size();
+        }
+
+        public String getName()
+        {
+                return name;
+        }
+
+        /**
+         * Returns every registered cache region.
+         *
+         * @return a snapshot of the registered regions.
+         */
+        public static List<ReferenceCache<?, ?>> getRegions()
+        {
+                synchronized (regions) {
+                        return new ArrayList<>(regions);
+                }
+        }
+
+        @Override
+        public synchronized String toString()
+        {
+                return "ReferenceCache [name=" + name + ", hits=" + hits + ", misses=" + misses + ", size=" + entries.size() + "]";
+        }
+}
@@ -0,0 +1,202 @@
+package com.student.util;
+
+import com.student.exception.StudentException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+        * RowCounter keeps the row count of one table in memory so that emptiness checks and
+        * counts cost nothing. The service layer adjusts the count on every insert and delete
+        * it performs, and the count is reconciled with "select count(*)" on first use and then
+        * at most every "student.counts.reconcile_ms" milliseconds (60000 by default), which
+        * corrects any drift from rolled-back transactions or writes by other processes.
+        *
+        * add() never overwrites the count, so it cannot race a reconciliation. The counter keeps
+        * the running total of every delta added, and a reconciliation records the database count
+        * together with that total as it stood when the query started. The count is the database
+        * count plus the deltas added since. A write whose transaction committed before the count
+        * query started, but whose add() came after, is counted twice until the next
+        * reconciliation, so the count is exact only while no writes are in flight.
+        *
+        * Every counter registers itself so that its current value can be listed.
+        */
+public class RowCounter
+{
+        public static final String RECONCILE_INTERVAL = "student.counts.reconcile_ms";
+
+        private static final List<RowCounter> counters = Collections.synchronizedList(new ArrayList<>());
+
+        private final String name;
+        private final Loader loader;
+        private final long reconcileNanos;
+        private final AtomicLong added = new AtomicLong();
+        private final AtomicLong reconciliations = new AtomicLong();
+        private volatile Baseline baseline;
+        private volatile boolean loaded;
+        private volatile long reconciledAt;
+
+        /**
+         * A database count and the running total of deltas when the count query started.
+         */
+        private static final class Baseline
+        {
+                private final long rows;
+                private final long added;
+
+                private Baseline(long rows, long added)
+                {
+                        this.rows = rows;
+                        this.added = added;
+                }
+        }
+
+        /**
+         * Reads the actual row count from the database.
+         */
+        public interface Loader
+        {
+                long load() throws StudentException;
+        }
+
+        /**
+         * Creates and registers a counter reconciled at the configured interval.
+         *
+         * @param name the counter name shown in statistics.
+         * @param loader reads the actual row count.
+         */
+        public RowCounter(String name, Loader loader)
+        {
+                this(name, Long.getLong(RECONCILE_INTERVAL, 60000L), loader);
+        }
+
+        /**
+         * Creates and registers a counter.
+         *
+         * @param name the counter name shown in statistics.
+         * @param reconcileMillis the longest time between reconciliations.
+         * @param loader reads the actual row count.
+         */
+        public RowCounter(String name, long reconcileMillis, Loader loader)
+        {
+                this.name = name;
+                this.loader = loader;
+                this.reconcileNanos = TimeUnit.MILLISECONDS.toNanos(reconcileMillis);
+                counters.add(this);
+        }
+
+        /**
+         * Returns the row count, reconciling it first if it is due.
+         *
+         * @return the number of rows.
+         * @throws StudentException if the count has to be read and the read fails.
+         */
+        public long get() throws StudentException
+        {
+                if (!loaded || System.nanoTime() - reconciledAt > reconcileNanos) {
+                        reconcile(false);
+                }
+                return count();
+        }
+
+        /**
+         * Checks whether the table has no rows.
+         *
+         * @return true if the count is zero.
+         * @throws StudentException if the count has to be read and the read fails.
+         */
+        public boolean isEmpty() throws StudentException
+        {
+                return get() == 0;
+        }
+
+        /**
+         * Adjusts the count after rows were inserted or deleted. A change made before the
+         * count is first read only moves the running total the first read starts from.
+         *
+         * @param delta the number of rows added, negative for rows removed.
+         */
+        public void add(long delta)
+        {
+                added.addAndGet(delta);
+        }
+
+        /**
+         * Makes the next read reconcile the count, for writes whose row count is not known.
+         */
+        public void invalidate()
+        {
+                loaded = false;
+        }
+
+        /**
+         * Reads the actual row count now and replaces the in-memory count with it.
+         *
+         * @return the number of rows.
+         * @throws StudentException if the read fails.
+         */
+        public long reconcile() throws StudentException
+        {
+                return reconcile(true);
+        }
+
+        private synchronized long reconcile(boolean force) throws StudentException
+        {
+                // Another thread may have reconciled while this one waited for the lock.
+                if (force || !loaded || System.nanoTime() - reconciledAt > reconcileNanos) {
+                        // Deltas added while the query runs are kept on top of its result.
+                        long addedBefore = added.get();
+                        baseline = new Baseline(loader.load(), addedBefore);
+                        reconciledAt = System.nanoTime();
+                        loaded = true;
+                        reconciliations.incrementAndGet();
+                }
+                return count();
+        }
+
+        private long count()
+        {
+                Baseline current = baseline;
+                return current.rows + added.get() - current.added;
+        }
+
+        /**
+         * Returns the last known count without reading the database.
+         *
+         * @return the count, or -1 if it has not been read yet.
+         */
+        public long peek()
+        {
+                return loaded ? count() : -1;
+        }
+
+        public long getReconciliationCount()
+        {
+                return reconciliations.get();
+        }
+
+        public String getName()
+        {
+                return name;
+        }
+
+        /**
+         * Returns every registered counter.
+         *
+         * @return a snapshot of the registered counters.
+         */
+        public static List<RowCounter> getCounters()
+        {
+                synchronized (counters) {
+                        return new ArrayList<>(counters);
+                }
+        }
+
+        @Override
+        public String toString()
+        {
+                return "RowCounter [name=" + name + ", count=" + peek() + ", reconciliations=" + reconciliations.get() + "]";
+        }
+}
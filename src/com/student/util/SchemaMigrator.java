@@ -0,0 +1,216 @@
+package com.student.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+        * SchemaMigrator brings the database schema up to date before Hibernate starts, so
+        * Hibernate itself only has to validate it ("hibernate.hbm2ddl.auto" = validate).
+        *
+        * Migrations are SQL scripts under com/student/db/migration named V&lt;version&gt;__&lt;description&gt;.sql
+        * and listed in MIGRATIONS in the order they apply. Each applied version is recorded in the
+        * schema_version table with a checksum of its script; on the next start only newer versions
+        * run, and a script that changed after it was applied stops startup. A new migration is added
+        * by dropping a new script next to the others and appending its name to MIGRATIONS; applied
+        * scripts must never be edited.
+        *
+        * The runner is enabled by "student.schema.migrate" (true by default).
+        */
+public class SchemaMigrator
+{
+        public static final String ENABLED = "student.schema.migrate";
+
+        private static final String LOCATION = "com/student/db/migration/";
+        private static final String[] MIGRATIONS = {
+                "V1__create_tables.sql",
+                "V2__add_indexes.sql",
+        };
+        private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+        private final String url;
+        private final Properties connectionProperties = new Properties();
+
+        /**
+         * Creates a migrator for the database named in the given Hibernate settings.
+         *
+         * @param settings the Hibernate configuration settings.
+         */
+        public SchemaMigrator(Properties settings)
+        {
+                url = settings.getProperty(AvailableSettings.URL);
+                if (url == null) {
+                        throw new IllegalStateException("No JDBC URL configured in " + AvailableSettings.URL);
+                }
+                String driver = settings.getProperty(AvailableSettings.DRIVER);
+                if (driver != null) {
+                        try {
+                                Class.forName(driver);
+                        } catch (ClassNotFoundException ex) {
+                                throw new IllegalStateException("JDBC driver class not found: " + driver, ex);
+                        }
+                }
+                if (settings.getProperty(AvailableSettings.USER) != null) {
+                        connectionProperties.setProperty("user", settings.getProperty(AvailableSettings.USER));
+                }
+                if (settings.getProperty(AvailableSettings.PASS) != null) {
+                        connectionProperties.setProperty("password", settings.getProperty(AvailableSettings.PASS));
+                }
+        }
+
+        /**
+         * Applies every migration that has not been applied yet, in version order.
+         *
+         * @return the number of migrations applied.
+         * @throws SQLException if a migration fails; the failing migration is rolled back where the database allows it.
+         * @throws IOException if a migration script cannot be read.
+         */
+        public int migrate() throws SQLException, IOException
+        {
+                try (Connection connection = DriverManager.getConnection(url, connectionProperties)) {
+                        createHistoryTable(connection);
+                        Map<Integer, Long> applied = readHistory(connection);
+                        int latest = 0;
+                        int count = 0;
+                        for (String name : MIGRATIONS) {
+                                Matcher matcher = NAME.matcher(name);
+                                if (!matcher.matches()) {
+                                        throw new IllegalStateException("Badly named migration: " + name);
+                                }
+                                int version = Integer.parseInt(matcher.group(1));
+                                if (version <= latest) {
+                                        throw new IllegalStateException("Migration " + name + " is out of order.");
+                                }
+                                latest = version;
+                                String script = readScript(name);
+                                long checksum = checksum(script);
+                                Long recorded = applied.remove(version);
+                                if (recorded == null) {
+                                        apply(connection, version, matcher.group(2).replace('_', ' '), script, checksum);
+                                        count++;
+                                } else if (recorded != checksum) {
+                                        throw new IllegalStateException("Migration " + name + " was changed after it was applied.");
+                                }
+                        }
+                        if (!applied.isEmpty()) {
+                                throw new IllegalStateException("Database has migrations unknown to this version: " + applied.keySet());
+                        }
+                        return count;
+                }
+        }
+
+        private void createHistoryTable(Connection connection) throws SQLException
+        {
+                try (Statement statement = connection.createStatement()) {
+                        statement.execute("create table if not exists schema_version ("
+                                + "version integer not null, "
+                                + "description varchar(200) not null, "
+                                + "checksum bigint not null, "
+                                + "installed_on timestamp not null default current_timestamp, "
+                                + "execution_ms integer not null, "
+                                + "primary key (version)) engine=InnoDB");
+                }
+        }
+
+        private Map<Integer, Long> readHistory(Connection connection) throws SQLException
+        {
+                Map<Integer, Long> applied = new HashMap<>();
+                try (Statement statement = connection.createStatement();
+                        ResultSet rs = statement.executeQuery("select version, checksum from schema_version")) {
+                        while (rs.next()) {
+                                applied.put(rs.getInt(1), rs.getLong(2));
+                        }
+                }
+                return applied;
+        }
+
+        /**
+         * Runs one migration script and records it. DDL is not transactional on MySQL, so a
+         * script that fails half-way may leave part of its changes behind; it is not recorded
+         * and must be fixed up by hand before retrying.
+         */
+        private void apply(Connection connection, int version, String description, String script, long checksum)
+                throws SQLException
+        {
+                long start = System.currentTimeMillis();
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                        for (String sql : splitStatements(script)) {
+                                statement.execute(sql);
+                        }
+                        try (PreparedStatement insert = connection.prepareStatement(
+                                "insert into schema_version (version, description, checksum, execution_ms) values (?, ?, ?, ?)")) {
+                                insert.setInt(1, version);
+                                insert.setString(2, description);
+                                insert.setLong(3, checksum);
+                                insert.setInt(4, (int) (System.currentTimeMillis() - start));
+                                insert.executeUpdate();
+                        }
+                        connection.commit();
+                } catch (SQLException ex) {
+                        connection.rollback();
+                        throw new SQLException("Migration V" + version + " (" + description + ") failed: " + ex.getMessage(), ex);
+                } finally {
+                        connection.setAutoCommit(true);
+                }
+        }
+
+        /**
+         * Splits a script into statements on semicolons, dropping "--" comment lines.
+         */
+        private static List<String> splitStatements(String script)
+        {
+                StringBuilder body = new StringBuilder();
+                for (String line : script.split("\r?\n")) {
+                        if (!line.trim().startsWith("--")) {
+                                body.append(line).append('\n');
+                        }
+                }
+                List<String> statements = new ArrayList<>();
+                for (String sql : body.toString().split(";")) {
+                        if (!sql.trim().isEmpty()) {
+                                statements.add(sql.trim());
+                        }
+                }
+                return statements;
+        }
+
+        private static String readScript(String name) throws IOException
+        {
+                try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(LOCATION + name)) {
+                        if (in == null) {
+                                throw new IOException("Migration script not found: " + LOCATION + name);
+                        }
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[4096];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                                out.write(buffer, 0, read);
+                        }
+                        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+                }
+        }
+
+        private static long checksum(String script)
+        {
+                CRC32 crc = new CRC32();
+                crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+                return crc.getValue();
+        }
+}
@@ -1,50 +1,243 @@
 package com.student.util;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 
 /**
         * SessionFactoryProvider is a utility class that initializes and provides a 
         * singleton Hibernate SessionFactory based on the XML configuration (hibernate.cfg.xml).
         * This class helps in managing sessions for performing CRUD operations on the database.
+        *
+        * Settings from the XML file can be overridden per environment without editing it:
+        * first from a properties file named by the "student.config" system property (or the
+        * STUDENT_CONFIG environment variable), then from any "hibernate.*" or "student.*"
+        * system property, e.g. -Dhibernate.connection.url=... or -Dstudent.pool.max_size=20.
+        *
+        * Pending schema migrations are applied by SchemaMigrator before the SessionFactory is
+        * built, so Hibernate only validates the schema against the mappings.
+        *
+        * The SessionFactory is built on a background thread, started by startAsync() or by the
+        * first call to getSessionFactory(), which waits for it. Parsed mapping files are cached
+        * as serialized .bin files next to the .hbm.xml files and reused while the XML is unchanged
+        * (disable with "student.bootstrap.cache_mappings" = false). The time spent in each phase
+        * is available from getBootstrapTimings().
         */
 public class SessionFactoryProvider
 {
-        private static final SessionFactory sessionFactory = buildSessionFactory();
+        /** System property naming an optional properties file of setting overrides. */
+        public static final String CONFIG_FILE_PROPERTY = "student.config";
+        public static final String CACHE_MAPPINGS = "student.bootstrap.cache_mappings";
+
+        private static final String[] MAPPINGS = {
+                "com/student/models/Student.hbm.xml",
+                "com/student/models/Branch.hbm.xml",
+                "com/student/models/Event.hbm.xml",
+        };
+
+        private static CompletableFuture<SessionFactory> bootstrap;
+        private static final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        /**
+         * Starts building the SessionFactory on a background thread, if not already started.
+         *
+         * @return a future completed with the SessionFactory once it is built.
+         */
+        public static synchronized CompletableFuture<SessionFactory> startAsync()
+        {
+                if (bootstrap == null) {
+                        CompletableFuture<SessionFactory> future = new CompletableFuture<>();
+                        Thread thread = new Thread(() -> {
+                                try {
+                                        future.complete(buildSessionFactory());
+                                } catch (Throwable ex) {
+                                        future.completeExceptionally(ex);
+                                }
+                        }, "session-factory-bootstrap");
+                        thread.setDaemon(true);
+                        thread.start();
+                        bootstrap = future;
+                }
+                return bootstrap;
+        }
 
         /**
-         * Builds the SessionFactory from hibernate.cfg.xml.
+         * Builds the SessionFactory from hibernate.cfg.xml, recording how long each phase takes.
          *
          * @return the built SessionFactory.
-         * @throws ExceptionInInitializerError if the SessionFactory creation fails.
+         * @throws Exception if the SessionFactory creation fails.
          */
-        private static SessionFactory buildSessionFactory()
+        private static SessionFactory buildSessionFactory() throws Exception
         {
+                long start = System.nanoTime();
+                long phase = start;
                 try {
                         Configuration configuration = new Configuration();
                         configuration.configure("com/student/hibernate.cfg.xml");
-                        return configuration.buildSessionFactory();
-                } catch (Throwable ex) {
+                        phase = recordPhase("configure", phase);
+                        applyOverrides(configuration);
+                        phase = recordPhase("overrides", phase);
+                        Properties settings = configuration.getProperties();
+                        if (Boolean.parseBoolean(settings.getProperty(SchemaMigrator.ENABLED, "true"))) {
+                                new SchemaMigrator(settings).migrate();
+                        }
+                        phase = recordPhase("migrate", phase);
+                        addMappings(configuration, Boolean.parseBoolean(settings.getProperty(CACHE_MAPPINGS, "true")));
+                        phase = recordPhase("mappings", phase);
+                        SessionFactory factory = configuration.buildSessionFactory();
+                        recordPhase("build", phase);
+                        return factory;
+                } catch (Exception ex) {
                         System.err.println("Initial SessionFactory creation failed: " + ex);
-                        throw new ExceptionInInitializerError(ex);
+                        throw ex;
+                } finally {
+                        recordPhase("total", start);
                 }
         }
 
         /**
-         * Retrieves the singleton SessionFactory.
+         * Adds the mapping files, through the serialized mapping cache when they are plain files.
+         * Mappings packaged in a jar cannot be cached and are parsed every time.
+         *
+         * @param configuration the configuration to add the mappings to.
+         * @param cache whether to use the mapping cache.
+         * @throws URISyntaxException if a mapping URL cannot be turned into a file.
+         */
+        private static void addMappings(Configuration configuration, boolean cache) throws URISyntaxException
+        {
+                ClassLoader loader = SessionFactoryProvider.class.getClassLoader();
+                for (String resource : MAPPINGS) {
+                        URL url = loader.getResource(resource);
+                        if (cache && url != null && "file".equals(url.getProtocol())) {
+                                configuration.addCacheableFile(new File(url.toURI()));
+                        } else {
+                                configuration.addResource(resource);
+                        }
+                }
+        }
+
+        private static long recordPhase(String name, long since)
+        {
+                long now = System.nanoTime();
+                timings.put(name, (now - since) / 1000000);
+                return now;
+        }
+
+        /**
+         * Retrieves how long each bootstrap phase took, in milliseconds, in the order they ran.
+         *
+         * @return the phase timings recorded so far.
+         */
+        public static Map<String, Long> getBootstrapTimings()
+        {
+                synchronized (timings) {
+                        return new LinkedHashMap<>(timings);
+                }
+        }
+
+        /**
+         * Applies environment-specific settings on top of those read from hibernate.cfg.xml.
+         *
+         * @param configuration the configuration to update.
+         * @throws IOException if the overrides file cannot be read.
+         */
+        private static void applyOverrides(Configuration configuration) throws IOException
+        {
+                String path = System.getProperty(CONFIG_FILE_PROPERTY, System.getenv("STUDENT_CONFIG"));
+                if (path != null) {
+                        Properties overrides = new Properties();
+                        try (InputStream in = new FileInputStream(path)) {
+                                overrides.load(in);
+                        }
+                        configuration.addProperties(overrides);
+                }
+                Properties system = System.getProperties();
+                for (String name : system.stringPropertyNames()) {
+                        if (name.startsWith("hibernate.") || name.startsWith("student.")) {
+                                configuration.setProperty(name, system.getProperty(name));
+                        }
+                }
+        }
+
+        /**
+         * Retrieves the singleton SessionFactory, waiting for the bootstrap to finish if needed.
          *
          * @return the SessionFactory.
+         * @throws IllegalStateException if the SessionFactory could not be built.
          */
         public static SessionFactory getSessionFactory()
         {
-                return sessionFactory;
+                try {
+                        return startAsync().join();
+                } catch (CompletionException ex) {
+                        throw new IllegalStateException("SessionFactory creation failed: " + ex.getCause().getMessage(), ex.getCause());
+                }
+        }
+
+        /**
+         * Reads an integer setting the same way the connection pool reads "student.pool.*":
+         * from hibernate.cfg.xml with the "student.config" file and system property overrides
+         * applied.
+         *
+         * @param name the setting name.
+         * @param defaultValue the value to use when the setting is absent.
+         * @return the setting value.
+         */
+        public static int getIntSetting(String name, int defaultValue)
+        {
+                return ConfigurationHelper.getInt(name, getSessionFactory().getProperties(), defaultValue);
         }
 
         /**
-         * Shuts down the SessionFactory, closing caches and connection pools.
+         * Retrieves the current connection pool metrics.
+         *
+         * @return the pool metrics, or null if the pooled connection provider is not in use.
+         */
+        public static PooledConnectionProvider.PoolMetrics getPoolMetrics()
+        {
+                ConnectionProvider provider = ((SessionFactoryImplementor) getSessionFactory())
+                        .getServiceRegistry().getService(ConnectionProvider.class);
+                if (provider != null && provider.isUnwrappableAs(PooledConnectionProvider.class)) {
+                        return provider.unwrap(PooledConnectionProvider.class).getMetrics();
+                }
+                return null;
+        }
+
+        /**
+         * Shuts down the SessionFactory, closing caches and connection pools. A bootstrap still
+         * running is waited for. Does nothing if the bootstrap was never started or failed, so
+         * that a caller cleaning up after an error does not replace that error with this one.
          */
         public static void shutdown()
         {
-                getSessionFactory().close();
+                CompletableFuture<SessionFactory> current;
+                synchronized (SessionFactoryProvider.class) {
+                        current = bootstrap;
+                }
+                if (current == null) {
+                        return;
+                }
+                SessionFactory factory;
+                try {
+                        factory = current.join();
+                } catch (CompletionException ex) {
+                        // The failure was already reported by getSessionFactory() or the bootstrap thread.
+                        return;
+                }
+                factory.close();
         }
 }
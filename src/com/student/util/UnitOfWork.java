@@ -0,0 +1,144 @@
+package com.student.util;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+/**
+        * UnitOfWork binds one Hibernate Session and one transaction to the current thread
+        * for the length of a logical operation. The first begin() on a thread opens the
+        * session and starts the transaction; nested begin() calls from services and DAOs
+        * join it, so an operation that touches several DAO methods uses one session and
+        * one connection, and lazy associations stay loadable until the outermost scope ends.
+        *
+        * Only the outermost commit() really commits; commits from nested scopes are ignored.
+        * A scope that fails calls markRollbackOnly() before its exception leaves it, so even
+        * if a caller catches that exception and carries on, the outer commit() rolls back and
+        * throws instead of committing the work done around the failure. The outermost close
+        * rolls back anything left uncommitted. Read-only scopes do not need to commit at all.
+        *
+        * <pre>
+        * try (UnitOfWork work = UnitOfWork.begin()) {
+        *         work.getSession().save(entity);
+        *         work.commit();
+        * }
+        * </pre>
+        */
+public class UnitOfWork implements AutoCloseable
+{
+        private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+        private final Session session;
+        private final Transaction transaction;
+        private int depth;
+        private boolean rollbackOnly;
+
+        private UnitOfWork(Session session)
+        {
+                this.session = session;
+                this.transaction = session.beginTransaction();
+        }
+
+        /**
+         * Starts a unit of work on the current thread, or joins the one already running.
+         *
+         * @return the unit of work for the current thread.
+         */
+        public static UnitOfWork begin()
+        {
+                UnitOfWork work = current.get();
+                if (work != null) {
+                        work.depth++;
+                        return work;
+                }
+                Session session = SessionFactoryProvider.getSessionFactory().openSession();
+                try {
+                        work = new UnitOfWork(session);
+                } catch (RuntimeException ex) {
+                        session.close();
+                        throw ex;
+                }
+                current.set(work);
+                return work;
+        }
+
+        /**
+         * Checks whether a unit of work is running on the current thread.
+         *
+         * @return true if a unit of work is active; false otherwise.
+         */
+        public static boolean isActive()
+        {
+                return current.get() != null;
+        }
+
+        /**
+         * Marks the unit of work running on the current thread so that it can only roll back.
+         * Called when an operation inside it fails; does nothing when no unit of work is active.
+         */
+        public static void markRollbackOnly()
+        {
+                UnitOfWork work = current.get();
+                if (work != null) {
+                        work.rollbackOnly = true;
+                }
+        }
+
+        /**
+         * Checks whether an operation inside this unit of work has failed.
+         *
+         * @return true if the unit of work can only roll back; false otherwise.
+         */
+        public boolean isRollbackOnly()
+        {
+                return rollbackOnly;
+        }
+
+        /**
+         * Retrieves the session shared by every scope of this unit of work.
+         *
+         * @return the session.
+         */
+        public Session getSession()
+        {
+                return session;
+        }
+
+        /**
+         * Commits the transaction if this is the outermost scope; does nothing in a nested scope.
+         *
+         * @throws IllegalStateException if the unit of work was marked rollback-only; the
+         *         transaction is rolled back instead.
+         */
+        public void commit()
+        {
+                if (depth > 0) {
+                        return;
+                }
+                if (rollbackOnly) {
+                        transaction.rollback();
+                        throw new IllegalStateException("Transaction rolled back because an operation inside it failed.");
+                }
+                transaction.commit();
+        }
+
+        /**
+         * Ends the current scope. The outermost scope rolls back an uncommitted
+         * transaction and closes the session.
+         */
+        @Override
+        public void close()
+        {
+                if (depth > 0) {
+                        depth--;
+                        return;
+                }
+                current.remove();
+                try {
+                        if (transaction.getStatus().canRollback()) {
+                                transaction.rollback();
+                        }
+                } finally {
+                        session.close();
+                }
+        }
+}